@@ -48,6 +48,17 @@ dependencies {
     testCompileOnly("org.projectlombok:lombok")
     testAnnotationProcessor("org.projectlombok:lombok")
 
+    // --- Caching ---
+    // Caffeine backs the search result cache (bounded, W-TinyLFU admission). Version
+    // managed by Spring Boot; Micrometer's CaffeineCacheMetrics binds its stats to actuator.
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    // Hibernate second-level cache (Book, Author and their association collections) through
+    // JCache, with Caffeine as the provider; regions are sized in hibernate-cache.conf.
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("com.github.ben-manes.caffeine:jcache")
+    // Binds Hibernate statistics (including second-level cache hits/misses) to actuator metrics
+    implementation("org.hibernate.orm:hibernate-micrometer")
+
     // --- Database ---
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-database-postgresql") // Required for PG 15+ Flyway support
@@ -74,3 +85,22 @@ tasks.withType<Test> {
     // Increase heap for Testcontainers + Spring Boot context in CI-like environments
     jvmArgs("-Xmx512m")
 }
+
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark") // Slow, and only meaningful on a quiet machine
+    }
+}
+
+// Throughput benchmarks (tests tagged "benchmark"); results are printed to stdout.
+tasks.register<Test>("benchmark") {
+    description = "Runs the benchmark-tagged tests."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging.showStandardStreams = true
+    outputs.upToDateWhen { false }
+}
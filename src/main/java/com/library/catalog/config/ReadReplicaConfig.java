@@ -0,0 +1,125 @@
+package com.library.catalog.config;
+
+import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.typesafe.config.Config;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Read replicas for read-only transactions, when {@code catalog.read-replicas.enabled}.
+ *
+ * <p>Replaces Boot's DataSource with the primary pool behind a
+ * {@link ReadReplicaRoutingDataSource}, so JPA, JdbcTemplate and Flyway all go through
+ * the routing. Replicas that are down or lagging are skipped and reads fall back to the
+ * primary; the health indicator therefore reports each replica's state without ever
+ * turning the application DOWN. Second-level cache entries expire after
+ * {@code max-lag}, the staleness a replica read may bring into the cache.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "catalog.read-replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(ReadReplicaProperties properties, DataSourceProperties primary) {
+        return new ReplicaPool(properties, primary);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool,
+                                 ReadReplicaProperties properties) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(
+            primaryDataSource, replicaPool, properties.services()));
+        // Otherwise the proxy borrows a connection at startup to learn them
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    /**
+     * Caps the expiry of every second-level cache region at {@code max-lag}. A replica
+     * can return rows up to that much older than a write that just evicted them, and a
+     * read through the cache would then keep them for the region's usual hour. Hot
+     * entities are still served from the cache between reloads; the cost is one load per
+     * entity and {@code max-lag} instead of per hour.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaLagCacheExpiry(ReadReplicaProperties properties,
+                                                               JpaProperties jpaProperties) {
+        String configUri = jpaProperties.getProperties().get(ConfigSettings.CONFIG_URI);
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER,
+            lagBoundedCacheManager(configUri, properties.maxLag()));
+    }
+
+    @Bean
+    public HealthIndicator readReplicasHealthIndicator(ReplicaPool replicaPool) {
+        return () -> Health.up().withDetails(replicaPool.status()).build();
+    }
+
+    /** The regions of the Caffeine configuration at {@code configUri}, each expiring after at most {@code maxLag}. */
+    private static CacheManager lagBoundedCacheManager(String configUri, Duration maxLag) {
+        try {
+            URI uri = new DefaultResourceLoader().getResource(configUri).getURI();
+            ClassLoader classLoader = ReadReplicaConfig.class.getClassLoader();
+            Config config = TypesafeConfigurator.configSource().get(uri, classLoader);
+            // Caffeine refuses to reconfigure the regions of a manager's own configuration file, so they
+            // are created on a manager of the provider's default file, which only defines its own entries.
+            // Nor is it the provider's shared manager, which other application contexts may use.
+            CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            URI defaults = provider.getDefaultURI();
+            CacheManager cacheManager = new CacheManagerImpl(provider, false, defaults, classLoader, new Properties());
+            Set<String> predefined = TypesafeConfigurator.cacheNames(
+                TypesafeConfigurator.configSource().get(defaults, classLoader));
+            for (String name : TypesafeConfigurator.cacheNames(config)) {
+                if (predefined.contains(name)) {
+                    continue;
+                }
+                CaffeineConfiguration<Object, Object> region =
+                    TypesafeConfigurator.<Object, Object>from(config, name).orElseThrow();
+                if (region.getExpireAfterWrite().orElse(Long.MAX_VALUE) > maxLag.toNanos()) {
+                    region.setExpireAfterWrite(OptionalLong.of(maxLag.toNanos()));
+                }
+                cacheManager.createCache(name, region);
+            }
+            return cacheManager;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Second-level cache configuration not found: " + configUri, ex);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.library.catalog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settings under {@code catalog.read-replicas}; see {@link ReadReplicaConfig}.
+ *
+ * <p>{@code services} are the simple class names whose read-only transactions may run on
+ * a replica. A replica is used while its last health check succeeded within
+ * {@code maxLag} of the primary; the checks run every {@code healthCheckInterval}.
+ */
+@ConfigurationProperties(prefix = "catalog.read-replicas")
+public record ReadReplicaProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue List<Replica> replicas,
+    @DefaultValue({"BookService", "AuthorService", "ReservationService", "SearchRepository"}) Set<String> services,
+    @DefaultValue("10s") Duration maxLag,
+    @DefaultValue("5s") Duration healthCheckInterval,
+    @DefaultValue("10") int poolSize,
+    @DefaultValue("2s") Duration connectionTimeout
+) {
+
+    /** A replica's JDBC URL; without credentials, the primary's ({@code spring.datasource}) are used. */
+    public record Replica(String url, String username, String password) {}
+}
@@ -0,0 +1,68 @@
+package com.library.catalog.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Hands out replica connections to the read-only transactions of the configured
+ * services, and primary connections to everything else.
+ *
+ * <p>A transaction qualifies when it is read-only and its name, the declaring class and
+ * method, belongs to one of {@code services} by simple class name. It must be wrapped
+ * in a {@code LazyConnectionDataSourceProxy}: the transaction manager asks for a
+ * connection before it marks the transaction read-only and names it, and the proxy
+ * defers the real one to the first statement.
+ *
+ * <p>Replica reads fill the second-level cache like any other; {@link ReadReplicaConfig}
+ * bounds how long an entry loaded from a lagging replica can stay there.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+    private final Set<String> services;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, ReplicaPool replicas, Set<String> services) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.services = services;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routesToReplica()) {
+            ReplicaPool.Replica replica = replicas.next();
+            if (replica != null) {
+                try {
+                    return replica.getConnection();
+                } catch (SQLException ex) {
+                    replicas.markDown(replica, ex);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private boolean routesToReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (name == null) {
+            return false;
+        }
+        // "com.library.catalog.service.BookService.findById" -> "BookService"
+        String declaringClass = name.substring(0, Math.max(name.lastIndexOf('.'), 0));
+        return services.contains(declaringClass.substring(declaringClass.lastIndexOf('.') + 1));
+    }
+}
@@ -0,0 +1,144 @@
+package com.library.catalog.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The read replicas, each with its own Hikari pool, and which of them may serve reads.
+ *
+ * <p>A replica serves reads while its last health check connected and found it within
+ * {@code maxLag} of the primary. Until its first check, and whenever a check or a
+ * connection attempt fails, it is skipped; {@link #next} returns null when no replica
+ * qualifies, and the caller falls back to the primary.
+ *
+ * <p>Lag is the age of the last replayed transaction, except when the replica has
+ * replayed everything it received and is still streaming: an idle primary sends nothing
+ * to replay, which would otherwise look like ever-growing lag. A server that is not in
+ * recovery (the primary itself on another pool, as in local setups) has no lag.
+ */
+public class ReplicaPool implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPool.class);
+
+    private static final String LAG_QUERY = """
+        SELECT CASE
+            WHEN NOT pg_is_in_recovery() THEN 0
+            WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()
+                 AND EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 0
+            ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 'Infinity')
+        END
+        """;
+
+    /** One replica: its pool and the outcome of its last health check. */
+    static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+        private volatile String status = "not checked yet";
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        Connection getConnection() throws SQLException {
+            return dataSource.getConnection();
+        }
+
+        String name() {
+            return dataSource.getPoolName();
+        }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final int checkTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(ReadReplicaProperties properties, DataSourceProperties primary) {
+        this.maxLagSeconds = properties.maxLag().toMillis() / 1000.0;
+        this.checkTimeoutSeconds = (int) Math.max(1, properties.connectionTimeout().toSeconds());
+        for (ReadReplicaProperties.Replica replica : properties.replicas()) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("catalog-replica-" + replicas.size());
+            config.setJdbcUrl(replica.url());
+            config.setUsername(replica.username() != null ? replica.username() : primary.determineUsername());
+            config.setPassword(replica.password() != null ? replica.password() : primary.determinePassword());
+            config.setMaximumPoolSize(properties.poolSize());
+            config.setMinimumIdle(Math.min(2, properties.poolSize()));
+            config.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            config.setInitializationFailTimeout(-1); // an unreachable replica must not prevent startup
+            config.setReadOnly(true);
+            config.addDataSourceProperty("ApplicationName", config.getPoolName()); // pg_stat_activity
+            replicas.add(new Replica(new HikariDataSource(config)));
+        }
+    }
+
+    /** A replica fit to serve reads, in turn; null when there is none. */
+    Replica next() {
+        List<Replica> healthy = replicas.stream().filter(replica -> replica.healthy).toList();
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+
+    /** Takes a replica out of rotation after a failed connection attempt, until its next successful check. */
+    void markDown(Replica replica, SQLException ex) {
+        update(replica, false, "connection failed: " + ex.getMessage());
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.read-replicas.health-check-interval:5s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(checkTimeoutSeconds);
+                try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                    rs.next();
+                    double lag = rs.getDouble(1);
+                    update(replica, lag <= maxLagSeconds,
+                        lag <= maxLagSeconds ? "UP (lag " + lag + "s)" : "lagging " + lag + "s");
+                }
+            } catch (SQLException ex) {
+                update(replica, false, "unreachable: " + ex.getMessage());
+            }
+        }
+    }
+
+    /** Status of each replica by pool name, for the health endpoint. */
+    public Map<String, String> status() {
+        Map<String, String> status = new LinkedHashMap<>();
+        replicas.forEach(replica -> status.put(replica.name(), replica.status));
+        return status;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private void update(Replica replica, boolean healthy, String status) {
+        if (replica.healthy != healthy) {
+            if (healthy) {
+                log.info("Read replica {} back in rotation: {}", replica.name(), status);
+            } else {
+                log.warn("Read replica {} out of rotation: {}", replica.name(), status);
+            }
+        }
+        replica.healthy = healthy;
+        replica.status = status;
+    }
+}
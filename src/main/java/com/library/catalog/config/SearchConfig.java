@@ -0,0 +1,24 @@
+package com.library.catalog.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+@EnableScheduling // SearchQueryStats snapshots
+public class SearchConfig {
+
+    /**
+     * Virtual-thread-per-task executor for concurrent search queries. Threads are cheap,
+     * so it is unbounded; the real limit is the Hikari pool each query borrows from.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService searchExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
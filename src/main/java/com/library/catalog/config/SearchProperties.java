@@ -0,0 +1,82 @@
+package com.library.catalog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings under {@code catalog.search}. The {@code engine} switch itself is read by
+ * {@code @ConditionalOnProperty} on the in-memory engine; it is bound here so the whole
+ * section is documented in one place.
+ */
+@ConfigurationProperties(prefix = "catalog.search")
+public record SearchProperties(
+    @DefaultValue("postgres") String engine,
+    @DefaultValue Cache cache,
+    @DefaultValue Parallel parallel,
+    @DefaultValue Sharding sharding,
+    @DefaultValue Fuzzy fuzzy,
+    @DefaultValue Highlight highlight,
+    @DefaultValue Stats stats
+) {
+
+    /** Search result cache; see {@code SearchResultCache}. */
+    public record Cache(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("10m") Duration ttl
+    ) {}
+
+    /**
+     * Runs the count and page queries of an offset search concurrently. The count stops
+     * at {@code countLimit} matches and is abandoned after {@code countTimeout}; either
+     * way the page is returned with a lower-bound total. Batch searches cap each query's
+     * count at {@code countLimit} too, whether or not this is enabled.
+     */
+    public record Parallel(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1000") long countLimit,
+        @DefaultValue("200ms") Duration countTimeout
+    ) {}
+
+    /**
+     * Splits the ranked page query of a search into {@code partitions} contiguous id ranges
+     * of {@code books}, queried concurrently; their local top results are merged into the
+     * global page. Fewer than two partitions means no splitting.
+     */
+    public record Sharding(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("4") int partitions
+    ) {}
+
+    /**
+     * Trigram fallback for misspelled queries: when full-text search finds fewer than
+     * {@code minHits} books, up to {@code maxResults} books whose title or author name
+     * has a word similarity of at least {@code similarityThreshold} are appended.
+     */
+    public record Fuzzy(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("3") int minHits,
+        @DefaultValue("0.5") double similarityThreshold,
+        @DefaultValue("50") int maxResults
+    ) {}
+
+    /** Bounds for {@code highlight=true} description snippets. */
+    public record Highlight(
+        @DefaultValue("35") int maxWords,
+        @DefaultValue("2") int maxFragments
+    ) {}
+
+    /**
+     * Query frequency tracking; see {@code SearchQueryStats}. At most {@code topK} heavy
+     * hitters are tracked and snapshotted every {@code snapshotInterval}; the
+     * {@code warmupQueries} most frequent are pre-executed at startup.
+     */
+    public record Stats(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200") int topK,
+        @DefaultValue("20") int warmupQueries,
+        @DefaultValue("5m") Duration snapshotInterval
+    ) {}
+}
@@ -1,16 +1,25 @@
 package com.library.catalog.controller;
 
+import com.library.catalog.dto.request.CountMode;
 import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.IdList;
 import com.library.catalog.dto.request.UpdateAuthorRequest;
 import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
+import com.library.catalog.dto.response.MultiGetResponse;
 import com.library.catalog.dto.response.PagedResponse;
 import com.library.catalog.service.AuthorService;
+import com.library.catalog.service.ExportService;
+import com.library.catalog.service.exporting.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,8 +28,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/authors")
@@ -29,19 +42,77 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthorController {
 
     private final AuthorService authorService;
+    private final ExportService exportService;
 
     @GetMapping
     @Operation(summary = "List all authors", description = "Returns a paginated list of authors with their book summaries.")
-    public ResponseEntity<PagedResponse<AuthorResponse>> findAll(Pageable pageable) {
-        return ResponseEntity.ok(PagedResponse.from(authorService.findAll(pageable)));
+    @ApiResponse(responseCode = "200", description = "Page of authors")
+    @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match")
+    public ResponseEntity<PagedResponse<AuthorResponse>> findAll(
+            WebRequest webRequest,
+            Pageable pageable,
+            @Parameter(description = "exact (default): count(*); none: no count, totalElements is a lower bound; "
+                + "estimate: planner row estimate")
+            @RequestParam(defaultValue = "exact") String count) {
+        CountMode countMode = CountMode.of(count);
+        return ETags.conditional(webRequest, ETags.weak(authorService.watermark()),
+            () -> PagedResponse.from(authorService.findAll(pageable, countMode)));
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "List authors (cursor mode)", description = "Keyset-paginated variant of the listing, "
+        + "selected by the presence of the after parameter. Pass an empty after for the first page and the "
+        + "returned nextCursor for each following page. Page latency does not grow with depth; no total "
+        + "count is returned.")
+    @ApiResponse(responseCode = "200", description = "Page of authors")
+    @ApiResponse(responseCode = "400", description = "Unsupported sort or invalid cursor")
+    public ResponseEntity<CursorPagedResponse<AuthorResponse>> findAfter(
+            WebRequest webRequest,
+            @Parameter(description = "Opaque cursor from a previous page; empty for the first page")
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "id, lastName or createdAt, optionally followed by ,asc or ,desc")
+            @RequestParam(defaultValue = "id") String sort) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        return ETags.conditional(webRequest, ETags.weak(authorService.watermark()),
+            () -> authorService.findAfter(sort, after, pageSize));
+    }
+
+    @GetMapping(params = {"ids", "!after"})
+    @Operation(summary = "Get authors by ID list", description = "Up to 500 authors by id, with their books, "
+        + "in one database query. Results are in request order (duplicates once); ids that do not exist "
+        + "are listed in missing instead of failing the request.")
+    @ApiResponse(responseCode = "200", description = "The authors found and the missing ids")
+    @ApiResponse(responseCode = "400", description = "Empty, malformed or more than 500 ids")
+    public ResponseEntity<MultiGetResponse<AuthorResponse>> findAllById(
+            @Parameter(description = "Comma-separated ids, e.g. 1,2,3") @RequestParam String ids) {
+        return ResponseEntity.ok(authorService.findAllById(IdList.of(ids)));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all authors", description = "Streams every author with their books (ids only in CSV), "
+        + "in id order, from a server-side cursor.")
+    @ApiResponse(responseCode = "200", description = "All authors, streamed")
+    @ApiResponse(responseCode = "400", description = "Unsupported format")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "ndjson (default) or csv") @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.mediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("authors." + exportFormat.extension()).build().toString())
+            .body(output -> exportService.exportAuthors(exportFormat, output));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get author by ID")
+    @Operation(summary = "Get author by ID", description = "Carries a strong ETag; If-None-Match is answered "
+        + "from the author's and its books' versions alone.")
     @ApiResponse(responseCode = "200", description = "Author found")
+    @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Author not found")
-    public ResponseEntity<AuthorResponse> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(authorService.findById(id));
+    public ResponseEntity<AuthorResponse> findById(@PathVariable Long id, WebRequest webRequest) {
+        return ETags.conditional(webRequest, ETags.strong(authorService.version(id)),
+            () -> authorService.findById(id));
     }
 
     @PostMapping
@@ -53,12 +124,17 @@ public class AuthorController {
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update an author", description = "Partial update — null fields are ignored.")
+    @Operation(summary = "Update an author", description = "Partial update — null fields are ignored. "
+        + "With If-Match (an ETag from GET), only applied if the author was not modified since.")
     @ApiResponse(responseCode = "200", description = "Author updated")
     @ApiResponse(responseCode = "404", description = "Author not found")
+    @ApiResponse(responseCode = "412", description = "Author modified since the ETag in If-Match")
     public ResponseEntity<AuthorResponse> update(@PathVariable Long id,
-                                                  @Valid @RequestBody UpdateAuthorRequest request) {
-        return ResponseEntity.ok(authorService.update(id, request));
+                                                  @Valid @RequestBody UpdateAuthorRequest request,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                  String ifMatch) {
+        AuthorResponse updated = authorService.update(id, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.strong(authorService.version(id))).body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -1,16 +1,28 @@
 package com.library.catalog.controller;
 
+import com.library.catalog.dto.request.BookFieldSet;
+import com.library.catalog.dto.request.CountMode;
 import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.request.IdList;
 import com.library.catalog.dto.request.UpdateBookRequest;
+import com.library.catalog.dto.response.BookImportResponse;
 import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
+import com.library.catalog.dto.response.MultiGetResponse;
 import com.library.catalog.dto.response.PagedResponse;
+import com.library.catalog.service.BookImportService;
 import com.library.catalog.service.BookService;
+import com.library.catalog.service.ExportService;
+import com.library.catalog.service.exporting.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,8 +31,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/books")
@@ -29,19 +48,92 @@ import org.springframework.web.bind.annotation.RestController;
 public class BookController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final ExportService exportService;
 
     @GetMapping
-    @Operation(summary = "List all books", description = "Returns a paginated list of books with their author summaries.")
-    public ResponseEntity<PagedResponse<BookResponse>> findAll(Pageable pageable) {
-        return ResponseEntity.ok(PagedResponse.from(bookService.findAll(pageable)));
+    @Operation(summary = "List all books", description = "Returns a paginated list of books with their author summaries. "
+        + "With fields and/or include, each book only has the requested fields (id always) and related data; "
+        + "unrequested columns are not queried, and each included relation costs one query per page.")
+    @ApiResponse(responseCode = "200", description = "Page of books")
+    @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match")
+    @ApiResponse(responseCode = "400", description = "Unsupported count mode, field, include or sort, or page too deep")
+    public ResponseEntity<PagedResponse<?>> findAll(
+            WebRequest webRequest,
+            Pageable pageable,
+            @Parameter(description = "exact (default): count(*); none: no count, totalElements is a lower bound; "
+                + "estimate: planner row estimate")
+            @RequestParam(defaultValue = "exact") String count,
+            @Parameter(description = "Comma-separated subset of id, title, isbn, description, publishedYear, "
+                + "createdAt, updatedAt (default: all)")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Comma-separated related data: authors, activeReservation "
+                + "(default: authors, unless fields is given)")
+            @RequestParam(required = false) String include) {
+        CountMode countMode = CountMode.of(count);
+        BookFieldSet fieldSet = BookFieldSet.of(fields, include);
+        String etag = ETags.weak(bookService.watermark(fieldSet.includes()));
+        if (fields == null && include == null) {
+            return ETags.conditional(webRequest, etag,
+                () -> PagedResponse.from(bookService.findAll(pageable, countMode)));
+        }
+        return ETags.conditional(webRequest, etag,
+            () -> PagedResponse.from(bookService.findAll(pageable, countMode, fieldSet)));
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "List books (cursor mode)", description = "Keyset-paginated variant of the listing, "
+        + "selected by the presence of the after parameter. Pass an empty after for the first page and the "
+        + "returned nextCursor for each following page. Page latency does not grow with depth; no total "
+        + "count is returned.")
+    @ApiResponse(responseCode = "200", description = "Page of books")
+    @ApiResponse(responseCode = "400", description = "Unsupported sort or invalid cursor")
+    public ResponseEntity<CursorPagedResponse<BookResponse>> findAfter(
+            WebRequest webRequest,
+            @Parameter(description = "Opaque cursor from a previous page; empty for the first page")
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "id, title or createdAt, optionally followed by ,asc or ,desc")
+            @RequestParam(defaultValue = "id") String sort) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        String etag = ETags.weak(bookService.watermark(Set.of(BookFieldSet.Include.AUTHORS)));
+        return ETags.conditional(webRequest, etag, () -> bookService.findAfter(sort, after, pageSize));
+    }
+
+    @GetMapping(params = {"ids", "!after"})
+    @Operation(summary = "Get books by ID list", description = "Up to 500 books by id, with their authors, "
+        + "in one database query. Results are in request order (duplicates once); ids that do not exist "
+        + "are listed in missing instead of failing the request.")
+    @ApiResponse(responseCode = "200", description = "The books found and the missing ids")
+    @ApiResponse(responseCode = "400", description = "Empty, malformed or more than 500 ids")
+    public ResponseEntity<MultiGetResponse<BookResponse>> findAllById(
+            @Parameter(description = "Comma-separated ids, e.g. 1,2,3") @RequestParam String ids) {
+        return ResponseEntity.ok(bookService.findAllById(IdList.of(ids)));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all books", description = "Streams every book with its authors, in id order, from a server-side cursor: memory use is "
+        + "constant whatever the catalog size. CSV uses the bulk import columns.")
+    @ApiResponse(responseCode = "200", description = "All books, streamed")
+    @ApiResponse(responseCode = "400", description = "Unsupported format")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "ndjson (default) or csv") @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.mediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("books." + exportFormat.extension()).build().toString())
+            .body(output -> exportService.exportBooks(exportFormat, output));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get book by ID")
+    @Operation(summary = "Get book by ID", description = "Carries a strong ETag; If-None-Match is answered "
+        + "from the book's and its authors' versions alone.")
     @ApiResponse(responseCode = "200", description = "Book found")
+    @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Book not found")
-    public ResponseEntity<BookResponse> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(bookService.findById(id));
+    public ResponseEntity<BookResponse> findById(@PathVariable Long id, WebRequest webRequest) {
+        return ETags.conditional(webRequest, ETags.strong(bookService.version(id)), () -> bookService.findById(id));
     }
 
     @PostMapping
@@ -53,14 +145,39 @@ public class BookController {
         return ResponseEntity.status(HttpStatus.CREATED).body(bookService.create(request));
     }
 
+    @PostMapping(path = "/import", consumes = "text/csv")
+    @Operation(summary = "Bulk import books from CSV", description = "Streams a CSV body with a header record. "
+        + "Required columns: title, isbn, authors (\"First Last\" names separated by ';'); optional: description, "
+        + "published_year. Authors are matched by exact name and created when missing. Invalid rows and "
+        + "duplicate ISBNs are reported and skipped; the other rows are imported in chunks of 1000.")
+    @ApiResponse(responseCode = "200", description = "Import report with per-row errors")
+    @ApiResponse(responseCode = "400", description = "Empty input or required column missing")
+    public ResponseEntity<BookImportResponse> importCsv(InputStream body) {
+        return ResponseEntity.ok(bookImportService.importCsv(body));
+    }
+
+    @PostMapping(path = "/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Bulk import books from NDJSON", description = "Streams one JSON object per line with "
+        + "title, isbn, description, publishedYear and authors (array of \"First Last\" names). Same matching, "
+        + "error reporting and chunking as the CSV import.")
+    @ApiResponse(responseCode = "200", description = "Import report with per-row errors")
+    public ResponseEntity<BookImportResponse> importNdjson(InputStream body) {
+        return ResponseEntity.ok(bookImportService.importNdjson(body));
+    }
+
     @PutMapping("/{id}")
-    @Operation(summary = "Update a book", description = "Partial update — null fields are ignored.")
+    @Operation(summary = "Update a book", description = "Partial update — null fields are ignored. "
+        + "With If-Match (an ETag from GET), only applied if the book was not modified since.")
     @ApiResponse(responseCode = "200", description = "Book updated")
     @ApiResponse(responseCode = "404", description = "Book not found")
     @ApiResponse(responseCode = "409", description = "ISBN already exists")
+    @ApiResponse(responseCode = "412", description = "Book modified since the ETag in If-Match")
     public ResponseEntity<BookResponse> update(@PathVariable Long id,
-                                                @Valid @RequestBody UpdateBookRequest request) {
-        return ResponseEntity.ok(bookService.update(id, request));
+                                                @Valid @RequestBody UpdateBookRequest request,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                String ifMatch) {
+        BookResponse updated = bookService.update(id, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.strong(bookService.version(id))).body(updated);
     }
 
     @DeleteMapping("/{id}")
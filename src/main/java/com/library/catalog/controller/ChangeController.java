@@ -0,0 +1,47 @@
+package com.library.catalog.controller;
+
+import com.library.catalog.service.ChangeFeedService;
+import com.library.catalog.service.ChangePosition;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/v1/changes")
+@RequiredArgsConstructor
+@Tag(name = "Changes", description = "Change feed for incremental synchronization")
+public class ChangeController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ChangeFeedService changeFeedService;
+
+    @GetMapping
+    @Operation(summary = "Catalog changes since a position", description = "Streams the books, authors and "
+        + "reservations created, updated or deleted after since, one JSON object per line, in transaction "
+        + "order. Each line has a token; pass the last token read as since to resume. An entity changed "
+        + "several times appears once, with its current data (null when deleted). A book also changes when "
+        + "its authors are relinked. Fewer lines than limit means the feed is caught up.")
+    @ApiResponse(responseCode = "200", description = "Changes, streamed")
+    @ApiResponse(responseCode = "400", description = "Invalid since token")
+    public ResponseEntity<StreamingResponseBody> changes(
+            @Parameter(description = "Token of the last change read; empty for every change from the start")
+            @RequestParam(defaultValue = "") String since,
+            @Parameter(description = "Maximum number of changes (at most 100000)")
+            @RequestParam(defaultValue = "" + ChangeFeedService.DEFAULT_LIMIT) int limit) {
+        ChangePosition position = ChangePosition.of(since);
+        int maxChanges = Math.max(1, Math.min(limit, ChangeFeedService.MAX_LIMIT));
+        return ResponseEntity.ok()
+            .contentType(NDJSON)
+            .body(output -> changeFeedService.streamChanges(position, maxChanges, output));
+    }
+}
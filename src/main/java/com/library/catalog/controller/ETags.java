@@ -0,0 +1,86 @@
+package com.library.catalog.controller;
+
+import com.library.catalog.service.EntityVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Entity tags and conditional requests.
+ *
+ * <ul>
+ *   <li>Single resources have a strong ETag {@code "<version>-<digest>"}: the entity's
+ *       version, then a digest of the versions of the related entities its response embeds
+ *       (see {@link EntityVersion}). {@code If-Match} on {@code PUT} is compared with the
+ *       version part, so it guards exactly what the optimistic lock guards.</li>
+ *   <li>Listings have a weak ETag {@code W/"<digest>"} of a watermark of the rows they
+ *       show (see {@code WatermarkRepository}); it does not depend on page, size or sort,
+ *       which are part of the URL the ETag is cached under.</li>
+ * </ul>
+ *
+ * Both are read by a query that touches no payload column, before the body is built; an
+ * {@code If-None-Match} hit is answered 304 without running the page or entity queries.
+ * Responses are {@code Cache-Control: no-cache}: clients and the CDN may keep them but
+ * revalidate on every use.
+ */
+final class ETags {
+
+    private static final Pattern STRONG = Pattern.compile("\"(\\d+)-[0-9a-f]+\"");
+    private static final int DIGEST_BYTES = 8;
+
+    private ETags() {}
+
+    static String strong(EntityVersion version) {
+        return "\"" + version.version() + "-" + digest(version.related()) + "\"";
+    }
+
+    static String weak(String watermark) {
+        return "W/\"" + digest(watermark) + "\"";
+    }
+
+    /**
+     * The version an {@code If-Match} header requires, or null when absent or {@code *}.
+     * A tag this API did not issue (or a weak one, which never matches for If-Match) yields
+     * -1, which no entity has.
+     */
+    static Integer expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        if (ifMatch.contains(",")) {
+            throw new IllegalArgumentException("If-Match must be a single entity tag");
+        }
+        Matcher tag = STRONG.matcher(ifMatch.trim());
+        return tag.matches() ? Integer.valueOf(tag.group(1)) : -1;
+    }
+
+    /**
+     * 304 if the request's {@code If-None-Match} matches {@code etag}, otherwise 200 with
+     * the body, which is only computed then.
+     */
+    static <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(body.get());
+    }
+
+    private static String digest(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(Arrays.copyOf(hash, DIGEST_BYTES));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
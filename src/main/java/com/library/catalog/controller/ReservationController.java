@@ -1,10 +1,16 @@
 package com.library.catalog.controller;
 
+import com.library.catalog.dto.request.CountMode;
 import com.library.catalog.dto.request.CreateReservationRequest;
+import com.library.catalog.dto.request.IdList;
+import com.library.catalog.dto.response.CursorPagedResponse;
+import com.library.catalog.dto.response.MultiGetResponse;
 import com.library.catalog.dto.response.PagedResponse;
 import com.library.catalog.dto.response.ReservationResponse;
 import com.library.catalog.entity.ReservationStatus;
+import com.library.catalog.service.ExportService;
 import com.library.catalog.service.ReservationService;
+import com.library.catalog.service.exporting.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,6 +18,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,6 +30,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/reservations")
@@ -30,6 +40,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final ExportService exportService;
 
     @PostMapping
     @Operation(summary = "Create a reservation", description = "Reserves a book for a user. "
@@ -53,21 +64,79 @@ public class ReservationController {
     }
 
     @GetMapping
-    @Operation(summary = "List reservations", description = "Returns a paginated list of reservations with optional filters.")
+    @Operation(summary = "List reservations", description = "Returns a paginated list of reservations with optional "
+        + "filters. The weak ETag changes with any reservation or book.")
+    @ApiResponse(responseCode = "200", description = "Page of reservations")
+    @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match")
     public ResponseEntity<PagedResponse<ReservationResponse>> findAll(
+            WebRequest webRequest,
             @Parameter(description = "Filter by book ID") @RequestParam(required = false) Long bookId,
             @Parameter(description = "Filter by user name") @RequestParam(required = false) String userName,
             @Parameter(description = "Filter by status (ACTIVE, CANCELLED, EXPIRED)") @RequestParam(required = false) ReservationStatus status,
-            Pageable pageable) {
-        return ResponseEntity.ok(
-            PagedResponse.from(reservationService.findAll(bookId, userName, status, pageable)));
+            Pageable pageable,
+            @Parameter(description = "exact (default): count(*); none: no count, totalElements is a lower bound; "
+                + "estimate: planner row estimate")
+            @RequestParam(defaultValue = "exact") String count) {
+        CountMode countMode = CountMode.of(count);
+        return ETags.conditional(webRequest, ETags.weak(reservationService.watermark()),
+            () -> PagedResponse.from(reservationService.findAll(bookId, userName, status, pageable, countMode)));
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "List reservations (cursor mode)", description = "Keyset-paginated variant of the listing, "
+        + "selected by the presence of the after parameter. Pass an empty after for the first page and the "
+        + "returned nextCursor for each following page. Page latency does not grow with depth; no total "
+        + "count is returned.")
+    @ApiResponse(responseCode = "200", description = "Page of reservations")
+    @ApiResponse(responseCode = "400", description = "Unsupported sort or invalid cursor")
+    public ResponseEntity<CursorPagedResponse<ReservationResponse>> findAfter(
+            WebRequest webRequest,
+            @Parameter(description = "Filter by book ID") @RequestParam(required = false) Long bookId,
+            @Parameter(description = "Filter by user name") @RequestParam(required = false) String userName,
+            @Parameter(description = "Filter by status (ACTIVE, CANCELLED, EXPIRED)") @RequestParam(required = false) ReservationStatus status,
+            @Parameter(description = "Opaque cursor from a previous page; empty for the first page")
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "id or reservedAt, optionally followed by ,asc or ,desc")
+            @RequestParam(defaultValue = "id") String sort) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        return ETags.conditional(webRequest, ETags.weak(reservationService.watermark()),
+            () -> reservationService.findAfter(bookId, userName, status, sort, after, pageSize));
+    }
+
+    @GetMapping(params = {"ids", "!after"})
+    @Operation(summary = "Get reservations by ID list", description = "Up to 500 reservations by id, with their book titles, "
+        + "in one database query. Results are in request order (duplicates once); ids that do not exist "
+        + "are listed in missing instead of failing the request.")
+    @ApiResponse(responseCode = "200", description = "The reservations found and the missing ids")
+    @ApiResponse(responseCode = "400", description = "Empty, malformed or more than 500 ids")
+    public ResponseEntity<MultiGetResponse<ReservationResponse>> findAllById(
+            @Parameter(description = "Comma-separated ids, e.g. 1,2,3") @RequestParam String ids) {
+        return ResponseEntity.ok(reservationService.findAllById(IdList.of(ids)));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all reservations", description = "Streams the full reservation history, in id order, from a server-side cursor.")
+    @ApiResponse(responseCode = "200", description = "All reservations, streamed")
+    @ApiResponse(responseCode = "400", description = "Unsupported format")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "ndjson (default) or csv") @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.mediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("reservations." + exportFormat.extension()).build().toString())
+            .body(output -> exportService.exportReservations(exportFormat, output));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get reservation by ID")
+    @Operation(summary = "Get reservation by ID", description = "Carries a strong ETag; If-None-Match is answered "
+        + "from the reservation's and its book's versions alone.")
     @ApiResponse(responseCode = "200", description = "Reservation found")
+    @ApiResponse(responseCode = "304", description = "Unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Reservation not found")
-    public ResponseEntity<ReservationResponse> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(reservationService.findById(id));
+    public ResponseEntity<ReservationResponse> findById(@PathVariable Long id, WebRequest webRequest) {
+        return ETags.conditional(webRequest, ETags.strong(reservationService.version(id)),
+            () -> reservationService.findById(id));
     }
 }
@@ -1,20 +1,31 @@
 package com.library.catalog.controller;
 
+import com.library.catalog.dto.request.BatchSearchRequest;
+import com.library.catalog.dto.request.SearchFilter;
+import com.library.catalog.dto.response.BatchSearchResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
 import com.library.catalog.dto.response.PagedResponse;
 import com.library.catalog.dto.response.SearchResultResponse;
+import com.library.catalog.dto.response.SuggestionResponse;
 import com.library.catalog.service.SearchService;
+import com.library.catalog.service.search.SuggestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/search")
 @RequiredArgsConstructor
@@ -22,20 +33,86 @@ import org.springframework.web.bind.annotation.RestController;
 public class SearchController {
 
     private final SearchService searchService;
+    private final SuggestionService suggestionService;
 
     @GetMapping
     @Operation(summary = "Search books", description = "Full-text search across book titles, descriptions, and author names. "
         + "Uses PostgreSQL tsvector/tsquery. Results sorted by relevance (sort parameter is ignored). "
-        + "Requires full words — prefix matching is not supported.")
+        + "Requires full words — for prefix matching use /api/v1/search/suggest. "
+        + "Optional author/yearFrom/yearTo filters narrow the matches; facets=true adds author and "
+        + "decade counts over all matches; highlight=true adds snippets for the returned page.")
     @ApiResponse(responseCode = "200", description = "Search results")
-    @ApiResponse(responseCode = "400", description = "Query is blank or empty")
+    @ApiResponse(responseCode = "400", description = "Query is blank or empty, yearFrom is after yearTo, "
+        + "or page * size exceeds 10000")
     public ResponseEntity<PagedResponse<SearchResultResponse>> search(
             @Parameter(description = "Search query (required, max 500 chars)", example = "effective java")
             @RequestParam String q,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Only books by this author id")
+            @RequestParam(required = false) Long author,
+            @Parameter(description = "Only books published in or after this year")
+            @RequestParam(required = false) Integer yearFrom,
+            @Parameter(description = "Only books published in or before this year")
+            @RequestParam(required = false) Integer yearTo,
+            @Parameter(description = "Include author and decade facet counts")
+            @RequestParam(defaultValue = "false") boolean facets,
+            @Parameter(description = "Include title/description snippets with matches wrapped in <mark>")
+            @RequestParam(defaultValue = "false") boolean highlight) {
         size = Math.min(size, 100);
+        SearchFilter filter = new SearchFilter(author, yearFrom, yearTo);
         return ResponseEntity.ok(
-            PagedResponse.from(searchService.search(q, PageRequest.of(page, size))));
+            PagedResponse.from(searchService.search(q, filter, facets, highlight, PageRequest.of(page, size))));
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Search books (cursor mode)", description = "Keyset-paginated variant of the search, "
+        + "selected by the presence of the cursor parameter. Pass an empty cursor for the first page and "
+        + "the returned nextCursor for each following page. Page latency does not grow with depth; "
+        + "no total count is returned.")
+    @ApiResponse(responseCode = "200", description = "Search results")
+    @ApiResponse(responseCode = "400", description = "Query is blank or cursor is invalid")
+    public ResponseEntity<CursorPagedResponse<SearchResultResponse>> searchByCursor(
+            @Parameter(description = "Search query (required, max 500 chars)", example = "effective java")
+            @RequestParam String q,
+            @Parameter(description = "Opaque cursor from a previous page; empty for the first page")
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Only books by this author id")
+            @RequestParam(required = false) Long author,
+            @Parameter(description = "Only books published in or after this year")
+            @RequestParam(required = false) Integer yearFrom,
+            @Parameter(description = "Only books published in or before this year")
+            @RequestParam(required = false) Integer yearTo,
+            @Parameter(description = "Include title/description snippets with matches wrapped in <mark>")
+            @RequestParam(defaultValue = "false") boolean highlight) {
+        size = Math.max(1, Math.min(size, 100));
+        SearchFilter filter = new SearchFilter(author, yearFrom, yearTo);
+        return ResponseEntity.ok(searchService.searchAfter(q, filter, highlight, cursor, size));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Run several searches at once", description = "Returns the first page of results "
+        + "for up to 20 queries, keyed by query. All queries run in one database statement, so the batch "
+        + "costs one request and one connection checkout.")
+    @ApiResponse(responseCode = "200", description = "Results per query")
+    @ApiResponse(responseCode = "400", description = "No queries, more than 20, a blank query, or invalid size")
+    public ResponseEntity<BatchSearchResponse> searchBatch(@Valid @RequestBody BatchSearchRequest request) {
+        int size = request.size() != null ? request.size() : 10;
+        return ResponseEntity.ok(searchService.searchBatch(request.queries(), size));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest completions", description = "Typeahead completions for book titles and author "
+        + "names starting with the given prefix, most reserved first. Served from memory; "
+        + "no database query per keystroke.")
+    @ApiResponse(responseCode = "200", description = "Suggestions (possibly empty)")
+    @ApiResponse(responseCode = "400", description = "Prefix is blank")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @Parameter(description = "Beginning of a title or author name", example = "effective j")
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions (max 10)")
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestionService.suggest(prefix, Math.max(1, limit)));
     }
 }
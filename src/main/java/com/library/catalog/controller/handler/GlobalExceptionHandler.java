@@ -5,6 +5,7 @@ import com.library.catalog.exception.ActiveReservationExistsException;
 import com.library.catalog.exception.BookAlreadyReservedException;
 import com.library.catalog.exception.DuplicateIsbnException;
 import com.library.catalog.exception.InvalidReservationStateException;
+import com.library.catalog.exception.PreconditionFailedException;
 import com.library.catalog.exception.ResourceNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.hibernate.exception.ConstraintViolationException;
@@ -125,6 +126,14 @@ public class GlobalExceptionHandler {
                               Instant.now(), request.getRequestURI()));
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(PreconditionFailedException ex,
+                                                                   HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(
+            new ErrorResponse(412, "Precondition Failed", ex.getMessage(),
+                              Instant.now(), request.getRequestURI()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex,
                                                                 HttpServletRequest request) {
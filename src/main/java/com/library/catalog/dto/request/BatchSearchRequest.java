@@ -0,0 +1,21 @@
+package com.library.catalog.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchSearchRequest(
+
+    @NotEmpty(message = "At least one query is required")
+    @Size(max = 20, message = "At most 20 queries per batch")
+    List<@NotBlank(message = "Query must not be blank")
+         @Size(max = 500, message = "Query must not exceed 500 characters") String> queries,
+
+    @Min(value = 1, message = "Size must be at least 1")
+    @Max(value = 100, message = "Size must not exceed 100")
+    Integer size
+) {}
@@ -0,0 +1,86 @@
+package com.library.catalog.dto.request;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The parts of a book the listing should return ({@code ?fields=} and {@code ?include=}).
+ *
+ * <ul>
+ *   <li>{@code fields}: comma-separated {@link Field} names. Only these columns are
+ *       selected and serialized; {@code id} is always included. Without it, every field.</li>
+ *   <li>{@code include}: comma-separated {@link Include} names, the related data to
+ *       attach. Without it, {@code authors} when {@code fields} is absent too (the full
+ *       representation), otherwise nothing.</li>
+ * </ul>
+ */
+public record BookFieldSet(Set<Field> fields, Set<Include> includes) {
+
+    /** A column of the book itself; {@code property} is both the JPA attribute and the JSON name. */
+    public enum Field {
+        ID("id"), TITLE("title"), ISBN("isbn"), DESCRIPTION("description"), PUBLISHED_YEAR("publishedYear"),
+        CREATED_AT("createdAt"), UPDATED_AT("updatedAt");
+
+        private final String property;
+
+        Field(String property) {
+            this.property = property;
+        }
+
+        public String property() {
+            return property;
+        }
+    }
+
+    /** Related data, loaded for the whole page with one query per relation. */
+    public enum Include {
+        AUTHORS("authors"), ACTIVE_RESERVATION("activeReservation");
+
+        private final String property;
+
+        Include(String property) {
+            this.property = property;
+        }
+
+        public String property() {
+            return property;
+        }
+    }
+
+    /** Parses the request parameters, either of which may be null (absent). */
+    public static BookFieldSet of(String fields, String include) {
+        Set<Field> selected = EnumSet.allOf(Field.class);
+        if (fields != null) {
+            selected = EnumSet.of(Field.ID);
+            for (String name : names(fields)) {
+                selected.add(Arrays.stream(Field.values())
+                    .filter(field -> field.property().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported field '" + name + "' (expected "
+                        + Arrays.stream(Field.values()).map(Field::property).collect(Collectors.joining(", "))
+                        + "; use include= for related data)")));
+            }
+        }
+        Set<Include> includes = fields == null ? EnumSet.of(Include.AUTHORS) : EnumSet.noneOf(Include.class);
+        if (include != null) {
+            includes = EnumSet.noneOf(Include.class);
+            for (String name : names(include)) {
+                includes.add(Arrays.stream(Include.values())
+                    .filter(relation -> relation.property().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported include '" + name + "' (expected "
+                        + Arrays.stream(Include.values()).map(Include::property).collect(Collectors.joining(", "))
+                        + ")")));
+            }
+        }
+        return new BookFieldSet(Collections.unmodifiableSet(selected), Collections.unmodifiableSet(includes));
+    }
+
+    private static List<String> names(String list) {
+        return Arrays.stream(list.split(",")).map(String::trim).filter(name -> !name.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,38 @@
+package com.library.catalog.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * One book of a bulk import (one NDJSON line or CSV record). Same constraints as
+ * {@link CreateBookRequest}, except that authors are given by name ("First Last"),
+ * since a publisher feed does not know catalog ids. Unknown authors are created.
+ */
+public record BookImportRow(
+
+    @NotBlank(message = "Title must not be blank")
+    @Size(max = 255, message = "Title must not exceed 255 characters")
+    String title,
+
+    @NotBlank(message = "ISBN must not be blank")
+    @Pattern(regexp = "\\d{13}", message = "ISBN must be exactly 13 digits")
+    String isbn,
+
+    @Size(max = 10000, message = "Description must not exceed 10000 characters")
+    String description,
+
+    @Min(value = 1000, message = "Published year must be 1000 or later")
+    @Max(value = 2100, message = "Published year must be 2100 or earlier")
+    Integer publishedYear,
+
+    @NotEmpty(message = "At least one author is required")
+    List<@NotBlank(message = "Author name must not be blank")
+         @Pattern(regexp = "\\s*\\S+(\\s+\\S+)+\\s*", message = "Author name must be \"First Last\"")
+         @Size(max = 201, message = "Author name must not exceed 201 characters") String> authors
+) {}
@@ -0,0 +1,30 @@
+package com.library.catalog.dto.request;
+
+import java.util.Locale;
+
+/**
+ * How a paginated listing computes {@code totalElements} ({@code ?count=}).
+ *
+ * <ul>
+ *   <li>{@link #EXACT} (default): a {@code count(*)} query, as before.</li>
+ *   <li>{@link #NONE}: no count; the page fetches one extra row to know whether another
+ *       page exists, and the total is the lower bound this implies.</li>
+ *   <li>{@link #ESTIMATE}: as {@code NONE}, with the PostgreSQL planner's row estimate
+ *       as the total.</li>
+ * </ul>
+ *
+ * The last page is always counted exactly: its total is the offset plus its rows.
+ */
+public enum CountMode {
+
+    EXACT, NONE, ESTIMATE;
+
+    /** Parses the {@code count} request parameter, case-insensitively. */
+    public static CountMode of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported count mode '" + name + "' (expected exact, none or estimate)");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.library.catalog.dto.request;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The ids of a multi-get ({@code ?ids=1,2,3}), in request order without duplicates.
+ * At most {@value #MAX_IDS}: enough for a page of any client view, while keeping the
+ * {@code IN} list and the response bounded.
+ */
+public record IdList(List<Long> ids) {
+
+    public static final int MAX_IDS = 500;
+
+    /** Parses the comma-separated {@code ids} request parameter. */
+    public static IdList of(String ids) {
+        Set<Long> parsed = new LinkedHashSet<>();
+        for (String id : ids.split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            try {
+                parsed.add(Long.valueOf(id.trim()));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid id '" + id.trim() + "' in ids");
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("ids must contain at least one id");
+        }
+        if (parsed.size() > MAX_IDS) {
+            throw new IllegalArgumentException("ids must not contain more than " + MAX_IDS + " ids");
+        }
+        return new IdList(List.copyOf(parsed));
+    }
+}
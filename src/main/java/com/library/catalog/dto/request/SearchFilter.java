@@ -0,0 +1,20 @@
+package com.library.catalog.dto.request;
+
+/**
+ * Optional search filters, applied in SQL next to the full-text match. Every field may
+ * be {@code null}; year bounds are inclusive.
+ */
+public record SearchFilter(Long authorId, Integer yearFrom, Integer yearTo) {
+
+    public static final SearchFilter NONE = new SearchFilter(null, null, null);
+
+    public SearchFilter {
+        if (yearFrom != null && yearTo != null && yearFrom > yearTo) {
+            throw new IllegalArgumentException("yearFrom must not be greater than yearTo");
+        }
+    }
+
+    public boolean isEmpty() {
+        return authorId == null && yearFrom == null && yearTo == null;
+    }
+}
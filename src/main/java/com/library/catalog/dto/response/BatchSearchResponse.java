@@ -0,0 +1,17 @@
+package com.library.catalog.dto.response;
+
+import com.library.catalog.dto.response.PagedResponse.TotalRelation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of a batch search, keyed by each query exactly as it was sent, in request
+ * order. Every entry holds the first page of that query's results and its total, which
+ * is a {@link TotalRelation#LOWER_BOUND} when the count stopped at the count limit.
+ */
+public record BatchSearchResponse(
+    Map<String, QueryResults> results
+) {
+    public record QueryResults(List<SearchResultResponse> content, long totalElements, TotalRelation totalRelation) {}
+}
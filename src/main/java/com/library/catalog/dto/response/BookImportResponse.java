@@ -0,0 +1,19 @@
+package com.library.catalog.dto.response;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Every received row is either imported or failed; rows fail
+ * individually (invalid, duplicate ISBN) without affecting the others. {@code errors}
+ * lists at most 100 failures, ordered by line; {@code failed} counts all of them.
+ */
+public record BookImportResponse(
+    long received,
+    long imported,
+    long failed,
+    long authorsCreated,
+    List<RowError> errors
+) {
+    /** {@code line} is the 1-based line of the input where the row starts. */
+    public record RowError(long line, String isbn, String message) {}
+}
@@ -14,4 +14,7 @@ public record BookResponse(
     Instant updatedAt
 ) {
     public record AuthorSummary(Long id, String firstName, String lastName) {}
+
+    /** The book's active reservation, returned with {@code ?include=activeReservation}. */
+    public record ReservationSummary(Long id, String userName, Instant reservedAt, Instant expiresAt) {}
 }
@@ -0,0 +1,18 @@
+package com.library.catalog.dto.response;
+
+import com.library.catalog.event.ChangeType;
+
+/**
+ * One line of the change feed. {@code data} is the entity as returned by its
+ * {@code GET /{id}} endpoint, as of the change; it is null for {@code DELETED}.
+ * {@code token} resumes the feed right after this change.
+ */
+public record ChangeResponse(
+    String token,
+    Entity entity,
+    Long id,
+    ChangeType change,
+    Object data
+) {
+    public enum Entity { BOOK, AUTHOR, RESERVATION }
+}
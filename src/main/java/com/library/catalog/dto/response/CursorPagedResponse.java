@@ -0,0 +1,15 @@
+package com.library.catalog.dto.response;
+
+import java.util.List;
+
+/**
+ * Page of a keyset (seek) paginated listing. Unlike {@link PagedResponse} there is no
+ * page number or total: the client passes {@code nextCursor} back to fetch the following
+ * page, and {@code nextCursor} is {@code null} once {@code last} is reached.
+ */
+public record CursorPagedResponse<T>(
+    List<T> content,
+    int size,
+    String nextCursor,
+    boolean last
+) {}
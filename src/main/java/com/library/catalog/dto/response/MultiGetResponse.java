@@ -0,0 +1,12 @@
+package com.library.catalog.dto.response;
+
+import java.util.List;
+
+/**
+ * Results of a multi-get: the entities found, in the order their ids were requested,
+ * and the requested ids that do not exist (also in request order).
+ */
+public record MultiGetResponse<T>(
+    List<T> content,
+    List<Long> missing
+) {}
@@ -1,5 +1,6 @@
 package com.library.catalog.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -10,16 +11,29 @@ public record PagedResponse<T>(
     int size,
     long totalElements,
     int totalPages,
-    boolean last
+    boolean last,
+    TotalRelation totalRelation,
+    @JsonInclude(JsonInclude.Include.NON_NULL) SearchFacets facets
 ) {
+    /**
+     * How {@code totalElements} relates to the real number of matches.
+     * {@link #LOWER_BOUND} is returned by search when its count was capped or did not
+     * finish in time, and by listings with {@code count=none} (rendered by clients as
+     * e.g. "1000+"); {@link #ESTIMATE} by listings with {@code count=estimate}.
+     */
+    public enum TotalRelation { EXACT, LOWER_BOUND, ESTIMATE }
+
     public static <T> PagedResponse<T> from(Page<T> page) {
+        SearchPage<T> searchPage = page instanceof SearchPage<T> sp ? sp : null;
         return new PagedResponse<>(
             page.getContent(),
             page.getNumber(),
             page.getSize(),
             page.getTotalElements(),
             page.getTotalPages(),
-            page.isLast()
+            page.isLast(),
+            searchPage != null ? searchPage.getTotalRelation() : TotalRelation.EXACT,
+            searchPage != null ? searchPage.getFacets() : null
         );
     }
 }
@@ -0,0 +1,18 @@
+package com.library.catalog.dto.response;
+
+import java.util.List;
+
+/**
+ * Facet counts over all books matching a search (not just the returned page). Authors
+ * are the most frequent ones, most matches first; decades are newest first and omit
+ * books without a publication year.
+ */
+public record SearchFacets(
+    List<AuthorFacet> authors,
+    List<DecadeFacet> decades
+) {
+    public record AuthorFacet(Long id, String firstName, String lastName, long count) {}
+
+    /** Books published from {@code fromYear} to {@code toYear}, inclusive. */
+    public record DecadeFacet(int fromYear, int toYear, long count) {}
+}
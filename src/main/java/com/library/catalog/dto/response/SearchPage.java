@@ -0,0 +1,49 @@
+package com.library.catalog.dto.response;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A page of search results carrying what a plain {@link PageImpl} cannot: how exact its
+ * total is, and optional facet counts. Also used for listings paginated without an
+ * exact count ({@code SlicePager}).
+ *
+ * <p>The total may be a lower bound rather than an exact count. {@code isLast()} stays
+ * accurate either way: callers fetch one row beyond the page to know whether more exist,
+ * and a lower-bound total always covers that row.
+ */
+public class SearchPage<T> extends PageImpl<T> {
+
+    private final PagedResponse.TotalRelation totalRelation;
+    private final boolean countTimedOut;
+    private final SearchFacets facets;
+
+    public SearchPage(List<T> content, Pageable pageable, long total,
+                      PagedResponse.TotalRelation totalRelation, boolean countTimedOut) {
+        this(content, pageable, total, totalRelation, countTimedOut, null);
+    }
+
+    public SearchPage(List<T> content, Pageable pageable, long total,
+                      PagedResponse.TotalRelation totalRelation, boolean countTimedOut, SearchFacets facets) {
+        super(content, pageable, total);
+        this.totalRelation = totalRelation;
+        this.countTimedOut = countTimedOut;
+        this.facets = facets;
+    }
+
+    public PagedResponse.TotalRelation getTotalRelation() {
+        return totalRelation;
+    }
+
+    /** True when the count missed its deadline and the total was inferred from the page. */
+    public boolean isCountTimedOut() {
+        return countTimedOut;
+    }
+
+    /** Facet counts, or {@code null} when they were not requested. */
+    public SearchFacets getFacets() {
+        return facets;
+    }
+}
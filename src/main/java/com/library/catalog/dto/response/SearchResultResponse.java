@@ -1,5 +1,7 @@
 package com.library.catalog.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 public record SearchResultResponse(
@@ -8,5 +10,21 @@ public record SearchResultResponse(
     String isbn,
     Integer publishedYear,
     List<BookResponse.AuthorSummary> authors,
-    double relevanceScore
-) {}
+    double relevanceScore,
+    @JsonInclude(JsonInclude.Include.NON_NULL) Highlight highlight
+) {
+    public SearchResultResponse(Long id, String title, String isbn, Integer publishedYear,
+                                List<BookResponse.AuthorSummary> authors, double relevanceScore) {
+        this(id, title, isbn, publishedYear, authors, relevanceScore, null);
+    }
+
+    /**
+     * HTML-escaped snippets with matched words wrapped in {@code <mark>}. The title is
+     * highlighted in full; the description is shortened to its best fragments.
+     */
+    public record Highlight(String title, String description) {}
+
+    public SearchResultResponse withHighlight(Highlight highlight) {
+        return new SearchResultResponse(id, title, isbn, publishedYear, authors, relevanceScore, highlight);
+    }
+}
@@ -0,0 +1,20 @@
+package com.library.catalog.dto.response;
+
+import java.util.List;
+
+/**
+ * Body of {@code /actuator/searchstats}: how many searches were recorded, how many heavy
+ * hitters are tracked at most, and the most frequent queries.
+ *
+ * <p>{@code count} is the heavy-hitter counter, an upper bound that exceeds the true
+ * count by at most {@code maxOverestimate}. {@code sketchEstimate} is the count-min
+ * estimate for the same query, also an upper bound; the true count is at most the
+ * smaller of the two.
+ */
+public record SearchStatsResponse(
+    long totalQueries,
+    int trackedCapacity,
+    List<QueryCount> topQueries
+) {
+    public record QueryCount(String query, long count, long maxOverestimate, long sketchEstimate) {}
+}
@@ -0,0 +1,9 @@
+package com.library.catalog.dto.response;
+
+public record SuggestionResponse(
+    String text,
+    Type type,
+    Long id
+) {
+    public enum Type { BOOK, AUTHOR }
+}
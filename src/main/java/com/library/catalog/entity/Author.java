@@ -1,5 +1,6 @@
 package com.library.catalog.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -7,13 +8,17 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -36,6 +41,14 @@ import java.util.Set;
  * secondary SELECT statements into batches of 20 using an IN-clause, mitigating
  * the N+1 query problem.
  *
+ * <p><strong>Second-level cache</strong>: authors and their {@link #books} collection are
+ * cached ({@code READ_WRITE}). Hibernate only updates a collection cache from the owning
+ * side, so {@code books} is evicted by {@code SecondLevelCache} whenever a book's authors
+ * change.
+ *
+ * <p><strong>Optimistic locking</strong>: {@link #version} (V14) works as on {@link Book};
+ * it also feeds the ETags of author responses and of the book responses listing the author.
+ *
  * <p><strong>Lombok notes</strong>:
  * <ul>
  *   <li>{@code @NoArgsConstructor(access = PROTECTED)} satisfies the JPA requirement for a
@@ -53,6 +66,8 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "authors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authors")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -60,7 +75,8 @@ import java.util.Set;
 public class Author extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_id")
+    @SequenceGenerator(name = "author_id", sequenceName = "authors_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "first_name", nullable = false, length = 100)
@@ -76,6 +92,14 @@ public class Author extends BaseEntity {
     @Column(name = "bio", columnDefinition = "TEXT")
     private String bio;
 
+    /**
+     * Optimistic locking version counter managed by Hibernate.
+     * Incremented automatically on every UPDATE. Never set manually by application code.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
     /**
      * Inverse side of the Book-Author many-to-many association.
      * Do NOT add {@code CascadeType} here — the Author must not cascade any
@@ -84,5 +108,6 @@ public class Author extends BaseEntity {
      */
     @ManyToMany(mappedBy = "authors", fetch = FetchType.LAZY)
     @BatchSize(size = 20)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "author-books")
     private Set<Book> books = new HashSet<>();
 }
@@ -1,5 +1,6 @@
 package com.library.catalog.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -11,6 +12,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.AccessLevel;
@@ -19,6 +21,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -34,8 +38,9 @@ import java.util.Set;
  * made through this collection.
  *
  * <p><strong>search_vector is intentionally omitted</strong>: The {@code search_vector}
- * column ({@code TSVECTOR}) is populated exclusively by a PostgreSQL trigger defined
- * in migration V5. Application code never reads or writes this column directly — search
+ * column ({@code TSVECTOR}) is populated exclusively by PostgreSQL triggers defined
+ * in migrations V5 and V7 (title, author names and description, weighted A/B/C).
+ * Application code never reads or writes this column directly — search
  * queries access it via native SQL. Mapping it here would require
  * {@code insertable=false, updatable=false} and would expose a misleading field that
  * application code might accidentally read as a String. Omitting the field entirely is
@@ -57,6 +62,12 @@ import java.util.Set;
  *       {@code book_authors} join-table rows when the owning Book entity is deleted.</li>
  * </ul>
  *
+ * <p><strong>Second-level cache</strong>: books and their {@link #authors} collection are
+ * cached ({@code READ_WRITE}, regions sized in {@code hibernate-cache.conf}), so
+ * {@code findById} and the author lookups behind a {@code BookResponse} are served without
+ * a query once warm. Hibernate keeps both regions current for writes through JPA; the
+ * inverse {@code Author.books} collection is evicted by {@code SecondLevelCache}.
+ *
  * <p><strong>reservations</strong> has no cascade type. Reservations have an independent
  * lifecycle and are never created, updated, or deleted by operating on a Book. This
  * collection is accessed exclusively in {@code BookService.delete()} to check for
@@ -68,6 +79,8 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "books")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -75,7 +88,8 @@ import java.util.Set;
 public class Book extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_id")
+    @SequenceGenerator(name = "book_id", sequenceName = "books_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "title", nullable = false, length = 255)
@@ -109,8 +123,8 @@ public class Book extends BaseEntity {
      * Authors of this book. Book owns the {@code book_authors} join table.
      *
      * <p>{@code FetchType.LAZY}: avoids loading all authors on every Book query.
-     * Authors are fetched explicitly via a JOIN FETCH query when building
-     * {@code BookResponse}.
+     * When building {@code BookResponse} they are read from the second-level cache, or
+     * with one query on a miss; updates still load them via a JOIN FETCH query.
      *
      * <p>{@code @BatchSize(size = 20)}: when Hibernate loads author collections for a
      * page of N books, it batches the secondary SELECTs into groups of 20, preventing
@@ -123,6 +137,7 @@ public class Book extends BaseEntity {
             inverseJoinColumns = @JoinColumn(name = "author_id")
     )
     @BatchSize(size = 20)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book-authors")
     private Set<Author> authors = new HashSet<>();
 
     /**
@@ -0,0 +1,8 @@
+package com.library.catalog.event;
+
+/**
+ * Published by {@code AuthorService} whenever an author is created, updated or deleted.
+ *
+ * <p>See {@link BookChangedEvent} for the delivery contract.
+ */
+public record AuthorChangedEvent(Long authorId, ChangeType changeType) {}
@@ -0,0 +1,10 @@
+package com.library.catalog.event;
+
+/**
+ * Published by {@code BookService} whenever a book is created, updated or deleted.
+ *
+ * <p>Listeners that maintain derived, in-process state (search index, caches) should
+ * consume it with {@code @TransactionalEventListener} so they only react to committed
+ * writes.
+ */
+public record BookChangedEvent(Long bookId, ChangeType changeType) {}
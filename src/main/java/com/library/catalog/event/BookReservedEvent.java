@@ -0,0 +1,7 @@
+package com.library.catalog.event;
+
+/**
+ * Published by {@code ReservationService} when a reservation is created, after the book's
+ * popularity (V10) has been incremented in the same transaction.
+ */
+public record BookReservedEvent(Long bookId) {}
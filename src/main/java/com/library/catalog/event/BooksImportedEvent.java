@@ -0,0 +1,13 @@
+package com.library.catalog.event;
+
+import java.util.List;
+
+/**
+ * Published by {@code BookImportService} once per committed import chunk, instead of one
+ * {@link BookChangedEvent} / {@link AuthorChangedEvent} per row, so listeners can refresh
+ * derived state in bulk. Ids are ascending; {@code authorIds} are the authors the chunk
+ * created.
+ *
+ * <p>See {@link BookChangedEvent} for the delivery contract.
+ */
+public record BooksImportedEvent(List<Long> bookIds, List<Long> authorIds) {}
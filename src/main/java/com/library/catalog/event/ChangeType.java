@@ -0,0 +1,10 @@
+package com.library.catalog.event;
+
+/**
+ * Kind of write that produced a catalog change event.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
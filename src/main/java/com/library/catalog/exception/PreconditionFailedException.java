@@ -0,0 +1,8 @@
+package com.library.catalog.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String entityName, Long id) {
+        super(entityName + " with id " + id + " does not match If-Match; it was modified since it was read");
+    }
+}
@@ -4,6 +4,7 @@ import com.library.catalog.dto.request.CreateAuthorRequest;
 import com.library.catalog.dto.request.UpdateAuthorRequest;
 import com.library.catalog.dto.response.AuthorResponse;
 import com.library.catalog.entity.Author;
+import com.library.catalog.repository.AuthorRepository.AuthorRow;
 
 import java.util.Collections;
 import java.util.List;
@@ -38,6 +39,19 @@ public final class AuthorMapper {
         );
     }
 
+    /** A listing row with its books, loaded separately (see {@code AuthorService.findAll}). */
+    public static AuthorResponse toResponse(AuthorRow row, List<AuthorResponse.BookSummary> books) {
+        return new AuthorResponse(
+            row.id(),
+            row.firstName(),
+            row.lastName(),
+            row.bio(),
+            books,
+            row.createdAt(),
+            row.updatedAt()
+        );
+    }
+
     public static void updateEntity(Author author, UpdateAuthorRequest request) {
         if (request.firstName() != null) {
             author.setFirstName(request.firstName());
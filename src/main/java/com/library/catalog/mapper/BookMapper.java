@@ -4,6 +4,7 @@ import com.library.catalog.dto.request.CreateBookRequest;
 import com.library.catalog.dto.request.UpdateBookRequest;
 import com.library.catalog.dto.response.BookResponse;
 import com.library.catalog.entity.Book;
+import com.library.catalog.repository.BookRepository.BookRow;
 
 import java.util.Collections;
 import java.util.List;
@@ -40,6 +41,20 @@ public final class BookMapper {
         );
     }
 
+    /** A listing row with its authors, loaded separately (see {@code BookService.findAll}). */
+    public static BookResponse toResponse(BookRow row, List<BookResponse.AuthorSummary> authors) {
+        return new BookResponse(
+            row.id(),
+            row.title(),
+            row.isbn(),
+            row.description(),
+            row.publishedYear(),
+            authors,
+            row.createdAt(),
+            row.updatedAt()
+        );
+    }
+
     public static void updateEntity(Book book, UpdateBookRequest request) {
         if (request.title() != null) {
             book.setTitle(request.title());
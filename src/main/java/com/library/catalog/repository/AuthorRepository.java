@@ -1,14 +1,45 @@
 package com.library.catalog.repository;
 
 import com.library.catalog.entity.Author;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface AuthorRepository extends JpaRepository<Author, Long> {
+public interface AuthorRepository extends JpaRepository<Author, Long>,
+        JpaSpecificationExecutor<Author> {
+
+    /** The columns of an author listing, read without instantiating entities (see {@code BookRow}). */
+    record AuthorRow(Long id, String firstName, String lastName, String bio, Instant createdAt, Instant updatedAt) {}
+
+    /** One book of an author, for {@link #findBookRows}. */
+    record AuthorBookRow(Long authorId, Long id, String title) {}
+
+    Page<AuthorRow> findAllBy(Pageable pageable);
+
+    Slice<AuthorRow> findSliceBy(Pageable pageable);
+
+    /** The books of the given authors, all in one query, by book id. */
+    @Query("""
+        SELECT new com.library.catalog.repository.AuthorRepository$AuthorBookRow(a.id, b.id, b.title)
+        FROM Author a JOIN a.books b
+        WHERE a.id IN :authorIds
+        ORDER BY b.id
+        """)
+    List<AuthorBookRow> findBookRows(@Param("authorIds") Collection<Long> authorIds);
 
     @Query("SELECT a FROM Author a LEFT JOIN FETCH a.books WHERE a.id = :id")
     Optional<Author> findByIdWithBooks(@Param("id") Long id);
+
+    /** The given authors with their books, in one query; missing ids are simply absent. */
+    @Query("SELECT DISTINCT a FROM Author a LEFT JOIN FETCH a.books WHERE a.id IN :ids")
+    List<Author> findAllByIdWithBooks(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,76 @@
+package com.library.catalog.repository;
+
+import com.library.catalog.dto.request.BookFieldSet.Field;
+import com.library.catalog.entity.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Book listing rows with only the requested columns ({@code ?fields=}): the SELECT list is
+ * built from the {@link Field}s, so e.g. {@code description} (TEXT, possibly TOASTed) is
+ * not read unless asked for. Rows are returned as maps keyed by property name, in
+ * {@link Field} order, ready to be serialized.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BookFieldsRepository {
+
+    /** Sorts with an index behind them (primary key, V13's {@code (title, id)} and {@code (created_at, id)}). */
+    public static final Set<Field> SORTABLE = EnumSet.of(Field.ID, Field.TITLE, Field.CREATED_AT);
+
+    private final EntityManager entityManager;
+
+    /**
+     * Up to {@code limit} rows from the page's offset, ordered by the page's sort, then by
+     * id. The caller validates the page: sorts among {@link #SORTABLE}, offset within {@code int}.
+     */
+    public List<Map<String, Object>> findPage(Set<Field> fields, Pageable pageable, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+        query.multiselect(fields.stream()
+            .<Selection<?>>map(field -> book.get(field.property()).alias(field.property()))
+            .toList());
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            Path<?> property = book.get(order.getProperty());
+            orders.add(order.isAscending() ? cb.asc(property) : cb.desc(property));
+        }
+        orders.add(cb.asc(book.get(Field.ID.property())));
+        query.orderBy(orders);
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(limit)
+            .getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (Field field : fields) {
+                row.put(field.property(), tuple.get(field.property()));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,149 @@
+package com.library.catalog.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based writes for {@code BookImportService}. Every method is one statement for a
+ * whole chunk: the rows travel as parallel PostgreSQL arrays and are expanded with
+ * {@code unnest}, so a chunk of a thousand books costs a handful of round-trips instead
+ * of thousands, and no Hibernate entity is instantiated.
+ *
+ * <p>Not transactional itself: the caller runs each chunk in one transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookImportRepository {
+
+    /** Existing authors by exact name; the lowest id wins when a name is not unique. */
+    private static final String FIND_AUTHORS_QUERY = """
+        SELECT DISTINCT ON (a.first_name, a.last_name) a.id, a.first_name, a.last_name
+        FROM authors a
+        JOIN unnest(?::text[], ?::text[]) AS n(first_name, last_name)
+          ON a.first_name = n.first_name AND a.last_name = n.last_name
+        ORDER BY a.first_name, a.last_name, a.id
+        """;
+
+    private static final String INSERT_AUTHORS_QUERY = """
+        INSERT INTO authors (first_name, last_name)
+        SELECT * FROM unnest(?::text[], ?::text[])
+        RETURNING id, first_name, last_name
+        """;
+
+    private static final String FIND_EXISTING_ISBNS_QUERY =
+        "SELECT isbn FROM books WHERE isbn = ANY (?::text[])";
+
+    /**
+     * {@code ON CONFLICT} is arbitrated by {@code idx_books_isbn}: a book whose ISBN was
+     * inserted concurrently since {@link #findExistingIsbns} is skipped, not an error for
+     * the whole chunk. Only inserted rows are returned.
+     */
+    private static final String INSERT_BOOKS_QUERY = """
+        INSERT INTO books (title, isbn, description, published_year)
+        SELECT * FROM unnest(?::text[], ?::text[], ?::text[], ?::integer[])
+        ON CONFLICT (isbn) DO NOTHING
+        RETURNING id, isbn
+        """;
+
+    private static final String INSERT_BOOK_AUTHORS_QUERY = """
+        INSERT INTO book_authors (book_id, author_id)
+        SELECT * FROM unnest(?::bigint[], ?::bigint[])
+        """;
+
+    /** First and last name of an author, as matched and stored. */
+    public record AuthorName(String firstName, String lastName) {}
+
+    /** A book row to insert. */
+    public record NewBook(String title, String isbn, String description, Integer publishedYear) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Map<AuthorName, Long> findAuthors(Set<AuthorName> names) {
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        return queryAuthors(FIND_AUTHORS_QUERY, new ArrayList<>(names));
+    }
+
+    /** Inserts the authors and returns their generated ids. */
+    public Map<AuthorName, Long> insertAuthors(Set<AuthorName> names) {
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        return queryAuthors(INSERT_AUTHORS_QUERY, new ArrayList<>(names));
+    }
+
+    public Set<String> findExistingIsbns(List<String> isbns) {
+        if (isbns.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FIND_EXISTING_ISBNS_QUERY);
+            ps.setArray(1, textArray(con, isbns));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1)));
+    }
+
+    /** Inserts the books and returns the generated id of each inserted one, by ISBN. */
+    public Map<String, Long> insertBooks(List<NewBook> books) {
+        if (books.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_BOOKS_QUERY);
+            ps.setArray(1, textArray(con, books.stream().map(NewBook::title).toList()));
+            ps.setArray(2, textArray(con, books.stream().map(NewBook::isbn).toList()));
+            ps.setArray(3, textArray(con, books.stream().map(NewBook::description).toList()));
+            ps.setArray(4, con.createArrayOf("integer",
+                books.stream().map(NewBook::publishedYear).toArray(Integer[]::new)));
+            return ps;
+        }, (ResultSet rs) -> {
+            ids.put(rs.getString("isbn"), rs.getLong("id"));
+        });
+        return ids;
+    }
+
+    /** Links books to authors; {@code bookIds} and {@code authorIds} are parallel lists. */
+    public void insertBookAuthors(List<Long> bookIds, List<Long> authorIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_BOOK_AUTHORS_QUERY);
+            ps.setArray(1, con.createArrayOf("bigint", bookIds.toArray(Long[]::new)));
+            ps.setArray(2, con.createArrayOf("bigint", authorIds.toArray(Long[]::new)));
+            return ps;
+        });
+    }
+
+    private Map<AuthorName, Long> queryAuthors(String sql, List<AuthorName> names) {
+        Map<AuthorName, Long> ids = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, textArray(con, names.stream().map(AuthorName::firstName).toList()));
+            ps.setArray(2, textArray(con, names.stream().map(AuthorName::lastName).toList()));
+            return ps;
+        }, (ResultSet rs) -> {
+            ids.put(new AuthorName(rs.getString("first_name"), rs.getString("last_name")), rs.getLong("id"));
+        });
+        return ids;
+    }
+
+    private static Array textArray(Connection con, List<String> values) throws SQLException {
+        return con.createArrayOf("text", values.toArray(String[]::new));
+    }
+}
@@ -1,24 +1,81 @@
 package com.library.catalog.repository;
 
 import com.library.catalog.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>,
+        JpaSpecificationExecutor<Book> {
+
+    /**
+     * The columns of a book listing, read by a constructor expression: no entity is
+     * instantiated, managed or snapshotted for dirty checking.
+     */
+    record BookRow(Long id, String title, String isbn, String description, Integer publishedYear,
+                   Instant createdAt, Instant updatedAt) {}
+
+    /** One author of a book, for {@link #findAuthorRows}. */
+    record BookAuthorRow(Long bookId, Long id, String firstName, String lastName) {}
+
+    /** Derived query with a DTO projection; sorts by {@code Book} properties like {@code findAll}. */
+    Page<BookRow> findAllBy(Pageable pageable);
+
+    /** As {@link #findAllBy}, without the count query: one extra row tells whether a next page exists. */
+    Slice<BookRow> findSliceBy(Pageable pageable);
+
+    /** The authors of the given books, all in one query, by author id. */
+    @Query("""
+        SELECT new com.library.catalog.repository.BookRepository$BookAuthorRow(b.id, a.id, a.firstName, a.lastName)
+        FROM Book b JOIN b.authors a
+        WHERE b.id IN :bookIds
+        ORDER BY a.id
+        """)
+    List<BookAuthorRow> findAuthorRows(@Param("bookIds") Collection<Long> bookIds);
 
     @Query("SELECT b FROM Book b LEFT JOIN FETCH b.authors WHERE b.id = :id")
     Optional<Book> findByIdWithAuthors(@Param("id") Long id);
 
+    /** The given books with their authors, in one query; missing ids are simply absent. */
+    @Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.authors WHERE b.id IN :ids")
+    List<Book> findAllByIdWithAuthors(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT b FROM Book b JOIN b.authors a WHERE a.id = :authorId")
     List<Book> findAllByAuthorId(@Param("authorId") Long authorId);
 
     @Query("SELECT COUNT(a) FROM Book b JOIN b.authors a WHERE b.id = :bookId")
     long countAuthorsByBookId(@Param("bookId") Long bookId);
 
+    /**
+     * Adds one reservation to the book's decayed popularity counter (V10), first decaying
+     * the stored value to now. Native because the popularity columns are not mapped.
+     *
+     * <p>Hibernate cannot tell what a native update touches, so by default it evicts every
+     * second-level cache region; it would empty the cache on each reservation. The query
+     * space names no mapped table, so no cached state is invalidated.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "book_popularity"))
+    @Query(value = """
+        UPDATE books
+        SET popularity_score = book_popularity(popularity_score, popularity_updated_at, now()) + 1,
+            popularity_updated_at = now()
+        WHERE id = :bookId
+        """, nativeQuery = true)
+    void incrementPopularity(@Param("bookId") Long bookId);
+
     boolean existsByIsbn(String isbn);
 
     boolean existsByIsbnAndIdNot(String isbn, Long id);
@@ -0,0 +1,81 @@
+package com.library.catalog.repository;
+
+import com.library.catalog.dto.response.ChangeResponse;
+import com.library.catalog.event.ChangeType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.stream.Stream;
+
+/**
+ * Reads the change positions and tombstones of V15 for {@code ChangeFeedService}.
+ *
+ * <p>Each table contributes an index range scan on {@code (change_xid, change_seq)}
+ * after the client's position; the branches are merged in position order and read
+ * through a server-side cursor, as in {@link ExportRepository}, so the stream must be
+ * consumed in a transaction and closed.
+ *
+ * <p>Only changes of transactions below the snapshot's xmin are returned: those have all
+ * finished, so nothing can later be committed before the last position returned.
+ */
+@Repository
+public class ChangeFeedRepository {
+
+    /** A change: which row, its position, and whether it was created, updated or deleted. */
+    public record ChangeRow(ChangeResponse.Entity entity, long id, long xid, long seq, ChangeType change) {}
+
+    static final int FETCH_SIZE = 1000;
+
+    private static final String CHANGES_QUERY = """
+        SELECT entity, id, change_xid::text AS xid, change_seq, change
+        FROM (
+            SELECT 'BOOK' AS entity, id, change_xid, change_seq,
+                   CASE WHEN (created_xid, created_seq) > (CAST(:xid AS xid8), :seq) THEN 'CREATED' ELSE 'UPDATED' END AS change
+            FROM books
+            WHERE (change_xid, change_seq) > (CAST(:xid AS xid8), :seq)
+            UNION ALL
+            SELECT 'AUTHOR', id, change_xid, change_seq,
+                   CASE WHEN (created_xid, created_seq) > (CAST(:xid AS xid8), :seq) THEN 'CREATED' ELSE 'UPDATED' END
+            FROM authors
+            WHERE (change_xid, change_seq) > (CAST(:xid AS xid8), :seq)
+            UNION ALL
+            SELECT 'RESERVATION', id, change_xid, change_seq,
+                   CASE WHEN (created_xid, created_seq) > (CAST(:xid AS xid8), :seq) THEN 'CREATED' ELSE 'UPDATED' END
+            FROM reservations
+            WHERE (change_xid, change_seq) > (CAST(:xid AS xid8), :seq)
+            UNION ALL
+            SELECT entity_type, entity_id, change_xid, change_seq, 'DELETED'
+            FROM catalog_tombstones
+            WHERE (change_xid, change_seq) > (CAST(:xid AS xid8), :seq)
+        ) changes
+        WHERE change_xid < pg_snapshot_xmin(pg_current_snapshot())
+        ORDER BY change_xid, change_seq
+        LIMIT :limit
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ChangeFeedRepository(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /** Up to {@code limit} changes after position {@code (xid, seq)}, in position order. */
+    public Stream<ChangeRow> streamChanges(long xid, long seq, int limit) {
+        // xid8 has no JDBC type: the id is bound as text and cast in the query
+        return jdbcTemplate.queryForStream(CHANGES_QUERY, new MapSqlParameterSource()
+                .addValue("xid", Long.toString(xid))
+                .addValue("seq", seq)
+                .addValue("limit", limit),
+            (rs, rowNum) -> new ChangeRow(
+                ChangeResponse.Entity.valueOf(rs.getString("entity")),
+                rs.getLong("id"),
+                Long.parseLong(rs.getString("xid")),
+                rs.getLong("change_seq"),
+                ChangeType.valueOf(rs.getString("change"))));
+    }
+}
@@ -0,0 +1,154 @@
+package com.library.catalog.repository;
+
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.ReservationResponse;
+import com.library.catalog.entity.ReservationStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Whole-table reads for {@code ExportService}, in primary key order.
+ *
+ * <p>The {@code stream*} methods read through a forward-only server-side cursor: with a
+ * fetch size set and autocommit off, the PostgreSQL driver fetches
+ * {@value #FETCH_SIZE} rows per round-trip instead of materializing the result, so
+ * memory stays constant however large the table. They must therefore be called in a
+ * transaction, and the returned stream must be closed. No Hibernate entity is involved.
+ *
+ * <p>Collections (a book's authors, an author's books) are not joined into the cursor;
+ * the caller fetches them for a window of rows at a time with the {@code find*By*Ids}
+ * methods, one query per window.
+ */
+@Repository
+public class ExportRepository {
+
+    static final int FETCH_SIZE = 1000;
+
+    private static final String BOOKS_QUERY = """
+        SELECT id, title, isbn, description, published_year, created_at, updated_at
+        FROM books
+        ORDER BY id
+        """;
+
+    private static final String AUTHORS_QUERY = """
+        SELECT id, first_name, last_name, bio, created_at, updated_at
+        FROM authors
+        ORDER BY id
+        """;
+
+    private static final String RESERVATIONS_QUERY = """
+        SELECT r.id, r.book_id, b.title, r.user_name, r.status, r.reserved_at, r.expires_at, r.cancelled_at
+        FROM reservations r
+        JOIN books b ON b.id = r.book_id
+        ORDER BY r.id
+        """;
+
+    private static final String AUTHORS_BY_BOOK_QUERY = """
+        SELECT ba.book_id, a.id, a.first_name, a.last_name
+        FROM book_authors ba
+        JOIN authors a ON a.id = ba.author_id
+        WHERE ba.book_id = ANY (?)
+        ORDER BY ba.book_id, a.id
+        """;
+
+    private static final String BOOKS_BY_AUTHOR_QUERY = """
+        SELECT ba.author_id, b.id, b.title
+        FROM book_authors ba
+        JOIN books b ON b.id = ba.book_id
+        WHERE ba.author_id = ANY (?)
+        ORDER BY ba.author_id, b.id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /** Books without their authors ({@code authors} is empty). */
+    public Stream<BookResponse> streamBooks() {
+        return jdbcTemplate.queryForStream(BOOKS_QUERY, (rs, rowNum) -> new BookResponse(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("isbn"),
+            rs.getString("description"),
+            rs.getObject("published_year", Integer.class),
+            List.of(),
+            instant(rs, "created_at"),
+            instant(rs, "updated_at")));
+    }
+
+    /** Authors without their books ({@code books} is empty). */
+    public Stream<AuthorResponse> streamAuthors() {
+        return jdbcTemplate.queryForStream(AUTHORS_QUERY, (rs, rowNum) -> new AuthorResponse(
+            rs.getLong("id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("bio"),
+            List.of(),
+            instant(rs, "created_at"),
+            instant(rs, "updated_at")));
+    }
+
+    public Stream<ReservationResponse> streamReservations() {
+        return jdbcTemplate.queryForStream(RESERVATIONS_QUERY, (rs, rowNum) -> new ReservationResponse(
+            rs.getLong("id"),
+            rs.getLong("book_id"),
+            rs.getString("title"),
+            rs.getString("user_name"),
+            ReservationStatus.valueOf(rs.getString("status")),
+            instant(rs, "reserved_at"),
+            instant(rs, "expires_at"),
+            instant(rs, "cancelled_at")));
+    }
+
+    /** Authors of each of the given books, by book id; books without authors are absent. */
+    public Map<Long, List<BookResponse.AuthorSummary>> findAuthorsByBookIds(List<Long> bookIds) {
+        Map<Long, List<BookResponse.AuthorSummary>> authors = new HashMap<>();
+        queryByIds(AUTHORS_BY_BOOK_QUERY, bookIds, rs -> authors
+            .computeIfAbsent(rs.getLong("book_id"), id -> new ArrayList<>())
+            .add(new BookResponse.AuthorSummary(rs.getLong("id"), rs.getString("first_name"),
+                rs.getString("last_name"))));
+        return authors;
+    }
+
+    /** Books of each of the given authors, by author id; authors without books are absent. */
+    public Map<Long, List<AuthorResponse.BookSummary>> findBooksByAuthorIds(List<Long> authorIds) {
+        Map<Long, List<AuthorResponse.BookSummary>> books = new HashMap<>();
+        queryByIds(BOOKS_BY_AUTHOR_QUERY, authorIds, rs -> books
+            .computeIfAbsent(rs.getLong("author_id"), id -> new ArrayList<>())
+            .add(new AuthorResponse.BookSummary(rs.getLong("id"), rs.getString("title"))));
+        return books;
+    }
+
+    private void queryByIds(String sql, List<Long> ids, RowCallbackHandler handler) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("bigint", ids.toArray(Long[]::new)));
+            return ps;
+        }, handler);
+    }
+
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
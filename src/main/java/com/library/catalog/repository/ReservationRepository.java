@@ -11,11 +11,17 @@ import org.springframework.data.repository.query.Param;
 
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long>,
         JpaSpecificationExecutor<Reservation> {
 
+    /** The active reservation of a book, for {@link #findActiveRows}. */
+    record ActiveReservationRow(Long bookId, Long id, String userName, Instant reservedAt, Instant expiresAt) {}
+
     boolean existsByBookIdAndStatus(Long bookId, ReservationStatus status);
 
     boolean existsByBookId(Long bookId);
@@ -30,6 +36,29 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>,
         @Param("status") ReservationStatus status
     );
 
+    /** The active reservations of the given books, all in one query (at most one per book). */
+    @Query("""
+        SELECT new com.library.catalog.repository.ReservationRepository$ActiveReservationRow(
+            r.book.id, r.id, r.userName, r.reservedAt, r.expiresAt)
+        FROM Reservation r
+        WHERE r.book.id IN :bookIds AND r.status = com.library.catalog.entity.ReservationStatus.ACTIVE
+        """)
+    List<ActiveReservationRow> findActiveRows(@Param("bookIds") Collection<Long> bookIds);
+
+    /** The versions a reservation response depends on: its own and its book's (title). */
+    record ReservationVersionRow(Integer version, Integer bookVersion) {}
+
+    @Query("""
+        SELECT new com.library.catalog.repository.ReservationRepository$ReservationVersionRow(r.version, b.version)
+        FROM Reservation r JOIN r.book b
+        WHERE r.id = :id
+        """)
+    Optional<ReservationVersionRow> findVersionRow(@Param("id") Long id);
+
     @Query("SELECT r FROM Reservation r LEFT JOIN FETCH r.book WHERE r.id = :id")
     Optional<Reservation> findByIdWithBook(@Param("id") Long id);
+
+    /** The given reservations with their books, in one query; missing ids are simply absent. */
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.book WHERE r.id IN :ids")
+    List<Reservation> findAllByIdWithBook(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,49 @@
+package com.library.catalog.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Row counts from PostgreSQL's planner statistics instead of {@code count(*)}: constant
+ * time whatever the table size, accurate to the last {@code ANALYZE} (autovacuum keeps
+ * them within a few percent on tables that change steadily).
+ */
+@Repository
+@RequiredArgsConstructor
+public class RowEstimateRepository {
+
+    /** -1 until the table is first analyzed (or vacuumed). */
+    private static final String TABLE_ESTIMATE_QUERY =
+        "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /** Estimated rows of a whole table, from {@code pg_class.reltuples}. */
+    public long estimateTable(String table) {
+        Long rows = jdbcTemplate.queryForObject(TABLE_ESTIMATE_QUERY, Long.class, table);
+        if (rows == null || rows < 0) {
+            // Never analyzed: the planner still estimates from the table's size on disk
+            return estimateQuery("SELECT 1 FROM " + table);
+        }
+        return rows;
+    }
+
+    /**
+     * Estimated rows returned by {@code sql}, the top-level "Plan Rows" of its
+     * {@code EXPLAIN}. The query is planned, not executed.
+     */
+    public long estimateQuery(String sql, Object... args) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+        try {
+            JsonNode root = objectMapper.readTree(plan);
+            return root.path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable EXPLAIN output", ex);
+        }
+    }
+}
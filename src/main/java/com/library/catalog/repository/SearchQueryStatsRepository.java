@@ -0,0 +1,54 @@
+package com.library.catalog.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Persistence for the heavy-hitter snapshot of {@code SearchQueryStats}
+ * ({@code search_query_stats}, V11). The table holds at most a few hundred rows and is
+ * always read and written as a whole.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchQueryStatsRepository {
+
+    private static final String FIND_ALL_QUERY = """
+        SELECT query, hits
+        FROM search_query_stats
+        ORDER BY hits DESC, query
+        """;
+
+    private static final String INSERT_QUERY =
+        "INSERT INTO search_query_stats (query, hits) VALUES (:query, :hits)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /** Snapshot counts keyed by query, most frequent first. */
+    @Transactional(readOnly = true)
+    public Map<String, Long> findAll() {
+        Map<String, Long> hits = new LinkedHashMap<>();
+        jdbcTemplate.query(FIND_ALL_QUERY, rs -> {
+            hits.put(rs.getString("query"), rs.getLong("hits"));
+        });
+        return hits;
+    }
+
+    /** Replaces the snapshot with the given counts in one transaction. */
+    @Transactional
+    public void replaceAll(Map<String, Long> hits) {
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM search_query_stats");
+        SqlParameterSource[] rows = hits.entrySet().stream()
+            .map(entry -> new MapSqlParameterSource()
+                .addValue("query", entry.getKey())
+                .addValue("hits", entry.getValue()))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_QUERY, rows);
+    }
+}
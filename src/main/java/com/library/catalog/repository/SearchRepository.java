@@ -0,0 +1,524 @@
+package com.library.catalog.repository;
+
+import com.library.catalog.dto.request.SearchFilter;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.SearchFacets;
+import com.library.catalog.dto.response.SearchResultResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Native full-text search queries against {@code books.search_vector}.
+ *
+ * <p>Like Spring Data's own repositories, every method is read-only transactional and
+ * joins a surrounding transaction when there is one. Keeping the SQL here lets
+ * {@code SearchService} stay non-transactional, so search paths that never reach
+ * PostgreSQL (e.g. the in-memory engine) do not check out a connection.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SearchRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Author names are part of {@code books.search_vector} (weight B, maintained by the
+     * V7 triggers), so both the filter and the rank touch only the GIN-indexed column.
+     * The rank is {@code book_search_rank} (V10): {@code ts_rank} boosted by the book's
+     * precomputed, decayed reservation popularity, read from the same row — no join to
+     * reservations. Pagination is applied to distinct books; authors are attached
+     * afterwards by {@link #AUTHORS_QUERY}.
+     *
+     * <p>Every query filtering on the full-text match has a {@code %s} slot for the
+     * optional {@link SearchFilter} predicates (see {@link #filterClause}), so filters
+     * narrow the candidate set inside PostgreSQL.
+     */
+    private static final String SEARCH_QUERY = """
+        SELECT b.id, b.title, b.isbn, b.published_year,
+               book_search_rank(b.search_vector, plainto_tsquery('english', :query),
+                                b.popularity_score, b.popularity_updated_at) AS relevance_score
+        FROM books b
+        WHERE b.search_vector @@ plainto_tsquery('english', :query)%s
+        ORDER BY relevance_score DESC, b.id ASC
+        """;
+
+    /**
+     * Keyset variant of {@link #SEARCH_QUERY}: seeks past the last {@code (score, id)} of
+     * the previous page instead of skipping an OFFSET. {@code book_search_rank} returns
+     * {@code real}, so the cursor score is compared as {@code real} to stay exact.
+     */
+    private static final String SEARCH_AFTER_QUERY = """
+        SELECT ranked.id, ranked.title, ranked.isbn, ranked.published_year, ranked.relevance_score
+        FROM (
+            SELECT b.id, b.title, b.isbn, b.published_year,
+                   book_search_rank(b.search_vector, plainto_tsquery('english', :query),
+                                b.popularity_score, b.popularity_updated_at) AS relevance_score
+            FROM books b
+            WHERE b.search_vector @@ plainto_tsquery('english', :query)%s
+        ) ranked
+        WHERE ranked.relevance_score < CAST(:afterScore AS real)
+           OR (ranked.relevance_score = CAST(:afterScore AS real) AND ranked.id > :afterId)
+        ORDER BY ranked.relevance_score DESC, ranked.id ASC
+        """;
+
+    private static final String COUNT_QUERY = """
+        SELECT COUNT(*)
+        FROM books b
+        WHERE b.search_vector @@ plainto_tsquery('english', :query)%s
+        """;
+
+    /** {@link #COUNT_QUERY} that stops scanning once {@code :limit} matches are found. */
+    private static final String CAPPED_COUNT_QUERY = """
+        SELECT COUNT(*)
+        FROM (
+            SELECT 1
+            FROM books b
+            WHERE b.search_vector @@ plainto_tsquery('english', :query)%s
+            LIMIT :limit
+        ) capped
+        """;
+
+    /**
+     * Total and facet counts in one statement. The {@code matches} CTE is referenced three
+     * times, so PostgreSQL materializes it: the GIN index is scanned once and every facet
+     * aggregates over the same candidate rows. Rows are tagged by {@code facet} and decoded
+     * in {@link #facets}.
+     */
+    private static final String FACETS_QUERY = """
+        WITH matches AS (
+            SELECT b.id, b.published_year
+            FROM books b
+            WHERE b.search_vector @@ plainto_tsquery('english', :query)%s
+        )
+        SELECT 'total' AS facet, CAST(NULL AS bigint) AS key,
+               CAST(NULL AS varchar) AS first_name, CAST(NULL AS varchar) AS last_name,
+               COUNT(*) AS cnt
+        FROM matches
+        UNION ALL
+        (SELECT 'author', a.id, a.first_name, a.last_name, COUNT(*)
+         FROM matches m
+         JOIN book_authors ba ON ba.book_id = m.id
+         JOIN authors a ON a.id = ba.author_id
+         GROUP BY a.id, a.first_name, a.last_name
+         ORDER BY COUNT(*) DESC, a.id
+         LIMIT :authorFacetLimit)
+        UNION ALL
+        (SELECT 'decade', CAST(m.published_year / 10 * 10 AS bigint), NULL, NULL, COUNT(*)
+         FROM matches m
+         WHERE m.published_year IS NOT NULL
+         GROUP BY 2
+         ORDER BY 2 DESC)
+        """;
+
+    /**
+     * Typo-tolerant fallback: books whose title, or one of whose authors' full name,
+     * contains an extent similar to the query ({@code <%} is pg_trgm word similarity,
+     * served by the V9 trigram indexes; written {@code <%%} because the template goes
+     * through {@link String#formatted}). A book's score is its best similarity. Queries
+     * made only of stop words match nothing, as in full-text search.
+     */
+    private static final String FUZZY_QUERY = """
+        WITH candidates AS (
+            SELECT b.id, word_similarity(:query, b.title) AS similarity
+            FROM books b
+            WHERE :query <%% b.title
+            UNION ALL
+            SELECT ba.book_id, word_similarity(:query, a.first_name || ' ' || a.last_name)
+            FROM authors a
+            JOIN book_authors ba ON ba.author_id = a.id
+            WHERE :query <%% (a.first_name || ' ' || a.last_name)
+        )
+        SELECT b.id, b.title, b.isbn, b.published_year, CAST(MAX(c.similarity) AS real) AS relevance_score
+        FROM candidates c
+        JOIN books b ON b.id = c.id
+        WHERE numnode(plainto_tsquery('english', :query)) > 0%s
+        GROUP BY b.id, b.title, b.isbn, b.published_year
+        ORDER BY relevance_score DESC, b.id ASC
+        """;
+
+    /**
+     * {@code ts_headline} re-parses the whole text, so it is run only over the ids of an
+     * already selected page, never inside the ranked scan. Matched words are wrapped in
+     * the control characters U+0002/U+0003 rather than HTML, so callers can escape the
+     * snippet first and then turn the markers into real markup.
+     */
+    private static final String HIGHLIGHT_QUERY = """
+        SELECT b.id,
+               ts_headline('english', b.title, plainto_tsquery('english', :query),
+                           'HighlightAll=true, StartSel=' || chr(2) || ', StopSel=' || chr(3)),
+               ts_headline('english', COALESCE(b.description, ''), plainto_tsquery('english', :query),
+                           :options || ', StartSel=' || chr(2) || ', StopSel=' || chr(3))
+        FROM books b
+        WHERE b.id IN (:bookIds)
+        """;
+
+    /**
+     * Top results for several queries in one statement. The queries arrive as a
+     * {@code VALUES} list (see {@link #findTopForEach}); for each, a LATERAL subquery does
+     * exactly what {@link #SEARCH_QUERY} does, and another counts its matches as
+     * {@link #CAPPED_COUNT_QUERY} does, stopping at {@code :countLimit}. A window count over
+     * the ranked rows would instead carry every match of every query through the sort.
+     */
+    private static final String BATCH_SEARCH_QUERY = """
+        SELECT q.ord, r.id, r.title, r.isbn, r.published_year, r.relevance_score, n.total
+        FROM (VALUES %s) AS q(ord, query)
+        CROSS JOIN LATERAL (
+            SELECT COUNT(*) AS total
+            FROM (
+                SELECT 1
+                FROM books b
+                WHERE b.search_vector @@ plainto_tsquery('english', q.query)
+                LIMIT :countLimit
+            ) capped
+        ) n
+        CROSS JOIN LATERAL (
+            SELECT b.id, b.title, b.isbn, b.published_year,
+                   book_search_rank(b.search_vector, plainto_tsquery('english', q.query),
+                                    b.popularity_score, b.popularity_updated_at) AS relevance_score
+            FROM books b
+            WHERE b.search_vector @@ plainto_tsquery('english', q.query)
+            ORDER BY relevance_score DESC, b.id ASC
+            LIMIT :limit
+        ) r
+        ORDER BY q.ord, r.relevance_score DESC, r.id ASC
+        """;
+
+    public static final char HIGHLIGHT_START = '\u0002';
+    public static final char HIGHLIGHT_STOP = '\u0003';
+
+    private static final String AUTHOR_FILTER =
+        " AND EXISTS (SELECT 1 FROM book_authors fa WHERE fa.book_id = b.id AND fa.author_id = :authorId)";
+    private static final String YEAR_FROM_FILTER = " AND b.published_year >= :yearFrom";
+    private static final String YEAR_TO_FILTER = " AND b.published_year <= :yearTo";
+    private static final String SHARD_FILTER = " AND b.id >= :shardFromId AND b.id < :shardToId";
+
+    private static final String ID_RANGE_QUERY = "SELECT min(id), max(id) FROM books";
+
+    private static final String STATEMENT_TIMEOUT_QUERY =
+        "SELECT set_config('statement_timeout', :timeoutMs, true)";
+
+    private static final String SIMILARITY_THRESHOLD_QUERY =
+        "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)";
+
+    private static final String AUTHORS_QUERY = """
+        SELECT ba.book_id, a.id, a.first_name, a.last_name
+        FROM book_authors ba
+        JOIN authors a ON a.id = ba.author_id
+        WHERE ba.book_id IN (:bookIds)
+        ORDER BY ba.book_id, a.id
+        """;
+
+    /** Top results of one query of a batch, plus its number of matches up to the count limit. */
+    public record QueryHits(List<SearchResultResponse> results, long total) {}
+
+    /** A contiguous range of the books table: {@code fromId <= id < toId}. */
+    public record Shard(long fromId, long toId) {}
+
+    /** Total plus facet counts in one statement: the result of {@link #facets}. */
+    public record FacetCounts(long total, SearchFacets facets) {}
+
+    public long count(String query, SearchFilter filter) {
+        Query countQ = createQuery(COUNT_QUERY, query, filter);
+        return ((Number) countQ.getSingleResult()).longValue();
+    }
+
+    /**
+     * Counts matches, but no more than {@code limit}, and lets PostgreSQL cancel the
+     * statement after {@code timeout}. The timeout is transaction-local, so it never
+     * leaks onto the pooled connection.
+     */
+    public long countUpTo(String query, SearchFilter filter, long limit, Duration timeout) {
+        entityManager.createNativeQuery(STATEMENT_TIMEOUT_QUERY)
+            .setParameter("timeoutMs", String.valueOf(Math.max(1, timeout.toMillis())))
+            .getSingleResult();
+
+        Query countQ = createQuery(CAPPED_COUNT_QUERY, query, filter);
+        countQ.setParameter("limit", limit);
+        return ((Number) countQ.getSingleResult()).longValue();
+    }
+
+    /** Counts all matches and aggregates the top {@code authorLimit} authors and all decades. */
+    @SuppressWarnings("unchecked")
+    public FacetCounts facets(String query, SearchFilter filter, int authorLimit) {
+        Query facetsQ = createQuery(FACETS_QUERY, query, filter);
+        facetsQ.setParameter("authorFacetLimit", authorLimit);
+
+        long total = 0;
+        List<SearchFacets.AuthorFacet> authors = new ArrayList<>();
+        List<SearchFacets.DecadeFacet> decades = new ArrayList<>();
+        for (Object[] row : (List<Object[]>) facetsQ.getResultList()) {
+            long count = ((Number) row[4]).longValue();
+            switch ((String) row[0]) {
+                case "total" -> total = count;
+                case "author" -> authors.add(new SearchFacets.AuthorFacet(
+                    ((Number) row[1]).longValue(), (String) row[2], (String) row[3], count));
+                case "decade" -> {
+                    int fromYear = ((Number) row[1]).intValue();
+                    decades.add(new SearchFacets.DecadeFacet(fromYear, fromYear + 9, count));
+                }
+                default -> throw new IllegalStateException("Unknown facet " + row[0]);
+            }
+        }
+        return new FacetCounts(total, new SearchFacets(authors, decades));
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<SearchResultResponse> findPage(String query, SearchFilter filter, long offset, int limit) {
+        Query searchQ = createQuery(SEARCH_QUERY, query, filter);
+        searchQ.setFirstResult((int) offset);
+        searchQ.setMaxResults(limit);
+        return toResults(searchQ.getResultList());
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<SearchResultResponse> findAfter(String query, SearchFilter filter,
+                                               float afterScore, long afterId, int limit) {
+        Query searchQ = createQuery(SEARCH_AFTER_QUERY, query, filter);
+        searchQ.setParameter("afterScore", afterScore);
+        searchQ.setParameter("afterId", afterId);
+        searchQ.setMaxResults(limit);
+        return toResults(searchQ.getResultList());
+    }
+
+    /**
+     * Splits the books table into {@code count} id ranges of equal width, covering every
+     * id including those inserted later. Each range is a btree condition on the primary
+     * key, so the planner can AND it with the GIN match and fetch and rank only that
+     * range's heap rows; a hash predicate like {@code id % n} could not be served by an
+     * index, leaving every partition to fetch all matches. Ids come from one sequence and
+     * are rarely deleted, so equal widths hold about equal numbers of books. The bounds
+     * are the two ends of the primary key index.
+     */
+    public List<Shard> shards(int count) {
+        Object[] range = (Object[]) entityManager.createNativeQuery(ID_RANGE_QUERY).getSingleResult();
+        long min = range[0] == null ? 0 : ((Number) range[0]).longValue();
+        long max = range[1] == null ? 0 : ((Number) range[1]).longValue();
+        long width = Math.max(1, (max - min + count) / count);
+        List<Shard> shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long from = i == 0 ? Long.MIN_VALUE : min + i * width;
+            long to = i == count - 1 ? Long.MAX_VALUE : min + (i + 1) * width;
+            shards.add(new Shard(from, to));
+        }
+        return shards;
+    }
+
+    /**
+     * The top {@code limit} matches within one id range of the books table, best
+     * first. Authors are not attached: callers merge several partitions and then call
+     * {@link #attachAuthors} once for the rows they keep.
+     */
+    @SuppressWarnings("unchecked")
+    public List<SearchResultResponse> findPageInShard(String query, SearchFilter filter, Shard shard, int limit) {
+        Query searchQ = createQuery(SEARCH_QUERY, query, filter, shard);
+        searchQ.setMaxResults(limit);
+        return toResultsWithoutAuthors(searchQ.getResultList());
+    }
+
+    /** Keyset variant of {@link #findPageInShard}; authors are not attached either. */
+    @SuppressWarnings("unchecked")
+    public List<SearchResultResponse> findAfterInShard(String query, SearchFilter filter, Shard shard,
+                                                       float afterScore, long afterId, int limit) {
+        Query searchQ = createQuery(SEARCH_AFTER_QUERY, query, filter, shard);
+        searchQ.setParameter("afterScore", afterScore);
+        searchQ.setParameter("afterId", afterId);
+        searchQ.setMaxResults(limit);
+        return toResultsWithoutAuthors(searchQ.getResultList());
+    }
+
+    /** Fills in the (empty) author lists of the given results with one batched query. */
+    public List<SearchResultResponse> attachAuthors(List<SearchResultResponse> results) {
+        Map<Long, List<BookResponse.AuthorSummary>> authors =
+            authorsByBook(results.stream().map(SearchResultResponse::id).toList());
+        for (SearchResultResponse result : results) {
+            result.authors().addAll(authors.getOrDefault(result.id(), List.of()));
+        }
+        return results;
+    }
+
+    /**
+     * Runs every query in a single statement and returns their top {@code limit} results,
+     * in the order of {@code queries}, each with its matches counted up to {@code countLimit}.
+     * Authors of all returned books are attached with one more query, so a batch costs two
+     * round-trips on one connection regardless of size.
+     */
+    @SuppressWarnings("unchecked")
+    public List<QueryHits> findTopForEach(List<String> queries, int limit, long countLimit) {
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < queries.size(); i++) {
+            values.add("(" + i + ", CAST(:q" + i + " AS text))");
+        }
+        Query batchQ = entityManager.createNativeQuery(BATCH_SEARCH_QUERY.formatted(values));
+        for (int i = 0; i < queries.size(); i++) {
+            batchQ.setParameter("q" + i, queries.get(i));
+        }
+        batchQ.setParameter("limit", limit);
+        batchQ.setParameter("countLimit", countLimit);
+
+        List<List<SearchResultResponse>> resultsByQuery = new ArrayList<>();
+        long[] totals = new long[queries.size()];
+        Set<Long> bookIds = new HashSet<>();
+        for (int i = 0; i < queries.size(); i++) {
+            resultsByQuery.add(new ArrayList<>());
+        }
+        for (Object[] row : (List<Object[]>) batchQ.getResultList()) {
+            int ord = ((Number) row[0]).intValue();
+            SearchResultResponse result = toResult(Arrays.copyOfRange(row, 1, 6));
+            resultsByQuery.get(ord).add(result);
+            totals[ord] = ((Number) row[6]).longValue();
+            bookIds.add(result.id());
+        }
+
+        Map<Long, List<BookResponse.AuthorSummary>> authors = authorsByBook(bookIds);
+        List<QueryHits> hits = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            for (SearchResultResponse result : resultsByQuery.get(i)) {
+                result.authors().addAll(authors.getOrDefault(result.id(), List.of()));
+            }
+            hits.add(new QueryHits(resultsByQuery.get(i), totals[i]));
+        }
+        return hits;
+    }
+
+    /**
+     * Title and description headlines for the given books, keyed by book id. Description
+     * snippets are limited to {@code maxFragments} fragments of at most {@code maxWords}
+     * words each. Markers are {@link #HIGHLIGHT_START} and {@link #HIGHLIGHT_STOP}.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Long, SearchResultResponse.Highlight> highlight(String query, Collection<Long> bookIds,
+                                                               int maxWords, int maxFragments) {
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        Query highlightQ = entityManager.createNativeQuery(HIGHLIGHT_QUERY);
+        highlightQ.setParameter("query", query);
+        highlightQ.setParameter("bookIds", bookIds);
+        highlightQ.setParameter("options", "MaxWords=%d, MinWords=%d, MaxFragments=%d"
+            .formatted(maxWords, Math.max(1, maxWords / 2), maxFragments));
+
+        Map<Long, SearchResultResponse.Highlight> highlights = new HashMap<>();
+        for (Object[] row : (List<Object[]>) highlightQ.getResultList()) {
+            highlights.put(((Number) row[0]).longValue(),
+                new SearchResultResponse.Highlight((String) row[1], (String) row[2]));
+        }
+        return highlights;
+    }
+
+    /**
+     * Returns up to {@code limit} books fuzzily matching the query, best first. The
+     * similarity threshold is set transaction-locally so the operator, and with it the
+     * trigram index, applies it directly.
+     */
+    @SuppressWarnings("unchecked")
+    public List<SearchResultResponse> findFuzzy(String query, SearchFilter filter, double threshold, int limit) {
+        entityManager.createNativeQuery(SIMILARITY_THRESHOLD_QUERY)
+            .setParameter("threshold", String.valueOf(threshold))
+            .getSingleResult();
+
+        Query fuzzyQ = createQuery(FUZZY_QUERY, query, filter);
+        fuzzyQ.setMaxResults(limit);
+        return toResults(fuzzyQ.getResultList());
+    }
+
+    /**
+     * Fills the template's filter slot with a predicate per present filter field and binds
+     * the query text and filter values. Predicates are constants; values are always bound.
+     */
+    private Query createQuery(String template, String query, SearchFilter filter) {
+        return createQuery(template, query, filter, null);
+    }
+
+    /** As above, additionally restricted to one id range when {@code shard} is given. */
+    private Query createQuery(String template, String query, SearchFilter filter, Shard shard) {
+        String clause = shard == null ? filterClause(filter) : filterClause(filter) + SHARD_FILTER;
+        Query q = entityManager.createNativeQuery(template.formatted(clause));
+        q.setParameter("query", query);
+        if (shard != null) {
+            q.setParameter("shardFromId", shard.fromId());
+            q.setParameter("shardToId", shard.toId());
+        }
+        if (filter.authorId() != null) {
+            q.setParameter("authorId", filter.authorId());
+        }
+        if (filter.yearFrom() != null) {
+            q.setParameter("yearFrom", filter.yearFrom());
+        }
+        if (filter.yearTo() != null) {
+            q.setParameter("yearTo", filter.yearTo());
+        }
+        return q;
+    }
+
+    private static String filterClause(SearchFilter filter) {
+        StringBuilder clause = new StringBuilder();
+        if (filter.authorId() != null) {
+            clause.append(AUTHOR_FILTER);
+        }
+        if (filter.yearFrom() != null) {
+            clause.append(YEAR_FROM_FILTER);
+        }
+        if (filter.yearTo() != null) {
+            clause.append(YEAR_TO_FILTER);
+        }
+        return clause.toString();
+    }
+
+    /**
+     * Maps ranked book rows to responses and attaches their authors with a single
+     * batched query over the page's book ids.
+     */
+    private List<SearchResultResponse> toResults(List<Object[]> rows) {
+        return attachAuthors(toResultsWithoutAuthors(rows));
+    }
+
+    private static List<SearchResultResponse> toResultsWithoutAuthors(List<Object[]> rows) {
+        Map<Long, SearchResultResponse> resultMap = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            SearchResultResponse result = toResult(row);
+            resultMap.put(result.id(), result);
+        }
+        return new ArrayList<>(resultMap.values());
+    }
+
+    /** Maps {@code id, title, isbn, published_year, relevance_score}; authors start empty. */
+    private static SearchResultResponse toResult(Object[] row) {
+        Long bookId = ((Number) row[0]).longValue();
+        String title = (String) row[1];
+        String isbn = (String) row[2];
+        Integer publishedYear = row[3] != null ? ((Number) row[3]).intValue() : null;
+        double relevanceScore = ((Number) row[4]).doubleValue();
+        return new SearchResultResponse(bookId, title, isbn, publishedYear, new ArrayList<>(), relevanceScore);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, List<BookResponse.AuthorSummary>> authorsByBook(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        Query authorsQ = entityManager.createNativeQuery(AUTHORS_QUERY);
+        authorsQ.setParameter("bookIds", bookIds);
+        Map<Long, List<BookResponse.AuthorSummary>> authors = new HashMap<>();
+        for (Object[] row : (List<Object[]>) authorsQ.getResultList()) {
+            authors.computeIfAbsent(((Number) row[0]).longValue(), id -> new ArrayList<>())
+                .add(new BookResponse.AuthorSummary(((Number) row[1]).longValue(), (String) row[2], (String) row[3]));
+        }
+        return authors;
+    }
+}
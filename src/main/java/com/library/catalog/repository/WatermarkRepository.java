@@ -0,0 +1,70 @@
+package com.library.catalog.repository;
+
+import com.library.catalog.dto.response.ChangeResponse.Entity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Watermarks of whole tables, from the V15 change positions; list endpoints derive their
+ * weak ETags from them. Every insert, update and delete (through its tombstone) gives a
+ * row a new position, so a watermark changes whenever the rows do.
+ *
+ * <p>The latest visible position alone is not enough: a transaction that commits late
+ * can have an older position than one already visible. A watermark is therefore the
+ * latest position of the transactions below the snapshot's xmin, which are all
+ * finished, plus the sum of the sequence values of the visible positions above it. A
+ * late commit either moves xmin past itself, advancing the first part, or adds its
+ * positions to the second; an update replaces a position by a larger one. Both parts
+ * are index range scans on {@code (change_xid, change_seq)}: the first reads one entry,
+ * the second only the changes of transactions still recent enough to be above xmin.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WatermarkRepository {
+
+    private static final Map<Entity, String> TABLES =
+        Map.of(Entity.BOOK, "books", Entity.AUTHOR, "authors", Entity.RESERVATION, "reservations");
+
+    private static final String XMIN = "pg_snapshot_xmin(pg_current_snapshot())";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** The watermark of each entity's table, in one query. */
+    public String ofTables(Entity... entities) {
+        StringJoiner select = new StringJoiner(", ", "SELECT ", "");
+        List<Object> args = new ArrayList<>();
+        for (Entity entity : entities) {
+            String table = TABLES.get(entity);
+            select.add("(SELECT change_seq FROM " + table + " WHERE change_xid < " + XMIN
+                + " ORDER BY change_xid DESC, change_seq DESC LIMIT 1)");
+            select.add("(SELECT sum(change_seq) FROM " + table + " WHERE change_xid >= " + XMIN + ")");
+            select.add("(SELECT change_seq FROM catalog_tombstones WHERE entity_type = ? AND change_xid < " + XMIN
+                + " ORDER BY change_xid DESC, change_seq DESC LIMIT 1)");
+            select.add("(SELECT sum(change_seq) FROM catalog_tombstones WHERE entity_type = ? AND change_xid >= "
+                + XMIN + ")");
+            args.add(entity.name());
+            args.add(entity.name());
+        }
+        return query(select.toString(), args.toArray());
+    }
+
+    /** The columns of the single row {@code sql} returns, joined. */
+    private String query(String sql, Object... args) {
+        return jdbcTemplate.query(sql, rs -> {
+            rs.next();
+            ResultSetMetaData columns = rs.getMetaData();
+            StringJoiner watermark = new StringJoiner("|");
+            for (int i = 1; i <= columns.getColumnCount(); i++) {
+                watermark.add(String.valueOf(rs.getObject(i)));
+            }
+            return watermark.toString();
+        }, args);
+    }
+}
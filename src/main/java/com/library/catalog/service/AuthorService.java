@@ -1,56 +1,144 @@
 package com.library.catalog.service;
 
+import com.library.catalog.dto.request.CountMode;
 import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.IdList;
 import com.library.catalog.dto.request.UpdateAuthorRequest;
 import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.ChangeResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
+import com.library.catalog.dto.response.MultiGetResponse;
 import com.library.catalog.entity.Author;
 import com.library.catalog.entity.Book;
+import com.library.catalog.event.AuthorChangedEvent;
+import com.library.catalog.event.ChangeType;
 import com.library.catalog.exception.ActiveReservationExistsException;
+import com.library.catalog.exception.PreconditionFailedException;
 import com.library.catalog.exception.ResourceNotFoundException;
 import com.library.catalog.mapper.AuthorMapper;
 import com.library.catalog.repository.AuthorRepository;
+import com.library.catalog.repository.AuthorRepository.AuthorBookRow;
+import com.library.catalog.repository.AuthorRepository.AuthorRow;
 import com.library.catalog.repository.BookRepository;
+import com.library.catalog.repository.RowEstimateRepository;
+import com.library.catalog.repository.WatermarkRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AuthorService {
 
+    private static final KeysetPager<Author> PAGER = new KeysetPager<>(Author::getId,
+        new KeysetPager.SortKey<>("lastName", Author::getLastName, lastName -> lastName),
+        new KeysetPager.SortKey<>("createdAt", Author::getCreatedAt, Instant::parse));
+
     private final AuthorRepository authorRepository;
     private final BookRepository bookRepository;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final WatermarkRepository watermarkRepository;
+    private final SecondLevelCache secondLevelCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<AuthorResponse> findAll(Pageable pageable) {
-        return authorRepository.findAll(pageable)
-            .map(AuthorMapper::toResponse);
+        return findAll(pageable, CountMode.EXACT);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<AuthorResponse> findAll(Pageable pageable, CountMode count) {
+        if (count == CountMode.EXACT) {
+            Page<AuthorRow> rows = authorRepository.findAllBy(pageable);
+            return rows.map(withBooks(rows.getContent()));
+        }
+        Slice<AuthorRow> rows = authorRepository.findSliceBy(pageable);
+        return SlicePager.page(rows.map(withBooks(rows.getContent())), count,
+            () -> rowEstimateRepository.estimateTable("authors"));
+    }
+
+    /** As {@code BookService}'s listing: rows plus one query for the books of the whole page. */
+    private Function<AuthorRow, AuthorResponse> withBooks(List<AuthorRow> rows) {
+        Map<Long, List<AuthorResponse.BookSummary>> books = rows.isEmpty() ? Map.of()
+            : authorRepository.findBookRows(rows.stream().map(AuthorRow::id).toList()).stream()
+                .collect(Collectors.groupingBy(AuthorBookRow::authorId, Collectors.mapping(
+                    book -> new AuthorResponse.BookSummary(book.id(), book.title()), Collectors.toList())));
+        return row -> AuthorMapper.toResponse(row, books.getOrDefault(row.id(), List.of()));
+    }
+
+    /** Keyset-paginated listing; see {@link KeysetPager} for {@code sort} and {@code after}. */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<AuthorResponse> findAfter(String sort, String after, int size) {
+        return PAGER.page(authorRepository, Specification.where(null), sort, after, size, AuthorMapper::toResponse);
+    }
+
+    /** Watermark of the author listing: the authors and the books (titles) it shows. */
+    @Transactional(readOnly = true)
+    public String watermark() {
+        return watermarkRepository.ofTables(ChangeResponse.Entity.AUTHOR, ChangeResponse.Entity.BOOK);
     }
 
+    /** The versions {@link #findById}'s response depends on: the author's and its books' (see {@code BookService}). */
+    @Transactional(readOnly = true)
+    public EntityVersion version(Long id) {
+        Author author = authorRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Author", id));
+        return new EntityVersion(author.getVersion(), author.getBooks().stream()
+            .sorted(Comparator.comparing(Book::getId))
+            .map(book -> book.getId() + "." + book.getVersion())
+            .collect(Collectors.joining(",")));
+    }
+
+    /** Served from the second-level cache (author, book ids, books) once warm. */
     @Transactional(readOnly = true)
     public AuthorResponse findById(Long id) {
-        Author author = authorRepository.findByIdWithBooks(id)
+        Author author = authorRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Author", id));
         return AuthorMapper.toResponse(author);
     }
 
+    /** The authors with these ids, with their books, in one query (see {@link MultiGet}). */
+    @Transactional(readOnly = true)
+    public MultiGetResponse<AuthorResponse> findAllById(IdList ids) {
+        return MultiGet.load(ids, authorRepository::findAllByIdWithBooks, Author::getId, AuthorMapper::toResponse);
+    }
+
     @Transactional
     public AuthorResponse create(CreateAuthorRequest request) {
         Author author = AuthorMapper.toEntity(request);
         Author saved = authorRepository.save(author);
+        eventPublisher.publishEvent(new AuthorChangedEvent(saved.getId(), ChangeType.CREATED));
         return AuthorMapper.toResponse(saved);
     }
 
     @Transactional
     public AuthorResponse update(Long id, UpdateAuthorRequest request) {
+        return update(id, request, null);
+    }
+
+    /** As {@code BookService.update}: only if the version is still {@code expectedVersion}, when given. */
+    @Transactional
+    public AuthorResponse update(Long id, UpdateAuthorRequest request, Integer expectedVersion) {
         Author author = authorRepository.findByIdWithBooks(id)
             .orElseThrow(() -> new ResourceNotFoundException("Author", id));
+        if (expectedVersion != null && !expectedVersion.equals(author.getVersion())) {
+            throw new PreconditionFailedException("Author", id);
+        }
         AuthorMapper.updateEntity(author, request);
         Author saved = authorRepository.save(author);
+        eventPublisher.publishEvent(new AuthorChangedEvent(saved.getId(), ChangeType.UPDATED));
         return AuthorMapper.toResponse(saved);
     }
 
@@ -69,5 +157,8 @@ public class AuthorService {
         }
 
         authorRepository.delete(author);
+        // book_authors rows go by ON DELETE CASCADE, which Hibernate does not see
+        secondLevelCache.evictBookAuthors(authorBooks.stream().map(Book::getId).toList());
+        eventPublisher.publishEvent(new AuthorChangedEvent(id, ChangeType.DELETED));
     }
 }
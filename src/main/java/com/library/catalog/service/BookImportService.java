@@ -0,0 +1,327 @@
+package com.library.catalog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.catalog.dto.request.BookImportRow;
+import com.library.catalog.dto.response.BookImportResponse;
+import com.library.catalog.event.BooksImportedEvent;
+import com.library.catalog.repository.BookImportRepository;
+import com.library.catalog.repository.BookImportRepository.AuthorName;
+import com.library.catalog.repository.BookImportRepository.NewBook;
+import com.library.catalog.service.importing.CsvReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk book import from a stream of CSV records or NDJSON lines.
+ *
+ * <p><strong>Streaming</strong>: the input is parsed row by row and written in chunks of
+ * {@value #CHUNK_SIZE}; at most one chunk is held in memory, whatever the input size.
+ *
+ * <p><strong>Per-chunk writes</strong>: each chunk is one transaction of a few set-based
+ * statements (see {@link BookImportRepository}): ISBNs are checked against
+ * {@code idx_books_isbn} in one query, all author names are resolved in one query, the
+ * missing authors are created in one insert, then books and their author links in one
+ * insert each. Events are published per chunk as a {@link BooksImportedEvent}.
+ *
+ * <p><strong>Errors</strong>: a row that is malformed, fails validation or duplicates an
+ * ISBN (of the catalog or earlier in the input) is reported and skipped; the rest of the
+ * input is still imported. Committed chunks stay committed if a later chunk fails.
+ */
+@Service
+public class BookImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookImportService.class);
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final Set<String> REQUIRED_CSV_COLUMNS = Set.of("title", "isbn", "authors");
+
+    private final BookImportRepository bookImportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BookImportService(BookImportRepository bookImportRepository,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             ApplicationEventPublisher eventPublisher) {
+        this.bookImportRepository = bookImportRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Imports CSV with a header record. Columns are matched by name, case-insensitively:
+     * {@code title}, {@code isbn} and {@code authors} are required, {@code description}
+     * and {@code published_year} optional, others ignored. {@code authors} holds
+     * "First Last" names separated by {@code ;}.
+     */
+    public BookImportResponse importCsv(InputStream input) {
+        CsvReader csv = new CsvReader(reader(input));
+        CsvReader.Record header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.fields().size(); i++) {
+            columns.putIfAbsent(normalizeColumn(header.fields().get(i)), i);
+        }
+        Set<String> missing = new LinkedHashSet<>(REQUIRED_CSV_COLUMNS);
+        missing.removeAll(columns.keySet());
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing column(s): " + String.join(", ", missing));
+        }
+
+        Import run = new Import();
+        while (true) {
+            CsvReader.Record record;
+            try {
+                record = csv.next();
+            } catch (IllegalArgumentException ex) {
+                run.received++;
+                run.reject(csv.line(), null, ex.getMessage());
+                break; // an unterminated quote swallows the rest of the input
+            }
+            if (record == null) {
+                break;
+            }
+            run.received++;
+            String isbn = field(record, columns, "isbn");
+            String year = field(record, columns, "publishedyear");
+            Integer publishedYear = null;
+            if (year != null) {
+                try {
+                    publishedYear = Integer.valueOf(year);
+                } catch (NumberFormatException ex) {
+                    run.reject(record.line(), isbn, "Published year must be a number");
+                    continue;
+                }
+            }
+            String authors = field(record, columns, "authors");
+            run.accept(record.line(), new BookImportRow(
+                field(record, columns, "title"),
+                isbn,
+                field(record, columns, "description"),
+                publishedYear,
+                authors == null ? List.of() : Arrays.stream(authors.split(";")).map(String::trim).toList()));
+        }
+        return run.finish();
+    }
+
+    /**
+     * Imports newline-delimited JSON, one {@link BookImportRow} object per line. Blank
+     * lines are skipped.
+     */
+    public BookImportResponse importNdjson(InputStream input) {
+        Import run = new Import();
+        try (BufferedReader lines = reader(input)) {
+            long lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.received++;
+                BookImportRow row;
+                try {
+                    row = objectMapper.readValue(line, BookImportRow.class);
+                } catch (JsonProcessingException ex) {
+                    row = null;
+                }
+                if (row == null) {
+                    run.reject(lineNumber, null, "Malformed JSON");
+                    continue;
+                }
+                run.accept(lineNumber, row);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return run.finish();
+    }
+
+    /** Counters and the current chunk of one import. */
+    private final class Import {
+
+        private record PendingRow(long line, BookImportRow row, List<AuthorName> authors) {}
+
+        private record ChunkResult(List<BookImportResponse.RowError> errors, int imported, int authorsCreated) {}
+
+        private final List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<BookImportResponse.RowError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+        private long authorsCreated;
+
+        void accept(long line, BookImportRow row) {
+            Set<ConstraintViolation<BookImportRow>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                reject(line, row.isbn(), violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .distinct()
+                    .collect(Collectors.joining("; ")));
+                return;
+            }
+            List<AuthorName> authors = new ArrayList<>();
+            for (String name : new LinkedHashSet<>(row.authors())) {
+                AuthorName parsed = parseName(name);
+                if (parsed.firstName().length() > MAX_NAME_LENGTH || parsed.lastName().length() > MAX_NAME_LENGTH) {
+                    reject(line, row.isbn(), "Author first and last name must not exceed 100 characters each");
+                    return;
+                }
+                if (!authors.contains(parsed)) {
+                    authors.add(parsed);
+                }
+            }
+            chunk.add(new PendingRow(line, row, authors));
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long line, String isbn, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportResponse.RowError(line, isbn, message));
+            }
+        }
+
+        BookImportResponse finish() {
+            flush();
+            errors.sort(Comparator.comparingLong(BookImportResponse.RowError::line));
+            return new BookImportResponse(received, imported, failed, authorsCreated, List.copyOf(errors));
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<PendingRow> rows = List.copyOf(chunk);
+            chunk.clear();
+            ChunkResult result;
+            try {
+                result = transactionTemplate.execute(status -> write(rows));
+            } catch (DataAccessException ex) {
+                log.error("Import chunk of {} rows starting on line {} failed", rows.size(), rows.get(0).line(), ex);
+                for (PendingRow row : rows) {
+                    reject(row.line(), row.row().isbn(), "Could not be written; the chunk containing it was rolled back");
+                }
+                return;
+            }
+            result.errors().forEach(error -> reject(error.line(), error.isbn(), error.message()));
+            imported += result.imported();
+            authorsCreated += result.authorsCreated();
+        }
+
+        /** Writes one chunk inside its transaction; the counters are only updated once it committed. */
+        private ChunkResult write(List<PendingRow> rows) {
+            List<BookImportResponse.RowError> rowErrors = new ArrayList<>();
+            Map<String, PendingRow> byIsbn = new LinkedHashMap<>();
+            for (PendingRow row : rows) {
+                PendingRow first = byIsbn.putIfAbsent(row.row().isbn(), row);
+                if (first != null) {
+                    rowErrors.add(new BookImportResponse.RowError(row.line(), row.row().isbn(),
+                        "Duplicate ISBN in import (first on line " + first.line() + ")"));
+                }
+            }
+            for (String isbn : bookImportRepository.findExistingIsbns(List.copyOf(byIsbn.keySet()))) {
+                PendingRow row = byIsbn.remove(isbn);
+                rowErrors.add(new BookImportResponse.RowError(row.line(), isbn, "ISBN already exists"));
+            }
+
+            Set<AuthorName> names = new HashSet<>();
+            byIsbn.values().forEach(row -> names.addAll(row.authors()));
+            Map<AuthorName, Long> authorIds = new HashMap<>(bookImportRepository.findAuthors(names));
+            names.removeAll(authorIds.keySet());
+            Map<AuthorName, Long> created = bookImportRepository.insertAuthors(names);
+            authorIds.putAll(created);
+
+            Map<String, Long> bookIds = bookImportRepository.insertBooks(byIsbn.values().stream()
+                .map(row -> new NewBook(row.row().title(), row.row().isbn(),
+                    row.row().description(), row.row().publishedYear()))
+                .toList());
+
+            List<Long> linkBookIds = new ArrayList<>();
+            List<Long> linkAuthorIds = new ArrayList<>();
+            for (PendingRow row : byIsbn.values()) {
+                Long bookId = bookIds.get(row.row().isbn());
+                if (bookId == null) {
+                    // Inserted concurrently since findExistingIsbns; skipped by ON CONFLICT
+                    rowErrors.add(new BookImportResponse.RowError(row.line(), row.row().isbn(), "ISBN already exists"));
+                    continue;
+                }
+                for (AuthorName author : row.authors()) {
+                    linkBookIds.add(bookId);
+                    linkAuthorIds.add(authorIds.get(author));
+                }
+            }
+            bookImportRepository.insertBookAuthors(linkBookIds, linkAuthorIds);
+
+            eventPublisher.publishEvent(new BooksImportedEvent(
+                bookIds.values().stream().sorted().toList(),
+                created.values().stream().sorted().toList()));
+
+            return new ChunkResult(rowErrors, bookIds.size(), created.size());
+        }
+    }
+
+    /** "First Middle Last" becomes first name "First Middle", last name "Last". */
+    private static AuthorName parseName(String name) {
+        String normalized = name.trim().replaceAll("\\s+", " ");
+        int split = normalized.lastIndexOf(' ');
+        return new AuthorName(normalized.substring(0, split), normalized.substring(split + 1));
+    }
+
+    private static String field(CsvReader.Record record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.fields().size()) {
+            return null;
+        }
+        String value = record.fields().get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String normalizeColumn(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replace("_", "");
+    }
+
+    private static BufferedReader reader(InputStream input) {
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+}
@@ -1,47 +1,214 @@
 package com.library.catalog.service;
 
+import com.library.catalog.dto.request.BookFieldSet;
+import com.library.catalog.dto.request.CountMode;
 import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.request.IdList;
 import com.library.catalog.dto.request.UpdateBookRequest;
 import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.ChangeResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
+import com.library.catalog.dto.response.MultiGetResponse;
 import com.library.catalog.entity.Author;
 import com.library.catalog.entity.Book;
+import com.library.catalog.event.BookChangedEvent;
+import com.library.catalog.event.ChangeType;
 import com.library.catalog.exception.ActiveReservationExistsException;
 import com.library.catalog.exception.DuplicateIsbnException;
+import com.library.catalog.exception.PreconditionFailedException;
 import com.library.catalog.exception.ResourceNotFoundException;
 import com.library.catalog.mapper.BookMapper;
 import com.library.catalog.repository.AuthorRepository;
+import com.library.catalog.repository.BookFieldsRepository;
 import com.library.catalog.repository.BookRepository;
+import com.library.catalog.repository.BookRepository.BookAuthorRow;
+import com.library.catalog.repository.BookRepository.BookRow;
 import com.library.catalog.repository.ReservationRepository;
+import com.library.catalog.repository.ReservationRepository.ActiveReservationRow;
+import com.library.catalog.repository.RowEstimateRepository;
+import com.library.catalog.repository.WatermarkRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookService {
 
+    private static final KeysetPager<Book> PAGER = new KeysetPager<>(Book::getId,
+        new KeysetPager.SortKey<>("title", Book::getTitle, title -> title),
+        new KeysetPager.SortKey<>("createdAt", Book::getCreatedAt, Instant::parse));
+
     private final BookRepository bookRepository;
+    private final BookFieldsRepository bookFieldsRepository;
     private final AuthorRepository authorRepository;
     private final ReservationRepository reservationRepository;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final WatermarkRepository watermarkRepository;
+    private final SecondLevelCache secondLevelCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<BookResponse> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable)
-            .map(BookMapper::toResponse);
+        return findAll(pageable, CountMode.EXACT);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BookResponse> findAll(Pageable pageable, CountMode count) {
+        if (count == CountMode.EXACT) {
+            Page<BookRow> rows = bookRepository.findAllBy(pageable);
+            return rows.map(withAuthors(rows.getContent()));
+        }
+        Slice<BookRow> rows = bookRepository.findSliceBy(pageable);
+        return SlicePager.page(rows.map(withAuthors(rows.getContent())), count,
+            () -> rowEstimateRepository.estimateTable("books"));
+    }
+
+    /**
+     * Maps listing rows to responses with the authors of all of them loaded in one more
+     * query, so a page costs two flat queries (plus the count) and no managed entity.
+     */
+    private Function<BookRow, BookResponse> withAuthors(List<BookRow> rows) {
+        Map<Long, List<BookResponse.AuthorSummary>> authors = authorsByBook(rows.stream().map(BookRow::id).toList());
+        return row -> BookMapper.toResponse(row, authors.getOrDefault(row.id(), List.of()));
+    }
+
+    /**
+     * The listing reduced to the requested {@link BookFieldSet}: only the selected columns
+     * are queried, and each included relation is resolved for the whole page with one
+     * {@code IN (...)} query, then attached to every row (an empty list or null when a
+     * book has none). Rows are maps so that unselected fields are absent from the JSON.
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAll(Pageable pageable, CountMode count, BookFieldSet fieldSet) {
+        checkFieldsPage(pageable);
+        List<Map<String, Object>> rows =
+            bookFieldsRepository.findPage(fieldSet.fields(), pageable, pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
+
+        String id = BookFieldSet.Field.ID.property();
+        List<Long> bookIds = rows.stream().map(row -> (Long) row.get(id)).toList();
+        for (BookFieldSet.Include include : fieldSet.includes()) {
+            Map<Long, ?> related = switch (include) {
+                case AUTHORS -> authorsByBook(bookIds);
+                case ACTIVE_RESERVATION -> activeReservationByBook(bookIds);
+            };
+            Object none = include == BookFieldSet.Include.AUTHORS ? List.of() : null;
+            for (Map<String, Object> row : rows) {
+                Object bookId = row.get(id);
+                row.put(include.property(), related.containsKey(bookId) ? related.get(bookId) : none);
+            }
+        }
+
+        if (count == CountMode.EXACT) {
+            return PageableExecutionUtils.getPage(rows, pageable, bookRepository::count);
+        }
+        return SlicePager.page(new SliceImpl<>(rows, pageable, hasNext), count,
+            () -> rowEstimateRepository.estimateTable("books"));
+    }
+
+    /** Rejects sorts without an index behind them, and offsets the query cannot express. */
+    private static void checkFieldsPage(Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (BookFieldsRepository.SORTABLE.stream()
+                    .noneMatch(field -> field.property().equals(order.getProperty()))) {
+                throw new IllegalArgumentException("Unsupported sort '" + order.getProperty()
+                    + "': only id, title and createdAt");
+            }
+        }
+        if (pageable.getOffset() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Page too deep: offset must not exceed " + Integer.MAX_VALUE);
+        }
+    }
+
+    /** The authors of the given books, by book id, in one query. */
+    private Map<Long, List<BookResponse.AuthorSummary>> authorsByBook(List<Long> bookIds) {
+        return bookIds.isEmpty() ? Map.of()
+            : bookRepository.findAuthorRows(bookIds).stream()
+                .collect(Collectors.groupingBy(BookAuthorRow::bookId, Collectors.mapping(
+                    author -> new BookResponse.AuthorSummary(author.id(), author.firstName(), author.lastName()),
+                    Collectors.toList())));
+    }
+
+    /** The active reservation of each of the given books that has one, in one query. */
+    private Map<Long, BookResponse.ReservationSummary> activeReservationByBook(List<Long> bookIds) {
+        return bookIds.isEmpty() ? Map.of()
+            : reservationRepository.findActiveRows(bookIds).stream()
+                .collect(Collectors.toMap(ActiveReservationRow::bookId, reservation -> new BookResponse.ReservationSummary(
+                    reservation.id(), reservation.userName(), reservation.reservedAt(), reservation.expiresAt())));
     }
 
+    /** Keyset-paginated listing; see {@link KeysetPager} for {@code sort} and {@code after}. */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<BookResponse> findAfter(String sort, String after, int size) {
+        return PAGER.page(bookRepository, Specification.where(null), sort, after, size, BookMapper::toResponse);
+    }
+
+    /**
+     * Watermark of everything a listing with the given includes shows: the books, plus the
+     * authors or reservations when included. Independent of page, size and sort.
+     */
+    @Transactional(readOnly = true)
+    public String watermark(Set<BookFieldSet.Include> includes) {
+        List<ChangeResponse.Entity> tables = new ArrayList<>(List.of(ChangeResponse.Entity.BOOK));
+        if (includes.contains(BookFieldSet.Include.AUTHORS)) {
+            tables.add(ChangeResponse.Entity.AUTHOR);
+        }
+        if (includes.contains(BookFieldSet.Include.ACTIVE_RESERVATION)) {
+            tables.add(ChangeResponse.Entity.RESERVATION);
+        }
+        return watermarkRepository.ofTables(tables.toArray(ChangeResponse.Entity[]::new));
+    }
+
+    /**
+     * The versions {@link #findById}'s response depends on: the book's and its authors'.
+     * Read from the same cached entities as the response, so a warm check runs no SQL.
+     */
+    @Transactional(readOnly = true)
+    public EntityVersion version(Long id) {
+        Book book = bookRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Book", id));
+        return new EntityVersion(book.getVersion(), book.getAuthors().stream()
+            .sorted(Comparator.comparing(Author::getId))
+            .map(author -> author.getId() + "." + author.getVersion())
+            .collect(Collectors.joining(",")));
+    }
+
+    /** Served from the second-level cache (book, author ids, authors) once warm. */
     @Transactional(readOnly = true)
     public BookResponse findById(Long id) {
-        Book book = bookRepository.findByIdWithAuthors(id)
+        Book book = bookRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Book", id));
         return BookMapper.toResponse(book);
     }
 
+    /** The books with these ids, with their authors, in one query (see {@link MultiGet}). */
+    @Transactional(readOnly = true)
+    public MultiGetResponse<BookResponse> findAllById(IdList ids) {
+        return MultiGet.load(ids, bookRepository::findAllByIdWithAuthors, Book::getId, BookMapper::toResponse);
+    }
+
     @Transactional
     public BookResponse create(CreateBookRequest request) {
         if (bookRepository.existsByIsbn(request.isbn())) {
@@ -53,13 +220,28 @@ public class BookService {
         Book book = BookMapper.toEntity(request);
         book.setAuthors(new HashSet<>(authors));
         Book saved = bookRepository.save(book);
+        secondLevelCache.evictAuthorBooks(request.authorIds());
+        eventPublisher.publishEvent(new BookChangedEvent(saved.getId(), ChangeType.CREATED));
         return BookMapper.toResponse(saved);
     }
 
     @Transactional
     public BookResponse update(Long id, UpdateBookRequest request) {
+        return update(id, request, null);
+    }
+
+    /**
+     * Updates the book if its version is still {@code expectedVersion} (from
+     * {@code If-Match}; null for an unconditional update). A concurrent update between this
+     * check and the flush still fails on the version column.
+     */
+    @Transactional
+    public BookResponse update(Long id, UpdateBookRequest request, Integer expectedVersion) {
         Book book = bookRepository.findByIdWithAuthors(id)
             .orElseThrow(() -> new ResourceNotFoundException("Book", id));
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            throw new PreconditionFailedException("Book", id);
+        }
 
         if (request.isbn() != null && !request.isbn().equals(book.getIsbn())
                 && bookRepository.existsByIsbnAndIdNot(request.isbn(), id)) {
@@ -70,11 +252,15 @@ public class BookService {
 
         if (request.authorIds() != null) {
             List<Author> authors = resolveAuthors(request.authorIds());
+            Set<Long> affected = authorIds(book);
             book.getAuthors().clear();
             book.getAuthors().addAll(authors);
+            affected.addAll(authorIds(book));
+            secondLevelCache.evictAuthorBooks(affected);
         }
 
         Book saved = bookRepository.save(book);
+        eventPublisher.publishEvent(new BookChangedEvent(saved.getId(), ChangeType.UPDATED));
         return BookMapper.toResponse(saved);
     }
 
@@ -89,6 +275,12 @@ public class BookService {
         }
 
         bookRepository.delete(book);
+        secondLevelCache.evictAuthorBooks(authorIds(book));
+        eventPublisher.publishEvent(new BookChangedEvent(id, ChangeType.DELETED));
+    }
+
+    private static Set<Long> authorIds(Book book) {
+        return book.getAuthors().stream().map(Author::getId).collect(Collectors.toCollection(HashSet::new));
     }
 
     private List<Author> resolveAuthors(List<Long> authorIds) {
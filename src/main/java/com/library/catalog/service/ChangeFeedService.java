@@ -0,0 +1,107 @@
+package com.library.catalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.catalog.dto.response.ChangeResponse;
+import com.library.catalog.entity.Author;
+import com.library.catalog.entity.Book;
+import com.library.catalog.entity.Reservation;
+import com.library.catalog.event.ChangeType;
+import com.library.catalog.mapper.AuthorMapper;
+import com.library.catalog.mapper.BookMapper;
+import com.library.catalog.mapper.ReservationMapper;
+import com.library.catalog.repository.AuthorRepository;
+import com.library.catalog.repository.BookRepository;
+import com.library.catalog.repository.ChangeFeedRepository;
+import com.library.catalog.repository.ChangeFeedRepository.ChangeRow;
+import com.library.catalog.repository.ReservationRepository;
+import com.library.catalog.service.exporting.ExportWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The catalog change feed: what was created, updated or deleted after a position,
+ * streamed as NDJSON, so a downstream copy syncs in proportion to the changes rather
+ * than the catalog size.
+ *
+ * <p><strong>Positions</strong>: each change carries a token; passing it back as
+ * {@code since} resumes right after that change, so a client can stop reading at any
+ * line. Changes come in transaction order, and a transaction is only returned once every
+ * older one has finished (see {@link ChangeFeedRepository}), so resuming never skips a
+ * change that committed late. An entity changed several times since the position
+ * appears once, at its latest change.
+ *
+ * <p><strong>Streaming</strong>: as in {@link ExportService}, changes are read through a
+ * server-side cursor in one {@code REPEATABLE READ} transaction. Entities are loaded
+ * for windows of {@value ExportService#WINDOW_SIZE} changes with the multi-get queries,
+ * so each line's data is as of the same snapshot as its position. The second-level
+ * cache is bypassed: a long-running snapshot must not repopulate it with old state.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+public class ChangeFeedService {
+
+    public static final int DEFAULT_LIMIT = 10_000;
+    public static final int MAX_LIMIT = 100_000;
+
+    private final ChangeFeedRepository changeFeedRepository;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final ReservationRepository reservationRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /** Writes up to {@code limit} changes after {@code since}, one JSON object per line. */
+    public void streamChanges(ChangePosition since, int limit, OutputStream output) {
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        ExportWriter<ChangeResponse> writer = ExportWriter.ndjson(output, objectMapper);
+        try (Stream<ChangeRow> changes = changeFeedRepository.streamChanges(since.xid(), since.seq(), limit)) {
+            ExportService.inWindows(changes, window -> {
+                Map<Long, Object> books = load(window, ChangeResponse.Entity.BOOK,
+                    bookRepository::findAllByIdWithAuthors, Book::getId, BookMapper::toResponse);
+                Map<Long, Object> authors = load(window, ChangeResponse.Entity.AUTHOR,
+                    authorRepository::findAllByIdWithBooks, Author::getId, AuthorMapper::toResponse);
+                Map<Long, Object> reservations = load(window, ChangeResponse.Entity.RESERVATION,
+                    reservationRepository::findAllByIdWithBook, Reservation::getId, ReservationMapper::toResponse);
+                for (ChangeRow change : window) {
+                    Map<Long, Object> data = switch (change.entity()) {
+                        case BOOK -> books;
+                        case AUTHOR -> authors;
+                        case RESERVATION -> reservations;
+                    };
+                    writer.write(new ChangeResponse(new ChangePosition(change.xid(), change.seq()).token(),
+                        change.entity(), change.id(), change.change(), data.get(change.id())));
+                }
+                entityManager.clear();
+            });
+        }
+        writer.finish();
+    }
+
+    /** Responses of the window's non-deleted {@code entity} rows, by id, in one query. */
+    private static <E> Map<Long, Object> load(List<ChangeRow> window, ChangeResponse.Entity entity,
+                                              Function<Collection<Long>, List<E>> query,
+                                              Function<E, Long> id, Function<E, Object> mapper) {
+        List<Long> ids = window.stream()
+            .filter(change -> change.entity() == entity && change.change() != ChangeType.DELETED)
+            .map(ChangeRow::id)
+            .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return query.apply(ids).stream().collect(Collectors.toMap(id, mapper));
+    }
+}
@@ -0,0 +1,29 @@
+package com.library.catalog.service;
+
+/**
+ * A position in the change feed: the writing transaction's id and the change's sequence
+ * value (V15). Handed to clients as an opaque token with each change; every change after
+ * it is strictly greater.
+ */
+public record ChangePosition(long xid, long seq) {
+
+    /** Before every change. */
+    public static final ChangePosition START = new ChangePosition(0, 0);
+
+    /** Parses a token from the feed; blank means {@link #START}. */
+    public static ChangePosition of(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        String[] parts = CursorCodec.decode(token, 2);
+        try {
+            return new ChangePosition(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String token() {
+        return CursorCodec.encode(xid, seq);
+    }
+}
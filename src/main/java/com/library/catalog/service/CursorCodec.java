@@ -0,0 +1,47 @@
+package com.library.catalog.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.StringJoiner;
+
+/**
+ * Encodes keyset pagination positions as opaque, URL-safe tokens.
+ *
+ * <p>A token is the Base64url encoding of the position's key values joined by a unit
+ * separator. Callers own the meaning and types of the keys; a token that cannot be
+ * decoded into the expected number of parts is rejected with
+ * {@link IllegalArgumentException}, which {@code GlobalExceptionHandler} maps to 400.
+ *
+ * <p>Only the last key may be free text: decoding splits off the first
+ * {@code expectedParts - 1} keys and leaves the rest, separators included, to the last,
+ * so a stored value containing the separator (e.g. a book title) still round-trips.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "\u001F";
+
+    private CursorCodec() {}
+
+    public static String encode(Object... keys) {
+        StringJoiner joiner = new StringJoiner(SEPARATOR);
+        for (Object key : keys) {
+            joiner.add(String.valueOf(key));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = decoded.split(SEPARATOR, expectedParts);
+        if (parts.length != expectedParts) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,10 @@
+package com.library.catalog.service;
+
+/**
+ * What a single-entity response depends on, read by a version-only query: the entity's
+ * own optimistic-lock {@code version} and the ids and versions of the related entities
+ * the response embeds (e.g. a book's authors, as {@code id.version,...}). Any change to
+ * the response changes one of them; controllers derive strong ETags from it, and
+ * {@code If-Match} is checked against {@code version}.
+ */
+public record EntityVersion(int version, String related) {}
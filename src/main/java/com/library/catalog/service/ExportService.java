@@ -0,0 +1,137 @@
+package com.library.catalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.ReservationResponse;
+import com.library.catalog.repository.ExportRepository;
+import com.library.catalog.service.exporting.ExportFormat;
+import com.library.catalog.service.exporting.ExportWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full-table exports of books, authors and reservations, written to an output stream
+ * while they are read.
+ *
+ * <p><strong>Constant memory</strong>: rows come from {@link ExportRepository}'s
+ * server-side cursors and are written as they arrive. Books and authors are buffered
+ * in windows of {@value #WINDOW_SIZE} only to fetch their authors (resp. books) with
+ * one query per window instead of one per row.
+ *
+ * <p><strong>Consistency</strong>: each export is one {@code REPEATABLE READ} read-only
+ * transaction, so the cursor and every window query see the same snapshot. The
+ * transaction, and its pooled connection, last as long as the client takes to read the
+ * response.
+ *
+ * <p>CSV book exports use the column names of the bulk import ({@code authors} as
+ * "First Last" names separated by {@code ;}), so an export can be imported elsewhere.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+public class ExportService {
+
+    static final int WINDOW_SIZE = 500;
+
+    private static final List<String> BOOK_COLUMNS =
+        List.of("id", "title", "isbn", "description", "published_year", "authors", "created_at", "updated_at");
+    private static final List<String> AUTHOR_COLUMNS =
+        List.of("id", "first_name", "last_name", "bio", "book_ids", "created_at", "updated_at");
+    private static final List<String> RESERVATION_COLUMNS = List.of("id", "book_id", "book_title", "user_name",
+        "status", "reserved_at", "expires_at", "cancelled_at");
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    public void exportBooks(ExportFormat format, OutputStream output) {
+        ExportWriter<BookResponse> writer = writer(format, output, BOOK_COLUMNS, book -> Arrays.asList(
+            book.id(), book.title(), book.isbn(), book.description(), book.publishedYear(),
+            book.authors().stream()
+                .map(author -> author.firstName() + " " + author.lastName())
+                .collect(Collectors.joining("; ")),
+            book.createdAt(), book.updatedAt()));
+        try (Stream<BookResponse> books = exportRepository.streamBooks()) {
+            inWindows(books, window -> {
+                Map<Long, List<BookResponse.AuthorSummary>> authors =
+                    exportRepository.findAuthorsByBookIds(window.stream().map(BookResponse::id).toList());
+                for (BookResponse book : window) {
+                    writer.write(new BookResponse(book.id(), book.title(), book.isbn(), book.description(),
+                        book.publishedYear(), authors.getOrDefault(book.id(), List.of()),
+                        book.createdAt(), book.updatedAt()));
+                }
+            });
+        }
+        writer.finish();
+    }
+
+    public void exportAuthors(ExportFormat format, OutputStream output) {
+        ExportWriter<AuthorResponse> writer = writer(format, output, AUTHOR_COLUMNS, author -> Arrays.asList(
+            author.id(), author.firstName(), author.lastName(), author.bio(),
+            author.books().stream()
+                .map(book -> String.valueOf(book.id()))
+                .collect(Collectors.joining(";")),
+            author.createdAt(), author.updatedAt()));
+        try (Stream<AuthorResponse> authors = exportRepository.streamAuthors()) {
+            inWindows(authors, window -> {
+                Map<Long, List<AuthorResponse.BookSummary>> books =
+                    exportRepository.findBooksByAuthorIds(window.stream().map(AuthorResponse::id).toList());
+                for (AuthorResponse author : window) {
+                    writer.write(new AuthorResponse(author.id(), author.firstName(), author.lastName(),
+                        author.bio(), books.getOrDefault(author.id(), List.of()),
+                        author.createdAt(), author.updatedAt()));
+                }
+            });
+        }
+        writer.finish();
+    }
+
+    public void exportReservations(ExportFormat format, OutputStream output) {
+        ExportWriter<ReservationResponse> writer = writer(format, output, RESERVATION_COLUMNS,
+            reservation -> Arrays.asList(
+                reservation.id(), reservation.bookId(), reservation.bookTitle(), reservation.userName(),
+                reservation.status(), reservation.reservedAt(), reservation.expiresAt(),
+                reservation.cancelledAt()));
+        try (Stream<ReservationResponse> reservations = exportRepository.streamReservations()) {
+            reservations.forEach(writer::write);
+        }
+        writer.finish();
+    }
+
+    private <T> ExportWriter<T> writer(ExportFormat format, OutputStream output, List<String> columns,
+                                       Function<T, List<Object>> csvFields) {
+        return switch (format) {
+            case NDJSON -> ExportWriter.ndjson(output, objectMapper);
+            case CSV -> ExportWriter.csv(output, columns, csvFields);
+        };
+    }
+
+    /** Hands {@code rows} to {@code action} in consecutive lists of up to {@link #WINDOW_SIZE}. */
+    static <T> void inWindows(Stream<T> rows, Consumer<List<T>> action) {
+        List<T> window = new ArrayList<>(WINDOW_SIZE);
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            window.add(iterator.next());
+            if (window.size() == WINDOW_SIZE) {
+                action.accept(window);
+                window.clear();
+            }
+        }
+        if (!window.isEmpty()) {
+            action.accept(window);
+        }
+    }
+}
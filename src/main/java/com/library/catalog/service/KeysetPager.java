@@ -0,0 +1,121 @@
+package com.library.catalog.service;
+
+import com.library.catalog.dto.response.CursorPagedResponse;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination of an entity listing ordered by one attribute, then by id.
+ *
+ * <p>A page is the first {@code size} rows after the previous page's last
+ * {@code (sort key, id)}, fetched with {@code ORDER BY key, id LIMIT size + 1}: the extra
+ * row tells whether another page exists, so no count query runs. The seek predicate is
+ * {@code key >= :key AND (key > :key OR id > :id)} (mirrored for descending order). The
+ * redundant first term is what lets PostgreSQL start the {@code (key, id)} index scan at
+ * the position instead of filtering from the beginning, so page 5000 costs the same as
+ * page 1.
+ *
+ * <p>Sort keys must be non-null columns with a {@code (key, id)} index (V13). The cursor
+ * encodes the sort key and direction; reusing it with a different {@code sort} is a
+ * 400, like any other invalid cursor. The key value is encoded last, the one position
+ * {@link CursorCodec} lets hold arbitrary text.
+ */
+public final class KeysetPager<E> {
+
+    /** A sortable attribute: its JPA name (also the {@code sort} value) and how to read and parse it. */
+    public record SortKey<E>(String attribute, Function<E, ?> value, Function<String, ?> parse) {}
+
+    private static final String ID = "id";
+
+    private final Function<E, Long> id;
+    private final Map<String, SortKey<E>> keys = new LinkedHashMap<>();
+
+    /** {@code id} is always a sort key, and the default; {@code keys} add the others. */
+    @SafeVarargs
+    public KeysetPager(Function<E, Long> id, SortKey<E>... keys) {
+        this.id = id;
+        this.keys.put(ID, new SortKey<>(ID, id, Long::valueOf));
+        for (SortKey<E> key : keys) {
+            this.keys.put(key.attribute(), key);
+        }
+    }
+
+    /**
+     * One page of the entities matching {@code filter}. {@code sort} is {@code key} or
+     * {@code key,asc|desc} ({@code id} when blank); an empty {@code after} starts at the
+     * first row, otherwise it must be a {@code nextCursor} returned for the same sort.
+     */
+    public <R> CursorPagedResponse<R> page(JpaSpecificationExecutor<E> repository, Specification<E> filter,
+                                           String sort, String after, int size, Function<E, R> mapper) {
+        String[] order = (sort == null || sort.isBlank() ? ID : sort).split(",", -1);
+        SortKey<E> key = keys.get(order[0].trim());
+        if (key == null || order.length > 2) {
+            throw new IllegalArgumentException("Unsupported sort '" + sort + "' (expected one of "
+                + String.join(", ", keys.keySet()) + ", optionally followed by ,asc or ,desc)");
+        }
+        Sort.Direction direction = order.length == 2
+            ? Sort.Direction.fromOptionalString(order[1].trim()).orElseThrow(
+                () -> new IllegalArgumentException("Unsupported sort direction '" + order[1] + "'"))
+            : Sort.Direction.ASC;
+        String orderName = key.attribute() + "," + direction.name().toLowerCase(Locale.ROOT);
+
+        Specification<E> spec = filter;
+        if (after != null && !after.isBlank()) {
+            String[] position = CursorCodec.decode(after, 3);
+            if (!position[0].equals(orderName)) {
+                throw new IllegalArgumentException("Cursor was issued for sort '" + position[0] + "'");
+            }
+            Object afterValue;
+            long afterId;
+            try {
+                afterId = Long.parseLong(position[1]);
+                afterValue = key.parse().apply(position[2]);
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            spec = spec.and(seek(key, direction, afterValue, afterId));
+        }
+
+        List<E> rows = repository.findBy(spec, query -> query
+            .sortBy(Sort.by(direction, key.attribute()).and(Sort.by(direction, ID)))
+            .limit(size + 1)
+            .all());
+
+        boolean last = rows.size() <= size;
+        String nextCursor = null;
+        if (!last) {
+            rows = rows.subList(0, size);
+            E tail = rows.get(rows.size() - 1);
+            nextCursor = CursorCodec.encode(orderName, id.apply(tail), key.value().apply(tail));
+        }
+        return new CursorPagedResponse<>(rows.stream().map(mapper).toList(), size, nextCursor, last);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Specification<E> seek(SortKey<E> key, Sort.Direction direction, Object value, long afterId) {
+        boolean ascending = direction.isAscending();
+        return (root, query, cb) -> {
+            Path<Long> idPath = root.get(ID);
+            Predicate idBeyond = ascending ? cb.greaterThan(idPath, afterId) : cb.lessThan(idPath, afterId);
+            if (key.attribute().equals(ID)) {
+                return idBeyond;
+            }
+            Path<Comparable> keyPath = root.get(key.attribute());
+            Comparable keyValue = (Comparable) value;
+            return cb.and(
+                ascending ? cb.greaterThanOrEqualTo(keyPath, keyValue) : cb.lessThanOrEqualTo(keyPath, keyValue),
+                cb.or(
+                    ascending ? cb.greaterThan(keyPath, keyValue) : cb.lessThan(keyPath, keyValue),
+                    idBeyond));
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.library.catalog.service;
+
+import com.library.catalog.dto.request.IdList;
+import com.library.catalog.dto.response.MultiGetResponse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Entities by id list for the multi-get endpoints: one query for all ids (with whatever
+ * the response needs fetch-joined), then the results put back in request order.
+ */
+public final class MultiGet {
+
+    private MultiGet() {}
+
+    public static <E, R> MultiGetResponse<R> load(IdList ids, Function<Collection<Long>, List<E>> query,
+                                                  Function<E, Long> id, Function<E, R> mapper) {
+        Map<Long, E> found = query.apply(ids.ids()).stream()
+            .collect(Collectors.toMap(id, Function.identity(), (first, duplicate) -> first));
+        List<R> content = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long requested : ids.ids()) {
+            E entity = found.get(requested);
+            if (entity == null) {
+                missing.add(requested);
+            } else {
+                content.add(mapper.apply(entity));
+            }
+        }
+        return new MultiGetResponse<>(content, missing);
+    }
+}
@@ -1,17 +1,26 @@
 package com.library.catalog.service;
 
+import com.library.catalog.dto.request.CountMode;
 import com.library.catalog.dto.request.CreateReservationRequest;
+import com.library.catalog.dto.request.IdList;
+import com.library.catalog.dto.response.ChangeResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
+import com.library.catalog.dto.response.MultiGetResponse;
 import com.library.catalog.dto.response.ReservationResponse;
 import com.library.catalog.entity.Book;
 import com.library.catalog.entity.Reservation;
 import com.library.catalog.entity.ReservationStatus;
+import com.library.catalog.event.BookReservedEvent;
 import com.library.catalog.exception.BookAlreadyReservedException;
 import com.library.catalog.exception.InvalidReservationStateException;
 import com.library.catalog.exception.ResourceNotFoundException;
 import com.library.catalog.mapper.ReservationMapper;
 import com.library.catalog.repository.BookRepository;
 import com.library.catalog.repository.ReservationRepository;
+import com.library.catalog.repository.RowEstimateRepository;
+import com.library.catalog.repository.WatermarkRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -20,14 +29,23 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.StringJoiner;
 
 @Service
 @RequiredArgsConstructor
 public class ReservationService {
 
+    private static final KeysetPager<Reservation> PAGER = new KeysetPager<>(Reservation::getId,
+        new KeysetPager.SortKey<>("reservedAt", Reservation::getReservedAt, Instant::parse));
+
     private final BookRepository bookRepository;
     private final ReservationRepository reservationRepository;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final WatermarkRepository watermarkRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ReservationResponse create(CreateReservationRequest request) {
@@ -56,6 +74,8 @@ public class ReservationService {
         reservation.setExpiresAt(now.plus(14, ChronoUnit.DAYS));
 
         Reservation saved = reservationRepository.save(reservation);
+        bookRepository.incrementPopularity(book.getId());
+        eventPublisher.publishEvent(new BookReservedEvent(book.getId()));
         return ReservationMapper.toResponse(saved);
     }
 
@@ -73,16 +93,98 @@ public class ReservationService {
         return ReservationMapper.toResponse(reservationRepository.save(reservation));
     }
 
+    /** The versions {@link #findById}'s response depends on: the reservation's and its book's. */
+    @Transactional(readOnly = true)
+    public EntityVersion version(Long id) {
+        return reservationRepository.findVersionRow(id)
+            .map(row -> new EntityVersion(row.version(), String.valueOf(row.bookVersion())))
+            .orElseThrow(() -> new ResourceNotFoundException("Reservation", id));
+    }
+
+    /**
+     * Watermark of the reservation listing: the reservations and the books (titles) it
+     * shows. Table-wide rather than per filter, so it costs the same on every page.
+     */
+    @Transactional(readOnly = true)
+    public String watermark() {
+        return watermarkRepository.ofTables(ChangeResponse.Entity.RESERVATION, ChangeResponse.Entity.BOOK);
+    }
+
+    /** The reservation is queried; its book comes from the second-level cache once warm. */
     @Transactional(readOnly = true)
     public ReservationResponse findById(Long id) {
-        Reservation reservation = reservationRepository.findByIdWithBook(id)
+        Reservation reservation = reservationRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Reservation", id));
         return ReservationMapper.toResponse(reservation);
     }
 
+    /** The reservations with these ids, with their books, in one query (see {@link MultiGet}). */
+    @Transactional(readOnly = true)
+    public MultiGetResponse<ReservationResponse> findAllById(IdList ids) {
+        return MultiGet.load(ids, reservationRepository::findAllByIdWithBook, Reservation::getId,
+            ReservationMapper::toResponse);
+    }
+
     @Transactional(readOnly = true)
     public Page<ReservationResponse> findAll(Long bookId, String userName,
                                               ReservationStatus status, Pageable pageable) {
+        return findAll(bookId, userName, status, pageable, CountMode.EXACT);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ReservationResponse> findAll(Long bookId, String userName, ReservationStatus status,
+                                              Pageable pageable, CountMode count) {
+        Specification<Reservation> filter = filter(bookId, userName, status);
+        if (count == CountMode.EXACT) {
+            return reservationRepository.findAll(filter, pageable)
+                .map(ReservationMapper::toResponse);
+        }
+        return SlicePager.page(
+            SlicePager.slice(reservationRepository, filter, pageable).map(ReservationMapper::toResponse),
+            count, () -> estimate(bookId, userName, status));
+    }
+
+    /** Keyset-paginated variant of {@link #findAll}; see {@link KeysetPager} for {@code sort} and {@code after}. */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<ReservationResponse> findAfter(Long bookId, String userName, ReservationStatus status,
+                                                              String sort, String after, int size) {
+        return PAGER.page(reservationRepository, filter(bookId, userName, status), sort, after, size,
+            ReservationMapper::toResponse);
+    }
+
+    /** Planner estimate of the rows {@link #filter} matches: the same predicates in SQL, explained. */
+    private long estimate(Long bookId, String userName, ReservationStatus status) {
+        if (bookId == null && userName == null && status == null) {
+            return rowEstimateRepository.estimateTable("reservations");
+        }
+        SqlFilter filter = sqlFilter(bookId, userName, status);
+        return rowEstimateRepository.estimateQuery("SELECT 1 FROM reservations r" + filter.where(),
+            filter.args().toArray());
+    }
+
+    /** {@link #filter} as a SQL {@code WHERE} clause on {@code reservations r} (empty when unfiltered). */
+    private record SqlFilter(String where, List<Object> args) {}
+
+    private static SqlFilter sqlFilter(Long bookId, String userName, ReservationStatus status) {
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "");
+        where.setEmptyValue("");
+        List<Object> args = new ArrayList<>();
+        if (bookId != null) {
+            where.add("r.book_id = ?");
+            args.add(bookId);
+        }
+        if (userName != null) {
+            where.add("r.user_name = ?");
+            args.add(userName);
+        }
+        if (status != null) {
+            where.add("r.status = ?");
+            args.add(status.name());
+        }
+        return new SqlFilter(where.toString(), args);
+    }
+
+    private static Specification<Reservation> filter(Long bookId, String userName, ReservationStatus status) {
         Specification<Reservation> spec = Specification.where(null);
 
         if (bookId != null) {
@@ -94,8 +196,6 @@ public class ReservationService {
         if (status != null) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
         }
-
-        return reservationRepository.findAll(spec, pageable)
-            .map(ReservationMapper::toResponse);
+        return spec;
     }
 }
@@ -1,106 +1,477 @@
 package com.library.catalog.service;
 
-import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.config.SearchProperties;
+import com.library.catalog.dto.request.SearchFilter;
+import com.library.catalog.dto.response.BatchSearchResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
+import com.library.catalog.dto.response.PagedResponse.TotalRelation;
+import com.library.catalog.dto.response.SearchPage;
 import com.library.catalog.dto.response.SearchResultResponse;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.Query;
+import com.library.catalog.repository.SearchRepository;
+import com.library.catalog.repository.SearchRepository.FacetCounts;
+import com.library.catalog.repository.SearchRepository.QueryHits;
+import com.library.catalog.service.search.InMemorySearchEngine;
+import com.library.catalog.service.search.SearchQueryStats;
+import com.library.catalog.service.search.SearchResultCache;
+import com.library.catalog.service.search.TopKMerger;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class SearchService {
 
-    private final EntityManager entityManager;
-
-    private static final String SEARCH_QUERY = """
-        SELECT b.id, b.title, b.isbn, b.published_year,
-               a.id AS author_id, a.first_name, a.last_name,
-               GREATEST(
-                 ts_rank(b.search_vector, plainto_tsquery('english', :query)),
-                 COALESCE(MAX(ts_rank(
-                   to_tsvector('english', COALESCE(a.first_name || ' ' || a.last_name, '')),
-                   plainto_tsquery('english', :query)
-                 )) OVER (PARTITION BY b.id), 0)
-               ) AS relevance_score
-        FROM books b
-        LEFT JOIN book_authors ba ON b.id = ba.book_id
-        LEFT JOIN authors a ON ba.author_id = a.id
-        WHERE b.search_vector @@ plainto_tsquery('english', :query)
-           OR to_tsvector('english', COALESCE(a.first_name || ' ' || a.last_name, ''))
-              @@ plainto_tsquery('english', :query)
-        ORDER BY relevance_score DESC, b.id ASC
-        """;
-
-    private static final String COUNT_QUERY = """
-        SELECT COUNT(DISTINCT b.id)
-        FROM books b
-        LEFT JOIN book_authors ba ON b.id = ba.book_id
-        LEFT JOIN authors a ON ba.author_id = a.id
-        WHERE b.search_vector @@ plainto_tsquery('english', :query)
-           OR to_tsvector('english', COALESCE(a.first_name || ' ' || a.last_name, ''))
-              @@ plainto_tsquery('english', :query)
-        """;
-
-    @Transactional(readOnly = true)
-    @SuppressWarnings("unchecked")
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private static final int AUTHOR_FACET_LIMIT = 10;
+
+    /**
+     * Deepest offset of an offset-paginated search. Every engine ranks the whole prefix up
+     * to the page (per partition when sharded), so deeper pages go through the cursor.
+     */
+    public static final int MAX_OFFSET = 10_000;
+
+    /** The controller's default page size, so warmed cache entries are the ones first requests hit. */
+    private static final int WARMUP_PAGE_SIZE = 20;
+
+    private final SearchRepository searchRepository;
+    private final ObjectProvider<InMemorySearchEngine> inMemorySearchEngine;
+    private final SearchResultCache searchResultCache;
+    private final SearchQueryStats searchQueryStats;
+    private final SearchProperties searchProperties;
+    private final ExecutorService searchExecutor;
+
+    /** Unfiltered offset-paginated search without facets. */
     public Page<SearchResultResponse> search(String query, Pageable pageable) {
-        String sanitized = sanitizeQuery(query);
-        if (sanitized.isBlank()) {
-            throw new IllegalArgumentException("Search query must not be blank");
+        return search(query, SearchFilter.NONE, false, false, pageable);
+    }
+
+    /**
+     * Offset-paginated search. Served by the in-memory engine when it is configured and
+     * bootstrapped, otherwise by PostgreSQL full-text search. Filters and facets are only
+     * implemented in SQL, so requests using them always go to PostgreSQL. Not
+     * transactional itself: each {@link SearchRepository} query runs in its own read-only
+     * transaction, so the in-memory path never touches the connection pool. Repeated
+     * queries are answered from {@link SearchResultCache}.
+     *
+     * <p>With {@code includeFacets} the total comes from the facet query, which replaces
+     * the count query, and the returned page is a {@link SearchPage} carrying the facets.
+     *
+     * <p>When full-text search finds fewer than {@code catalog.search.fuzzy.min-hits}
+     * books, trigram matches are appended (see {@link #withFuzzyMatches}). Faceted
+     * searches skip the fallback so facets always describe the returned matches.
+     *
+     * <p>With {@code includeHighlights} each result gets snippets from one extra query over
+     * the final page's ids (see {@link #withHighlights}).
+     *
+     * <p>With {@code catalog.search.sharding} enabled, the ranked page query is split
+     * across id ranges of the books table and run concurrently (see {@link #fetchPage}).
+     *
+     * <p>First-page requests are counted in {@link SearchQueryStats}; following pages of
+     * the same query are not, so paging through results does not inflate its popularity.
+     */
+    public Page<SearchResultResponse> search(String query, SearchFilter filter, boolean includeFacets,
+                                             boolean includeHighlights, Pageable pageable) {
+        String sanitized = requireQuery(query);
+        if (pageable.getOffset() > MAX_OFFSET) {
+            throw new IllegalArgumentException(
+                "Page too deep: offset must not exceed " + MAX_OFFSET + "; use the cursor parameter instead");
         }
+        if (pageable.getOffset() == 0) {
+            searchQueryStats.record(sanitized);
+        }
+        return cachedSearch(sanitized, filter, includeFacets, includeHighlights, pageable);
+    }
 
-        // Execute count query
-        Query countQ = entityManager.createNativeQuery(COUNT_QUERY);
-        countQ.setParameter("query", sanitized);
-        long total = ((Number) countQ.getSingleResult()).longValue();
+    /**
+     * Runs the default first page of an unfiltered search without counting it, to fill
+     * the search cache and PostgreSQL's buffers before real traffic arrives.
+     */
+    public void warmUp(String query) {
+        cachedSearch(requireQuery(query), SearchFilter.NONE, false, false, PageRequest.of(0, WARMUP_PAGE_SIZE));
+    }
 
+    private Page<SearchResultResponse> cachedSearch(String sanitized, SearchFilter filter, boolean includeFacets,
+                                                    boolean includeHighlights, Pageable pageable) {
+        return searchResultCache.get(sanitized, filter, includeFacets, includeHighlights, pageable, () -> {
+            Page<SearchResultResponse> page = executeSearch(sanitized, filter, includeFacets, pageable);
+            return includeHighlights ? withContent(page, withHighlights(sanitized, page.getContent())) : page;
+        });
+    }
+
+    private Page<SearchResultResponse> executeSearch(String sanitized, SearchFilter filter,
+                                                     boolean includeFacets, Pageable pageable) {
+        Page<SearchResultResponse> page = executeFullTextSearch(sanitized, filter, includeFacets, pageable);
+        SearchProperties.Fuzzy fuzzy = searchProperties.fuzzy();
+        boolean exactTotal = !(page instanceof SearchPage<?> searchPage)
+            || searchPage.getTotalRelation() == TotalRelation.EXACT;
+        if (fuzzy.enabled() && !includeFacets && exactTotal && page.getTotalElements() < fuzzy.minHits()) {
+            return withFuzzyMatches(sanitized, filter, pageable, page);
+        }
+        return page;
+    }
+
+    private Page<SearchResultResponse> executeFullTextSearch(String sanitized, SearchFilter filter,
+                                                             boolean includeFacets, Pageable pageable) {
+        InMemorySearchEngine engine = readyInMemoryEngine();
+        if (engine != null && filter.isEmpty() && !includeFacets) {
+            return engine.search(sanitized, pageable);
+        }
+        if (searchProperties.parallel().enabled()) {
+            return includeFacets
+                ? searchWithFacetsInParallel(sanitized, filter, pageable)
+                : searchInParallel(sanitized, filter, pageable);
+        }
+
+        if (includeFacets) {
+            FacetCounts facetCounts = searchRepository.facets(sanitized, filter, AUTHOR_FACET_LIMIT);
+            List<SearchResultResponse> results = facetCounts.total() == 0 ? List.of()
+                : fetchPage(sanitized, filter, pageable.getOffset(), pageable.getPageSize());
+            return new SearchPage<>(results, pageable, facetCounts.total(), TotalRelation.EXACT, false,
+                facetCounts.facets());
+        }
+
+        long total = searchRepository.count(sanitized, filter);
         if (total == 0) {
             return new PageImpl<>(List.of(), pageable, 0);
         }
 
-        // Execute search query with pagination
-        Query searchQ = entityManager.createNativeQuery(SEARCH_QUERY);
-        searchQ.setParameter("query", sanitized);
-        searchQ.setFirstResult((int) pageable.getOffset());
-        searchQ.setMaxResults(pageable.getPageSize());
-
-        List<Object[]> rows = searchQ.getResultList();
-
-        // Group rows by book id (a book may appear multiple times for multiple authors)
-        Map<Long, SearchResultResponse> resultMap = new LinkedHashMap<>();
-        for (Object[] row : rows) {
-            Long bookId = ((Number) row[0]).longValue();
-            String title = (String) row[1];
-            String isbn = (String) row[2];
-            Integer publishedYear = row[3] != null ? ((Number) row[3]).intValue() : null;
-            Long authorId = row[4] != null ? ((Number) row[4]).longValue() : null;
-            String firstName = (String) row[5];
-            String lastName = (String) row[6];
-            double relevanceScore = ((Number) row[7]).doubleValue();
-
-            resultMap.computeIfAbsent(bookId, id -> new SearchResultResponse(
-                bookId, title, isbn, publishedYear, new ArrayList<>(), relevanceScore
-            ));
-
-            if (authorId != null) {
-                resultMap.get(bookId).authors().add(
-                    new BookResponse.AuthorSummary(authorId, firstName, lastName)
-                );
+        List<SearchResultResponse> results =
+            fetchPage(sanitized, filter, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(results, pageable, total);
+    }
+
+    /**
+     * Runs the capped count and the page query concurrently, each on its own virtual
+     * thread and read-only transaction (so on its own connection). The page is always
+     * awaited; the count only until {@code countTimeout} after the search started.
+     *
+     * <p>The page query fetches one extra row, so whether a next page exists is known
+     * without the count. When the count is capped or late, the total reported is a
+     * lower bound that still accounts for that row.
+     */
+    private Page<SearchResultResponse> searchInParallel(String sanitized, SearchFilter filter, Pageable pageable) {
+        SearchProperties.Parallel settings = searchProperties.parallel();
+        long deadline = System.nanoTime() + settings.countTimeout().toNanos();
+
+        CompletableFuture<Long> countFuture = CompletableFuture.supplyAsync(
+            () -> searchRepository.countUpTo(sanitized, filter, settings.countLimit() + 1, settings.countTimeout()),
+            searchExecutor);
+        CompletableFuture<List<SearchResultResponse>> pageFuture = CompletableFuture.supplyAsync(
+            () -> fetchPage(sanitized, filter, pageable.getOffset(), pageable.getPageSize() + 1),
+            searchExecutor);
+
+        List<SearchResultResponse> results = await(pageFuture);
+        boolean hasNext = results.size() > pageable.getPageSize();
+        if (hasNext) {
+            results = results.subList(0, pageable.getPageSize());
+        }
+        long seen = pageable.getOffset() + results.size() + (hasNext ? 1 : 0);
+
+        Long count = null;
+        try {
+            count = countFuture.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            countFuture.cancel(true); // PostgreSQL's statement_timeout stops the query itself
+        } catch (ExecutionException ex) {
+            log.debug("Search count for '{}' failed, reporting a lower bound", sanitized, ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search interrupted", ex);
+        }
+
+        if (!hasNext && (!results.isEmpty() || pageable.getOffset() == 0)) {
+            // Last page reached: the total is known exactly without the count
+            return new SearchPage<>(results, pageable, seen, TotalRelation.EXACT, false);
+        }
+        if (count == null) {
+            return new SearchPage<>(results, pageable, seen, TotalRelation.LOWER_BOUND, true);
+        }
+        if (count > settings.countLimit()) {
+            return new SearchPage<>(results, pageable, Math.max(settings.countLimit(), seen),
+                TotalRelation.LOWER_BOUND, false);
+        }
+        return new SearchPage<>(results, pageable, count, TotalRelation.EXACT, false);
+    }
+
+    /**
+     * Parallel variant for faceted searches: the facet query takes the place of the
+     * count. Facets were explicitly asked for, so it is neither capped nor abandoned.
+     */
+    private Page<SearchResultResponse> searchWithFacetsInParallel(String sanitized, SearchFilter filter,
+                                                                  Pageable pageable) {
+        CompletableFuture<FacetCounts> facetsFuture = CompletableFuture.supplyAsync(
+            () -> searchRepository.facets(sanitized, filter, AUTHOR_FACET_LIMIT), searchExecutor);
+        CompletableFuture<List<SearchResultResponse>> pageFuture = CompletableFuture.supplyAsync(
+            () -> fetchPage(sanitized, filter, pageable.getOffset(), pageable.getPageSize()),
+            searchExecutor);
+
+        List<SearchResultResponse> results = await(pageFuture);
+        FacetCounts facetCounts = await(facetsFuture);
+        return new SearchPage<>(results, pageable, facetCounts.total(), TotalRelation.EXACT, false,
+            facetCounts.facets());
+    }
+
+    /**
+     * Second tier for likely misspellings: all full-text hits (there are fewer than
+     * {@code minHits}) come first, followed by trigram matches on title and author name
+     * that are not already among them. The combined list is small and bounded by
+     * {@code maxResults}, so it is paginated in memory.
+     */
+    private Page<SearchResultResponse> withFuzzyMatches(String sanitized, SearchFilter filter, Pageable pageable,
+                                                        Page<SearchResultResponse> fullText) {
+        SearchProperties.Fuzzy fuzzy = searchProperties.fuzzy();
+        List<SearchResultResponse> exact = fullText.getContent().size() == fullText.getTotalElements()
+            ? fullText.getContent()
+            : executeFullTextSearch(sanitized, filter, false, PageRequest.of(0, fuzzy.minHits())).getContent();
+
+        List<SearchResultResponse> merged = new ArrayList<>(exact);
+        Set<Long> seenIds = new HashSet<>();
+        exact.forEach(result -> seenIds.add(result.id()));
+        for (SearchResultResponse result : searchRepository.findFuzzy(
+                sanitized, filter, fuzzy.similarityThreshold(), fuzzy.maxResults())) {
+            if (seenIds.add(result.id())) {
+                merged.add(result);
             }
         }
 
-        List<SearchResultResponse> results = new ArrayList<>(resultMap.values());
-        return new PageImpl<>(results, pageable, total);
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(merged.subList(from, to), pageable, merged.size());
+    }
+
+    /**
+     * One page of ranked full-text matches, from a single statement or, with sharding
+     * enabled, merged from the partitions' local top {@code offset + limit} (see
+     * {@link #fetchSharded}). Deep offsets multiply the rows read by the partition count,
+     * which is one more reason to prefer keyset pagination there.
+     */
+    private List<SearchResultResponse> fetchPage(String sanitized, SearchFilter filter, long offset, int limit) {
+        int partitions = shardCount();
+        if (partitions < 2) {
+            return searchRepository.findPage(sanitized, filter, offset, limit);
+        }
+        int perShard = Math.toIntExact(offset + limit);
+        return fetchSharded(partitions,
+            shard -> searchRepository.findPageInShard(sanitized, filter, shard, perShard), offset, limit);
+    }
+
+    /** Keyset counterpart of {@link #fetchPage}: every partition seeks past the same cursor. */
+    private List<SearchResultResponse> fetchAfter(String sanitized, SearchFilter filter,
+                                                  float afterScore, long afterId, int limit) {
+        int partitions = shardCount();
+        if (partitions < 2) {
+            return searchRepository.findAfter(sanitized, filter, afterScore, afterId, limit);
+        }
+        return fetchSharded(partitions,
+            shard -> searchRepository.findAfterInShard(sanitized, filter, shard, afterScore, afterId, limit),
+            0, limit);
+    }
+
+    /**
+     * Queries every id range (see {@link SearchRepository#shards}) concurrently, each on
+     * its own virtual thread and read-only transaction, so the ranking work is spread over
+     * as many backends (and cores) as there are partitions. Each partition returns its local top results; a
+     * heap of one cursor per partition merges them into the global page. Authors are
+     * loaded once, for the merged page only.
+     */
+    private List<SearchResultResponse> fetchSharded(int partitions,
+                                                    Function<SearchRepository.Shard, List<SearchResultResponse>> query,
+                                                    long skip, int limit) {
+        List<CompletableFuture<List<SearchResultResponse>>> futures = new ArrayList<>(partitions);
+        for (SearchRepository.Shard shard : searchRepository.shards(partitions)) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), searchExecutor));
+        }
+        List<List<SearchResultResponse>> ranked = new ArrayList<>(partitions);
+        for (CompletableFuture<List<SearchResultResponse>> future : futures) {
+            ranked.add(await(future));
+        }
+        return searchRepository.attachAuthors(TopKMerger.merge(ranked, skip, limit));
+    }
+
+    private int shardCount() {
+        SearchProperties.Sharding sharding = searchProperties.sharding();
+        return sharding.enabled() ? sharding.partitions() : 1;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search interrupted", ex);
+        }
+    }
+
+    /**
+     * First page of results for each query, keyed by the query as given. Duplicate
+     * queries (after sanitizing) run once. Served by the in-memory engine when ready;
+     * otherwise PostgreSQL answers every query in a single statement on one connection,
+     * counting matches only up to the count limit, as a parallel search does.
+     */
+    public BatchSearchResponse searchBatch(List<String> queries, int size) {
+        Map<String, String> sanitizedByQuery = new LinkedHashMap<>();
+        for (String query : queries) {
+            sanitizedByQuery.put(query, requireQuery(query));
+        }
+        sanitizedByQuery.values().forEach(searchQueryStats::record);
+        List<String> distinct = sanitizedByQuery.values().stream().distinct().toList();
+
+        Map<String, BatchSearchResponse.QueryResults> bySanitized = new HashMap<>();
+        InMemorySearchEngine engine = readyInMemoryEngine();
+        if (engine != null) {
+            for (String sanitized : distinct) {
+                Page<SearchResultResponse> page = engine.search(sanitized, PageRequest.of(0, size));
+                bySanitized.put(sanitized, new BatchSearchResponse.QueryResults(
+                    page.getContent(), page.getTotalElements(), TotalRelation.EXACT));
+            }
+        } else {
+            long countLimit = searchProperties.parallel().countLimit();
+            List<QueryHits> hits = searchRepository.findTopForEach(distinct, size, countLimit + 1);
+            for (int i = 0; i < distinct.size(); i++) {
+                long total = hits.get(i).total();
+                bySanitized.put(distinct.get(i), total > countLimit
+                    ? new BatchSearchResponse.QueryResults(hits.get(i).results(), countLimit, TotalRelation.LOWER_BOUND)
+                    : new BatchSearchResponse.QueryResults(hits.get(i).results(), total, TotalRelation.EXACT));
+            }
+        }
+
+        Map<String, BatchSearchResponse.QueryResults> results = new LinkedHashMap<>();
+        sanitizedByQuery.forEach((query, sanitized) -> results.put(query, bySanitized.get(sanitized)));
+        return new BatchSearchResponse(results);
+    }
+
+    /** Unfiltered keyset-paginated search. */
+    public CursorPagedResponse<SearchResultResponse> searchAfter(String query, String cursor, int size) {
+        return searchAfter(query, SearchFilter.NONE, false, cursor, size);
+    }
+
+    /**
+     * Keyset-paginated search. An empty {@code cursor} starts from the top-ranked book;
+     * otherwise it must be a {@code nextCursor} returned by a previous call with the same
+     * query and filter. No count query is executed, and the cost of a page does not grow
+     * with its depth. There is no fuzzy fallback: cursors encode the full-text ranking.
+     */
+    public CursorPagedResponse<SearchResultResponse> searchAfter(String query, SearchFilter filter,
+                                                               boolean includeHighlights, String cursor, int size) {
+        String sanitized = requireQuery(query);
+
+        Float afterScore = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = CursorCodec.decode(cursor, 2);
+            try {
+                afterScore = Float.parseFloat(position[0]);
+                afterId = Long.parseLong(position[1]);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        if (afterId == null) {
+            searchQueryStats.record(sanitized);
+        }
+
+        // One extra row tells us whether another page exists without a count query
+        List<SearchResultResponse> results;
+        InMemorySearchEngine engine = readyInMemoryEngine();
+        if (engine != null && filter.isEmpty()) {
+            results = engine.searchAfter(sanitized, afterScore, afterId, size + 1);
+        } else if (afterId == null) {
+            results = fetchPage(sanitized, filter, 0, size + 1);
+        } else {
+            results = fetchAfter(sanitized, filter, afterScore, afterId, size + 1);
+        }
+
+        boolean last = results.size() <= size;
+        String nextCursor = null;
+        if (!last) {
+            results = results.subList(0, size);
+            SearchResultResponse tail = results.get(results.size() - 1);
+            nextCursor = CursorCodec.encode((float) tail.relevanceScore(), tail.id());
+        }
+        if (includeHighlights) {
+            results = withHighlights(sanitized, results);
+        }
+        return new CursorPagedResponse<>(results, size, nextCursor, last);
+    }
+
+    /**
+     * Attaches {@code ts_headline} snippets to an already paginated result list, so the
+     * expensive headline function runs for at most one page of books. Snippets are
+     * HTML-escaped before the repository's markers become {@code <mark>} tags.
+     */
+    private List<SearchResultResponse> withHighlights(String sanitized, List<SearchResultResponse> results) {
+        if (results.isEmpty()) {
+            return results;
+        }
+        SearchProperties.Highlight settings = searchProperties.highlight();
+        Map<Long, SearchResultResponse.Highlight> highlights = searchRepository.highlight(sanitized,
+            results.stream().map(SearchResultResponse::id).toList(), settings.maxWords(), settings.maxFragments());
+
+        return results.stream()
+            .map(result -> {
+                SearchResultResponse.Highlight highlight = highlights.get(result.id());
+                return highlight == null ? result : result.withHighlight(new SearchResultResponse.Highlight(
+                    toMarkup(highlight.title()), toMarkup(highlight.description())));
+            })
+            .toList();
+    }
+
+    private static String toMarkup(String headline) {
+        return HtmlUtils.htmlEscape(headline)
+            .replace(String.valueOf(SearchRepository.HIGHLIGHT_START), "<mark>")
+            .replace(String.valueOf(SearchRepository.HIGHLIGHT_STOP), "</mark>");
+    }
+
+    /** Same page metadata (total, relation, facets), different content. */
+    private static Page<SearchResultResponse> withContent(Page<SearchResultResponse> page,
+                                                          List<SearchResultResponse> content) {
+        if (page instanceof SearchPage<SearchResultResponse> searchPage) {
+            return new SearchPage<>(content, page.getPageable(), page.getTotalElements(),
+                searchPage.getTotalRelation(), searchPage.isCountTimedOut(), searchPage.getFacets());
+        }
+        return new PageImpl<>(content, page.getPageable(), page.getTotalElements());
+    }
+
+    private InMemorySearchEngine readyInMemoryEngine() {
+        InMemorySearchEngine engine = inMemorySearchEngine.getIfAvailable();
+        return engine != null && engine.isReady() ? engine : null;
+    }
+
+    private String requireQuery(String query) {
+        String sanitized = sanitizeQuery(query);
+        if (sanitized.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        return sanitized;
     }
 
     String sanitizeQuery(String raw) {
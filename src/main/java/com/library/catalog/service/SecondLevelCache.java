@@ -0,0 +1,77 @@
+package com.library.catalog.service;
+
+import com.library.catalog.entity.Author;
+import com.library.catalog.entity.Book;
+import com.library.catalog.event.BooksImportedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evictions from the Hibernate second-level cache that Hibernate cannot work out itself.
+ *
+ * <p>Hibernate keeps the {@code Book} and {@code Author} regions and the owning
+ * {@code Book.authors} collection current for every write through JPA. It does not touch
+ * the inverse {@code Author.books} collection when a book's authors change, nor any
+ * region when rows change behind its back: the {@code book_authors} rows removed by
+ * {@code ON DELETE CASCADE} when an author is deleted, and the JDBC inserts of an import.
+ *
+ * <p>Evictions requested inside a transaction run after it commits: evicting earlier
+ * would let a concurrent reader cache the pre-commit state again in between.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCache {
+
+    private static final String AUTHOR_BOOKS = Author.class.getName() + ".books";
+    private static final String BOOK_AUTHORS = Book.class.getName() + ".authors";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /** Evicts the cached {@code books} collections of the given authors. */
+    public void evictAuthorBooks(Collection<Long> authorIds) {
+        List<Long> ids = List.copyOf(authorIds);
+        afterCommit(() -> ids.forEach(id -> cache().evictCollectionData(AUTHOR_BOOKS, id)));
+    }
+
+    /** Evicts the cached {@code authors} collections of the given books. */
+    public void evictBookAuthors(Collection<Long> bookIds) {
+        List<Long> ids = List.copyOf(bookIds);
+        afterCommit(() -> ids.forEach(id -> cache().evictCollectionData(BOOK_AUTHORS, id)));
+    }
+
+    /**
+     * Imported books are not cached yet, but they were linked to existing authors whose
+     * cached {@code books} are now incomplete. The event does not say which, so the whole
+     * collection region is dropped; imports are rare bulk operations.
+     */
+    @TransactionalEventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        cache().evictCollectionData(AUTHOR_BOOKS);
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
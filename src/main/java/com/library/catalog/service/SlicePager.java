@@ -0,0 +1,57 @@
+package com.library.catalog.service;
+
+import com.library.catalog.dto.request.CountMode;
+import com.library.catalog.dto.response.PagedResponse.TotalRelation;
+import com.library.catalog.dto.response.SearchPage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Offset pages of a listing without {@code count(*)}, for {@link CountMode#NONE} and
+ * {@link CountMode#ESTIMATE}.
+ *
+ * <p>A {@link Slice} is fetched with one row beyond the page, which tells whether another
+ * exists. It becomes a {@link SearchPage} whose total is exact on the last page, and
+ * otherwise a lower bound ({@code NONE}) or the planner's estimate, raised to that lower
+ * bound if it is below ({@code ESTIMATE}).
+ */
+public final class SlicePager {
+
+    private SlicePager() {}
+
+    /** One page of the entities matching {@code filter}, read through Spring Data's offset scrolling. */
+    public static <E> Slice<E> slice(JpaSpecificationExecutor<E> repository, Specification<E> filter,
+                                     Pageable pageable) {
+        long offset = pageable.getOffset();
+        // An offset position points at the last row of the previous window
+        ScrollPosition position = offset == 0 ? ScrollPosition.offset() : ScrollPosition.offset(offset - 1);
+        Window<E> window = repository.findBy(filter, query -> query
+            .sortBy(pageable.getSort())
+            .limit(pageable.getPageSize())
+            .scroll(position));
+        return new SliceImpl<>(window.getContent(), pageable, window.hasNext());
+    }
+
+    public static <T> Page<T> page(Slice<T> slice, CountMode count, LongSupplier estimate) {
+        Pageable pageable = slice.getPageable();
+        long offset = pageable.getOffset();
+        long seen = offset + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+
+        if (!slice.hasNext() && (slice.hasContent() || offset == 0)) {
+            return new SearchPage<>(slice.getContent(), pageable, seen, TotalRelation.EXACT, false);
+        }
+        if (count == CountMode.ESTIMATE) {
+            return new SearchPage<>(slice.getContent(), pageable, Math.max(seen, estimate.getAsLong()),
+                TotalRelation.ESTIMATE, false);
+        }
+        return new SearchPage<>(slice.getContent(), pageable, seen, TotalRelation.LOWER_BOUND, false);
+    }
+}
@@ -0,0 +1,38 @@
+package com.library.catalog.service.exporting;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/** Output formats of the {@code /export} endpoints. */
+public enum ExportFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /** Parses the {@code format} request parameter, case-insensitively. */
+    public static ExportFormat of(String name) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(name.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format '" + name + "' (expected ndjson or csv)");
+    }
+}
@@ -0,0 +1,102 @@
+package com.library.catalog.service.exporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes export rows to an output stream as they come, one line (NDJSON) or record (CSV)
+ * per row. Only a buffer of output is held, never the rows already written.
+ *
+ * <p>CSV follows RFC 4180, as read back by the import's
+ * {@link com.library.catalog.service.importing.CsvReader}: fields containing a comma,
+ * quote or line break are quoted with quotes doubled; {@code null} is an empty field.
+ */
+public abstract class ExportWriter<T> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final Writer writer;
+
+    private ExportWriter(OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /** One JSON object per line, serialized like the API responses. */
+    public static <T> ExportWriter<T> ndjson(OutputStream output, ObjectMapper objectMapper) {
+        return new ExportWriter<>(output) {
+            @Override
+            protected void writeRow(T row) throws IOException {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        };
+    }
+
+    /** A header record with {@code columns}, then {@code fields} of each row in the same order. */
+    public static <T> ExportWriter<T> csv(OutputStream output, List<String> columns,
+                                          Function<T, List<Object>> fields) {
+        ExportWriter<T> csv = new ExportWriter<>(output) {
+            @Override
+            protected void writeRow(T row) throws IOException {
+                writeRecord(fields.apply(row));
+            }
+        };
+        io(() -> csv.writeRecord(List.copyOf(columns)));
+        return csv;
+    }
+
+    public void write(T row) {
+        io(() -> writeRow(row));
+    }
+
+    /** Flushes buffered output; the underlying stream is left open. */
+    public void finish() {
+        io(writer::flush);
+    }
+
+    protected abstract void writeRow(T row) throws IOException;
+
+    protected void writeRecord(List<?> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object field = fields.get(i);
+            if (field != null) {
+                writeField(field.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private static void io(IoAction action) {
+        try {
+            action.run();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.library.catalog.service.importing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: comma-separated fields, optionally enclosed in
+ * double quotes, in which commas, line breaks and doubled quotes ({@code ""}) are
+ * literal. Reads one record at a time, so memory does not grow with the input.
+ */
+public final class CsvReader {
+
+    /** Fields of one record and the line on which it starts. */
+    public record Record(long line, List<String> fields) {}
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private long line = 1;
+    private int pending = NONE;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** The current line number, 1-based. */
+    public long line() {
+        return line;
+    }
+
+    /** The next record, or {@code null} at the end of the input. Blank lines are skipped. */
+    public Record next() {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = skipLineBreak(c);
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        long startLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean atFieldStart = true;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field starting on line " + startLine);
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        continue;
+                    }
+                } else {
+                    // Counted like line breaks between records: \n, \r and \r\n are one line each
+                    boolean afterCr = !field.isEmpty() && field.charAt(field.length() - 1) == '\r';
+                    if (c == '\r' || (c == '\n' && !afterCr)) {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && atFieldStart) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                atFieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c != -1) {
+                    pending = skipLineBreak(c);
+                }
+                return new Record(startLine, fields);
+            } else {
+                field.append((char) c);
+            }
+            atFieldStart = false;
+            c = read();
+        }
+    }
+
+    /** Consumes a {@code \n}, {@code \r} or {@code \r\n} and returns the character after it. */
+    private int skipLineBreak(int c) {
+        line++;
+        int next = read();
+        if (c == '\r' && next == '\n') {
+            next = read();
+        }
+        return next;
+    }
+
+    private int read() {
+        if (pending != NONE) {
+            int c = pending;
+            pending = NONE;
+            return c;
+        }
+        try {
+            return reader.read();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.library.catalog.service.search;
+
+import com.library.catalog.dto.response.SuggestionResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe prefix tree that returns the most popular completions for a prefix in
+ * time proportional to the prefix length, independent of how many keys share it.
+ *
+ * <p><strong>Top-K per node</strong>: every node caches the {@value #TOP_K} best entries
+ * of its subtree. A lookup walks the prefix and returns that cache; no subtree traversal
+ * happens on the read path. Inserting an entry offers it to the caches along its path.
+ * Removing one recomputes, bottom-up, only the caches that contained it, from the node's
+ * own entries plus its children's caches (the union of the children's top-K always holds
+ * the subtree's top-K).
+ *
+ * <p><strong>Compactness</strong>: children are kept in sorted parallel arrays
+ * ({@code char[]} labels, node references) rather than maps, and keys are truncated to
+ * {@value #MAX_KEY_LENGTH} characters, which bounds the depth of the tree.
+ */
+final class CompletionTrie {
+
+    static final int TOP_K = 10;
+    static final int MAX_KEY_LENGTH = 32;
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    /** Best first: higher weight, then alphabetical text, then id. */
+    static final Comparator<Entry> RANKING = Comparator
+        .comparingDouble(Entry::weight).reversed()
+        .thenComparing(Entry::text)
+        .thenComparingLong(Entry::id);
+
+    /** A completion. One entry may be reachable via several keys; each cache holds it once. */
+    record Entry(SuggestionResponse.Type type, long id, String text, double weight) {}
+
+    private static final class Node {
+        char[] labels = NO_LABELS;
+        Node[] children = NO_CHILDREN;
+        Entry[] terminals = NO_ENTRIES;
+        Entry[] top = NO_ENTRIES;
+
+        Node child(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i >= 0) {
+                return children[i];
+            }
+            int insertAt = -i - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        void removeChild(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(labels, i + 1, newLabels, i, labels.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return terminals.length == 0 && children.length == 0;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+
+    void add(String key, Entry entry) {
+        String normalized = truncate(key);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < normalized.length(); i++) {
+                node = node.childOrCreate(normalized.charAt(i));
+                offer(node, entry);
+            }
+            node.terminals = append(node.terminals, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String key, Entry entry) {
+        String normalized = truncate(key);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node[] path = new Node[normalized.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < normalized.length(); i++) {
+                path[i + 1] = path[i].child(normalized.charAt(i));
+                if (path[i + 1] == null) {
+                    return;
+                }
+            }
+            Node leaf = path[normalized.length()];
+            leaf.terminals = without(leaf.terminals, entry);
+
+            for (int depth = normalized.length(); depth >= 1; depth--) {
+                Node node = path[depth];
+                if (node.isEmpty()) {
+                    path[depth - 1].removeChild(normalized.charAt(depth - 1));
+                } else if (contains(node.top, entry)) {
+                    recompute(node);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} (at most {@value #TOP_K}) best entries whose key starts with the prefix. */
+    List<Entry> complete(String prefix, int limit) {
+        String normalized = truncate(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < normalized.length() && node != null; i++) {
+                node = node.child(normalized.charAt(i));
+            }
+            if (node == null || node == root) {
+                return List.of();
+            }
+            return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static void offer(Node node, Entry entry) {
+        if (contains(node.top, entry)) {
+            return;
+        }
+        if (node.top.length < TOP_K) {
+            node.top = sortedInsert(node.top, entry);
+        } else if (RANKING.compare(entry, node.top[TOP_K - 1]) < 0) {
+            node.top = sortedInsert(Arrays.copyOf(node.top, TOP_K - 1), entry);
+        }
+    }
+
+    private static void recompute(Node node) {
+        List<Entry> candidates = new ArrayList<>(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(RANKING);
+        List<Entry> best = new ArrayList<>(TOP_K);
+        for (Entry candidate : candidates) {
+            if (best.size() == TOP_K) {
+                break;
+            }
+            if (!best.contains(candidate)) {
+                best.add(candidate);
+            }
+        }
+        node.top = best.toArray(NO_ENTRIES);
+    }
+
+    private static Entry[] sortedInsert(Entry[] sorted, Entry entry) {
+        int i = Arrays.binarySearch(sorted, entry, RANKING);
+        int insertAt = i >= 0 ? i : -i - 1;
+        Entry[] result = new Entry[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, insertAt);
+        result[insertAt] = entry;
+        System.arraycopy(sorted, insertAt, result, insertAt + 1, sorted.length - insertAt);
+        return result;
+    }
+
+    private static boolean contains(Entry[] entries, Entry entry) {
+        for (Entry e : entries) {
+            if (e == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Entry[] append(Entry[] entries, Entry entry) {
+        if (contains(entries, entry)) {
+            return entries;
+        }
+        Entry[] result = Arrays.copyOf(entries, entries.length + 1);
+        result[entries.length] = entry;
+        return result;
+    }
+
+    private static Entry[] without(Entry[] entries, Entry entry) {
+        List<Entry> kept = new ArrayList<>(entries.length);
+        for (Entry e : entries) {
+            if (e != entry) {
+                kept.add(e);
+            }
+        }
+        return kept.toArray(NO_ENTRIES);
+    }
+}
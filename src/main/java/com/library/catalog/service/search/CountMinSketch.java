@@ -0,0 +1,59 @@
+package com.library.catalog.service.search;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free frequency estimator. A query is counted in one cell of each of
+ * {@value #DEPTH} rows; its estimate is the smallest of those cells, which can only
+ * over-count (by collisions), never under-count.
+ *
+ * <p>{@value #DEPTH} x {@value #WIDTH} {@code long} counters are 256 KB whatever the
+ * number of distinct queries. With {@code N} recorded queries, an estimate exceeds the
+ * true count by more than {@code e * N / WIDTH} with probability at most {@code e^-DEPTH}.
+ *
+ * <p>Row indexes are derived from {@link String#hashCode()}, which strings cache, by
+ * double hashing, so recording allocates nothing. Two strings with the same hash code
+ * share all their cells; for search queries that is rare enough to ignore.
+ */
+final class CountMinSketch {
+
+    static final int DEPTH = 4;
+    static final int WIDTH = 1 << 13;
+
+    private static final int MASK = WIDTH - 1;
+
+    private final AtomicLongArray counters = new AtomicLongArray(DEPTH * WIDTH);
+
+    void add(String key, long count) {
+        long hash = spread(key.hashCode());
+        for (int row = 0; row < DEPTH; row++) {
+            counters.getAndAdd(row * WIDTH + index(hash, row), count);
+        }
+    }
+
+    long estimate(String key) {
+        long hash = spread(key.hashCode());
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(row * WIDTH + index(hash, row)));
+        }
+        return min;
+    }
+
+    void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    /** Mixes the 32-bit hash code into two independent 32-bit halves. */
+    private static long spread(int hashCode) {
+        return hashCode * 0x9E3779B97F4A7C15L;
+    }
+
+    private static int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + row * h2) & MASK;
+    }
+}
@@ -0,0 +1,247 @@
+package com.library.catalog.service.search;
+
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.SearchResultResponse;
+import com.library.catalog.event.AuthorChangedEvent;
+import com.library.catalog.event.BookChangedEvent;
+import com.library.catalog.event.BooksImportedEvent;
+import com.library.catalog.event.ChangeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Search backend that answers queries from an in-process {@link InvertedIndex} instead
+ * of PostgreSQL. Enabled with {@code catalog.search.engine=memory}; when the property is
+ * absent or {@code postgres} this bean does not exist and {@code SearchService} uses the
+ * full-text search queries.
+ *
+ * <p><strong>Bootstrap</strong>: the index is built from the database in keyset-ordered
+ * batches once the application is ready. Until then {@link #isReady()} is false and
+ * {@code SearchService} keeps routing queries to PostgreSQL.
+ *
+ * <p><strong>Incremental updates</strong>: committed {@link BookChangedEvent}s and
+ * {@link AuthorChangedEvent}s re-read only the affected books. Changes that arrive while
+ * a rebuild is running are replayed onto the rebuilt index before it is published.
+ */
+@Service
+@ConditionalOnProperty(prefix = "catalog.search", name = "engine", havingValue = "memory")
+public class InMemorySearchEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemorySearchEngine.class);
+
+    private static final int BOOTSTRAP_BATCH_SIZE = 5000;
+
+    private static final String BOOKS_BATCH_QUERY = """
+        SELECT id, title, isbn, description, published_year
+        FROM books
+        WHERE id > :afterId
+        ORDER BY id
+        LIMIT :limit
+        """;
+
+    private static final String BOOK_QUERY = """
+        SELECT id, title, isbn, description, published_year
+        FROM books
+        WHERE id = :bookId
+        """;
+
+    private static final String BOOK_RANGE_QUERY = """
+        SELECT id, title, isbn, description, published_year
+        FROM books
+        WHERE id BETWEEN :fromId AND :toId
+        ORDER BY id
+        """;
+
+    private static final String AUTHORS_BY_BOOK_RANGE_QUERY = """
+        SELECT ba.book_id, a.id, a.first_name, a.last_name
+        FROM book_authors ba
+        JOIN authors a ON a.id = ba.author_id
+        WHERE ba.book_id BETWEEN :fromId AND :toId
+        ORDER BY ba.book_id, a.id
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Object rebuildLock = new Object();
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+
+    public InMemorySearchEngine(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        rebuild();
+    }
+
+    /** Rebuilds the whole index from the database and atomically swaps it in. */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.nanoTime();
+            rebuilding = true;
+            changedDuringRebuild.clear();
+            try {
+                InvertedIndex fresh = new InvertedIndex();
+                long afterId = 0;
+                List<IndexedBook> batch;
+                do {
+                    batch = loadBooks(BOOKS_BATCH_QUERY, new MapSqlParameterSource()
+                        .addValue("afterId", afterId)
+                        .addValue("limit", BOOTSTRAP_BATCH_SIZE));
+                    for (IndexedBook book : batch) {
+                        fresh.upsert(book.stored(), book.description());
+                    }
+                    if (!batch.isEmpty()) {
+                        afterId = batch.get(batch.size() - 1).stored().bookId();
+                    }
+                } while (batch.size() == BOOTSTRAP_BATCH_SIZE);
+
+                index = fresh;
+            } finally {
+                rebuilding = false;
+            }
+            for (Long bookId : changedDuringRebuild) {
+                reindexBook(bookId);
+            }
+            changedDuringRebuild.clear();
+            ready = true;
+            log.info("In-memory search index built with {} books in {} ms",
+                index.size(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    public Page<SearchResultResponse> search(String query, Pageable pageable) {
+        // No page can reach past the live books, so neither can the ranked prefix
+        int limit = (int) Math.min(index.size(), pageable.getOffset() + pageable.getPageSize());
+        InvertedIndex.Hits hits = index.search(EnglishAnalyzer.analyze(query), null, limit);
+        List<SearchResultResponse> content = hits.top().stream()
+            .skip(pageable.getOffset())
+            .map(InMemorySearchEngine::toResponse)
+            .toList();
+        return new PageImpl<>(content, pageable, hits.total());
+    }
+
+    /**
+     * Returns up to {@code limit} results ranked strictly after {@code (afterScore, afterId)},
+     * or from the top when {@code afterId} is {@code null}.
+     */
+    public List<SearchResultResponse> searchAfter(String query, Float afterScore, Long afterId, int limit) {
+        InvertedIndex.Match after = afterId == null ? null : new InvertedIndex.Match(afterScore,
+            new InvertedIndex.StoredBook(afterId, null, null, null, List.of()));
+        return index.search(EnglishAnalyzer.analyze(query), after, limit).top().stream()
+            .map(InMemorySearchEngine::toResponse)
+            .toList();
+    }
+
+    @TransactionalEventListener
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.changeType() == ChangeType.DELETED) {
+            index.remove(event.bookId());
+            markChangedDuringRebuild(event.bookId());
+        } else {
+            reindexBook(event.bookId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (event.changeType() == ChangeType.CREATED) {
+            return; // a new author has no books yet
+        }
+        for (Long bookId : index.bookIdsByAuthor(event.authorId())) {
+            reindexBook(bookId);
+        }
+    }
+
+    /** Indexes an import chunk with one range read instead of one read per book. */
+    @TransactionalEventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        List<Long> bookIds = event.bookIds();
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        for (IndexedBook book : loadBooks(BOOK_RANGE_QUERY, new MapSqlParameterSource()
+                .addValue("fromId", bookIds.get(0))
+                .addValue("toId", bookIds.get(bookIds.size() - 1)))) {
+            index.upsert(book.stored(), book.description());
+            markChangedDuringRebuild(book.stored().bookId());
+        }
+    }
+
+    private void reindexBook(Long bookId) {
+        List<IndexedBook> loaded = loadBooks(BOOK_QUERY, new MapSqlParameterSource("bookId", bookId));
+        if (loaded.isEmpty()) {
+            index.remove(bookId);
+        } else {
+            index.upsert(loaded.get(0).stored(), loaded.get(0).description());
+        }
+        markChangedDuringRebuild(bookId);
+    }
+
+    private void markChangedDuringRebuild(Long bookId) {
+        if (rebuilding) {
+            changedDuringRebuild.add(bookId);
+        }
+    }
+
+    private record IndexedBook(InvertedIndex.StoredBook stored, String description) {}
+
+    private List<IndexedBook> loadBooks(String sql, MapSqlParameterSource params) {
+        List<Object[]> rows = jdbcTemplate.query(sql, params, (rs, rowNum) -> new Object[] {
+            rs.getLong("id"), rs.getString("title"), rs.getString("isbn"),
+            rs.getString("description"), rs.getObject("published_year", Integer.class)
+        });
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        // Ids are ascending (or a single id), so one range query fetches every author
+        Map<Long, List<BookResponse.AuthorSummary>> authorsByBook = new HashMap<>();
+        jdbcTemplate.query(AUTHORS_BY_BOOK_RANGE_QUERY, new MapSqlParameterSource()
+                .addValue("fromId", rows.get(0)[0])
+                .addValue("toId", rows.get(rows.size() - 1)[0]),
+            rs -> {
+                authorsByBook.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>())
+                    .add(new BookResponse.AuthorSummary(rs.getLong(2), rs.getString(3), rs.getString(4)));
+            });
+
+        List<IndexedBook> books = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long bookId = (Long) row[0];
+            books.add(new IndexedBook(
+                new InvertedIndex.StoredBook(bookId, (String) row[1], (String) row[2], (Integer) row[4],
+                    List.copyOf(authorsByBook.getOrDefault(bookId, List.of()))),
+                (String) row[3]));
+        }
+        return books;
+    }
+
+    private static SearchResultResponse toResponse(InvertedIndex.Match match) {
+        InvertedIndex.StoredBook book = match.book();
+        return new SearchResultResponse(book.bookId(), book.title(), book.isbn(),
+            book.publishedYear(), book.authors(), match.score());
+    }
+}
@@ -0,0 +1,322 @@
+package com.library.catalog.service.search;
+
+import com.library.catalog.dto.response.BookResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe in-memory inverted index over books, scored with BM25.
+ *
+ * <p><strong>Layout</strong>: each indexed book gets a dense {@code int} ordinal. A term's
+ * postings are two parallel primitive arrays (ordinals, weighted term frequencies) kept
+ * in ascending ordinal order, so conjunctive queries intersect them with forward-only
+ * cursors. Updates never rewrite postings in place: a changed book is tombstoned and
+ * re-appended under a fresh ordinal, and the index compacts itself once tombstones
+ * outnumber live books.
+ *
+ * <p><strong>Fields</strong>: title, author names and description are indexed into one
+ * term space with frequency boosts 3/2/1, mirroring the A/B/C weights PostgreSQL uses
+ * for {@code books.search_vector}.
+ *
+ * <p><strong>Matching</strong>: all query terms must match (the semantics of
+ * {@code plainto_tsquery}); results are ordered by score descending, then book id.
+ */
+final class InvertedIndex {
+
+    static final int TITLE_BOOST = 3;
+    static final int AUTHOR_BOOST = 2;
+    static final int DESCRIPTION_BOOST = 1;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_COMPACTION_TOMBSTONES = 1024;
+
+    /** Ranking order: higher score first, then lower book id. */
+    static final Comparator<Match> RANKING = Comparator
+        .comparingDouble(Match::score).reversed()
+        .thenComparingLong(match -> match.book().bookId());
+
+    /** Book data kept for building responses without a database round-trip. */
+    record StoredBook(long bookId, String title, String isbn, Integer publishedYear,
+                      List<BookResponse.AuthorSummary> authors) {}
+
+    record Match(float score, StoredBook book) {}
+
+    /** Top-ranked matches plus the total number of books that matched. */
+    record Hits(long total, List<Match> top) {}
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+        int liveDocs;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            liveDocs++;
+        }
+    }
+
+    private static final class Doc {
+        final StoredBook book;
+        final String[] terms;
+        final int length;
+
+        Doc(StoredBook book, String[] terms, int length) {
+            this.book = book;
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinalsByBookId = new HashMap<>();
+    private final Map<Long, Set<Long>> bookIdsByAuthorId = new HashMap<>();
+    private Doc[] docs = new Doc[1024];
+    private int nextOrdinal;
+    private int tombstones;
+    private long totalLength;
+
+    /** Adds the book, replacing any previously indexed version of it. */
+    void upsert(StoredBook book, String description) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(book.bookId());
+            addInternal(book, analyzeFields(book, description));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(bookId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Ids of indexed books that currently list the given author. */
+    Set<Long> bookIdsByAuthor(long authorId) {
+        lock.readLock().lock();
+        try {
+            return Set.copyOf(bookIdsByAuthorId.getOrDefault(authorId, Set.of()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsByBookId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the {@code limit} best matches for the analyzed query terms, optionally
+     * only those ranked strictly after {@code after} (keyset pagination), together with
+     * the total number of matching books.
+     */
+    Hits search(List<String> terms, Match after, int limit) {
+        Set<String> distinct = new HashSet<>(terms);
+        if (distinct.isEmpty() || limit <= 0) {
+            return new Hits(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(distinct.size());
+            for (String term : distinct) {
+                Postings p = postings.get(term);
+                if (p == null) {
+                    return new Hits(0, List.of());
+                }
+                lists.add(p);
+            }
+            lists.sort(Comparator.comparingInt(p -> p.liveDocs));
+
+            int liveCount = ordinalsByBookId.size();
+            float avgLength = (float) totalLength / liveCount;
+            float[] idf = new float[lists.size()];
+            for (int t = 0; t < lists.size(); t++) {
+                int df = lists.get(t).liveDocs;
+                idf[t] = (float) Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+            }
+
+            // The rarest term's postings bound the matches, whatever the requested depth
+            PriorityQueue<Match> worstFirst =
+                new PriorityQueue<>(Math.min(limit, lists.get(0).liveDocs) + 1, RANKING.reversed());
+            int[] cursors = new int[lists.size()];
+            long total = 0;
+
+            Postings lead = lists.get(0);
+            candidates:
+            for (int i = 0; i < lead.size; i++) {
+                int doc = lead.docs[i];
+                Doc stored = docs[doc];
+                if (stored == null) {
+                    continue;
+                }
+                float lengthNorm = K1 * (1 - B + B * stored.length / avgLength);
+                float score = idf[0] * bm25(lead.freqs[i], lengthNorm);
+                for (int t = 1; t < lists.size(); t++) {
+                    Postings other = lists.get(t);
+                    int c = cursors[t];
+                    while (c < other.size && other.docs[c] < doc) {
+                        c++;
+                    }
+                    cursors[t] = c;
+                    if (c == other.size) {
+                        break candidates;
+                    }
+                    if (other.docs[c] != doc) {
+                        continue candidates;
+                    }
+                    score += idf[t] * bm25(other.freqs[c], lengthNorm);
+                }
+
+                total++;
+                Match match = new Match(score, stored.book);
+                if (after != null && RANKING.compare(match, after) <= 0) {
+                    continue;
+                }
+                worstFirst.offer(match);
+                if (worstFirst.size() > limit) {
+                    worstFirst.poll();
+                }
+            }
+
+            List<Match> top = new ArrayList<>(worstFirst);
+            top.sort(RANKING);
+            return new Hits(total, top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static float bm25(int freq, float lengthNorm) {
+        return freq * (K1 + 1) / (freq + lengthNorm);
+    }
+
+    private static Map<String, Integer> analyzeFields(StoredBook book, String description) {
+        Map<String, Integer> freqs = new LinkedHashMap<>();
+        addField(freqs, book.title(), TITLE_BOOST);
+        for (BookResponse.AuthorSummary author : book.authors()) {
+            addField(freqs, author.firstName() + " " + author.lastName(), AUTHOR_BOOST);
+        }
+        addField(freqs, description, DESCRIPTION_BOOST);
+        return freqs;
+    }
+
+    private static void addField(Map<String, Integer> freqs, String text, int boost) {
+        for (String term : EnglishAnalyzer.analyze(text)) {
+            freqs.merge(term, boost, Integer::sum);
+        }
+    }
+
+    private void addInternal(StoredBook book, Map<String, Integer> termFreqs) {
+        int ordinal = nextOrdinal++;
+        if (ordinal == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new Postings()).add(ordinal, entry.getValue());
+            length += entry.getValue();
+        }
+
+        docs[ordinal] = new Doc(book, termFreqs.keySet().toArray(String[]::new), length);
+        totalLength += length;
+        ordinalsByBookId.put(book.bookId(), ordinal);
+        for (BookResponse.AuthorSummary author : book.authors()) {
+            bookIdsByAuthorId.computeIfAbsent(author.id(), id -> new HashSet<>()).add(book.bookId());
+        }
+    }
+
+    private void removeInternal(long bookId) {
+        Integer ordinal = ordinalsByBookId.remove(bookId);
+        if (ordinal == null) {
+            return;
+        }
+        Doc doc = docs[ordinal];
+        docs[ordinal] = null;
+        tombstones++;
+        totalLength -= doc.length;
+
+        for (String term : doc.terms) {
+            Postings p = postings.get(term);
+            if (--p.liveDocs == 0) {
+                postings.remove(term);
+            }
+        }
+        for (BookResponse.AuthorSummary author : doc.book.authors()) {
+            Set<Long> books = bookIdsByAuthorId.get(author.id());
+            if (books != null && books.remove(bookId) && books.isEmpty()) {
+                bookIdsByAuthorId.remove(author.id());
+            }
+        }
+    }
+
+    /**
+     * Rewrites postings without tombstoned ordinals once they outnumber live books, so
+     * memory and scan cost stay proportional to the live catalog.
+     */
+    private void compactIfNeeded() {
+        if (tombstones < MIN_COMPACTION_TOMBSTONES || tombstones < ordinalsByBookId.size()) {
+            return;
+        }
+        int[] remap = new int[nextOrdinal];
+        Doc[] compacted = new Doc[Math.max(1024, ordinalsByBookId.size() * 2)];
+        int live = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (docs[ordinal] != null) {
+                remap[ordinal] = live;
+                compacted[live++] = docs[ordinal];
+            } else {
+                remap[ordinal] = -1;
+            }
+        }
+
+        for (Postings p : postings.values()) {
+            int write = 0;
+            for (int read = 0; read < p.size; read++) {
+                int target = remap[p.docs[read]];
+                if (target >= 0) {
+                    p.docs[write] = target;
+                    p.freqs[write] = p.freqs[read];
+                    write++;
+                }
+            }
+            p.size = write;
+        }
+        ordinalsByBookId.replaceAll((bookId, ordinal) -> remap[ordinal]);
+
+        docs = compacted;
+        nextOrdinal = live;
+        tombstones = 0;
+    }
+}
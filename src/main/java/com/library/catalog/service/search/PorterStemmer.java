@@ -0,0 +1,331 @@
+package com.library.catalog.service.search;
+
+/**
+ * Martin Porter's English suffix-stripping algorithm (Program 14(3), 1980), following
+ * the reference implementation including its two published bug fixes.
+ *
+ * <p>Input must already be lower-cased ASCII letters; {@link EnglishAnalyzer} guarantees
+ * this. Words of two letters or fewer are returned unchanged.
+ */
+final class PorterStemmer {
+
+    private final char[] b;
+    private int k;
+    private int j;
+
+    private PorterStemmer(String word) {
+        this.b = word.toCharArray();
+        this.k = b.length - 1;
+    }
+
+    static String stem(String word) {
+        if (word.length() <= 2) {
+            return word;
+        }
+        PorterStemmer stemmer = new PorterStemmer(word);
+        stemmer.step1();
+        stemmer.step2();
+        stemmer.step3();
+        stemmer.step4();
+        stemmer.step5();
+        stemmer.step6();
+        return new String(stemmer.b, 0, stemmer.k + 1);
+    }
+
+    private boolean cons(int i) {
+        switch (b[i]) {
+            case 'a', 'e', 'i', 'o', 'u':
+                return false;
+            case 'y':
+                return i == 0 || !cons(i - 1);
+            default:
+                return true;
+        }
+    }
+
+    /** Number of consonant sequences between 0 and j. */
+    private int m() {
+        int n = 0;
+        int i = 0;
+        while (true) {
+            if (i > j) {
+                return n;
+            }
+            if (!cons(i)) {
+                break;
+            }
+            i++;
+        }
+        i++;
+        while (true) {
+            while (true) {
+                if (i > j) {
+                    return n;
+                }
+                if (cons(i)) {
+                    break;
+                }
+                i++;
+            }
+            i++;
+            n++;
+            while (true) {
+                if (i > j) {
+                    return n;
+                }
+                if (!cons(i)) {
+                    break;
+                }
+                i++;
+            }
+            i++;
+        }
+    }
+
+    private boolean vowelInStem() {
+        for (int i = 0; i <= j; i++) {
+            if (!cons(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean doubleConsonant(int i) {
+        return i >= 1 && b[i] == b[i - 1] && cons(i);
+    }
+
+    /** True when i-2, i-1, i is consonant-vowel-consonant and the last is not w, x or y. */
+    private boolean cvc(int i) {
+        if (i < 2 || !cons(i) || cons(i - 1) || !cons(i - 2)) {
+            return false;
+        }
+        char ch = b[i];
+        return ch != 'w' && ch != 'x' && ch != 'y';
+    }
+
+    private boolean ends(String s) {
+        int length = s.length();
+        int offset = k - length + 1;
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (b[offset + i] != s.charAt(i)) {
+                return false;
+            }
+        }
+        j = k - length;
+        return true;
+    }
+
+    /** Replaces b[j+1..k] with s; only ever shortens or keeps the word length. */
+    private void setTo(String s) {
+        int length = s.length();
+        int offset = j + 1;
+        for (int i = 0; i < length; i++) {
+            b[offset + i] = s.charAt(i);
+        }
+        k = j + length;
+    }
+
+    private void replaceIfMeasured(String s) {
+        if (m() > 0) {
+            setTo(s);
+        }
+    }
+
+    /** Plurals and -ed / -ing. */
+    private void step1() {
+        if (b[k] == 's') {
+            if (ends("sses")) {
+                k -= 2;
+            } else if (ends("ies")) {
+                setTo("i");
+            } else if (b[k - 1] != 's') {
+                k--;
+            }
+        }
+        if (ends("eed")) {
+            if (m() > 0) {
+                k--;
+            }
+        } else if ((ends("ed") || ends("ing")) && vowelInStem()) {
+            k = j;
+            if (ends("at")) {
+                setTo("ate");
+            } else if (ends("bl")) {
+                setTo("ble");
+            } else if (ends("iz")) {
+                setTo("ize");
+            } else if (doubleConsonant(k)) {
+                k--;
+                char ch = b[k];
+                if (ch == 'l' || ch == 's' || ch == 'z') {
+                    k++;
+                }
+            } else if (m() == 1 && cvc(k)) {
+                setTo("e");
+            }
+        }
+    }
+
+    /** Terminal y to i when there is another vowel in the stem. */
+    private void step2() {
+        if (ends("y") && vowelInStem()) {
+            b[k] = 'i';
+        }
+    }
+
+    /** Double suffixes to single ones, e.g. -ization to -ize. */
+    private void step3() {
+        if (k == 0) {
+            return;
+        }
+        switch (b[k - 1]) {
+            case 'a' -> {
+                if (ends("ational")) {
+                    replaceIfMeasured("ate");
+                } else if (ends("tional")) {
+                    replaceIfMeasured("tion");
+                }
+            }
+            case 'c' -> {
+                if (ends("enci")) {
+                    replaceIfMeasured("ence");
+                } else if (ends("anci")) {
+                    replaceIfMeasured("ance");
+                }
+            }
+            case 'e' -> {
+                if (ends("izer")) {
+                    replaceIfMeasured("ize");
+                }
+            }
+            case 'l' -> {
+                if (ends("bli")) {
+                    replaceIfMeasured("ble");
+                } else if (ends("alli")) {
+                    replaceIfMeasured("al");
+                } else if (ends("entli")) {
+                    replaceIfMeasured("ent");
+                } else if (ends("eli")) {
+                    replaceIfMeasured("e");
+                } else if (ends("ousli")) {
+                    replaceIfMeasured("ous");
+                }
+            }
+            case 'o' -> {
+                if (ends("ization")) {
+                    replaceIfMeasured("ize");
+                } else if (ends("ation")) {
+                    replaceIfMeasured("ate");
+                } else if (ends("ator")) {
+                    replaceIfMeasured("ate");
+                }
+            }
+            case 's' -> {
+                if (ends("alism")) {
+                    replaceIfMeasured("al");
+                } else if (ends("iveness")) {
+                    replaceIfMeasured("ive");
+                } else if (ends("fulness")) {
+                    replaceIfMeasured("ful");
+                } else if (ends("ousness")) {
+                    replaceIfMeasured("ous");
+                }
+            }
+            case 't' -> {
+                if (ends("aliti")) {
+                    replaceIfMeasured("al");
+                } else if (ends("iviti")) {
+                    replaceIfMeasured("ive");
+                } else if (ends("biliti")) {
+                    replaceIfMeasured("ble");
+                }
+            }
+            case 'g' -> {
+                if (ends("logi")) {
+                    replaceIfMeasured("log");
+                }
+            }
+            default -> {
+                // no double suffix ends with this letter
+            }
+        }
+    }
+
+    /** -ic-, -full, -ness etc. */
+    private void step4() {
+        switch (b[k]) {
+            case 'e' -> {
+                if (ends("icate")) {
+                    replaceIfMeasured("ic");
+                } else if (ends("ative")) {
+                    replaceIfMeasured("");
+                } else if (ends("alize")) {
+                    replaceIfMeasured("al");
+                }
+            }
+            case 'i' -> {
+                if (ends("iciti")) {
+                    replaceIfMeasured("ic");
+                }
+            }
+            case 'l' -> {
+                if (ends("ical")) {
+                    replaceIfMeasured("ic");
+                } else if (ends("ful")) {
+                    replaceIfMeasured("");
+                }
+            }
+            case 's' -> {
+                if (ends("ness")) {
+                    replaceIfMeasured("");
+                }
+            }
+            default -> {
+                // nothing to strip
+            }
+        }
+    }
+
+    /** Takes off -ant, -ence etc. in context <c>vcvc<v>. */
+    private void step5() {
+        if (k == 0) {
+            return;
+        }
+        boolean matched = switch (b[k - 1]) {
+            case 'a' -> ends("al");
+            case 'c' -> ends("ance") || ends("ence");
+            case 'e' -> ends("er");
+            case 'i' -> ends("ic");
+            case 'l' -> ends("able") || ends("ible");
+            case 'n' -> ends("ant") || ends("ement") || ends("ment") || ends("ent");
+            case 'o' -> (ends("ion") && j >= 0 && (b[j] == 's' || b[j] == 't')) || ends("ou");
+            case 's' -> ends("ism");
+            case 't' -> ends("ate") || ends("iti");
+            case 'u' -> ends("ous");
+            case 'v' -> ends("ive");
+            case 'z' -> ends("ize");
+            default -> false;
+        };
+        if (matched && m() > 1) {
+            k = j;
+        }
+    }
+
+    /** Removes a final -e and turns -ll into -l when the measure allows. */
+    private void step6() {
+        j = k;
+        if (b[k] == 'e') {
+            int measure = m();
+            if (measure > 1 || measure == 1 && !cvc(k - 1)) {
+                k--;
+            }
+        }
+        if (b[k] == 'l' && doubleConsonant(k) && m() > 1) {
+            k--;
+        }
+    }
+}
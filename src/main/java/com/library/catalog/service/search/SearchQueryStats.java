@@ -0,0 +1,131 @@
+package com.library.catalog.service.search;
+
+import com.library.catalog.config.SearchProperties;
+import com.library.catalog.dto.response.SearchStatsResponse;
+import com.library.catalog.repository.SearchQueryStatsRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Frequency of sanitized search queries, in fixed memory: a {@link CountMinSketch}
+ * estimates the count of any query, and a {@link SpaceSavingTopK} keeps the heavy
+ * hitters. Recording touches only preallocated counters, so it adds no garbage to the
+ * request path.
+ *
+ * <p>The heavy hitters are snapshotted to {@code search_query_stats} periodically and on
+ * shutdown, and restored into both structures at startup, so counts accumulate across
+ * deploys and {@code SearchWarmup} knows which queries to pre-execute. A snapshot keeps
+ * each query's guaranteed count ({@code count - error}): restored counts are added as
+ * real hits, so an over-count saved with them would be compounded on every deploy.
+ * Nothing is snapshotted until the previous snapshot has been restored (or the counts
+ * reset), so a failed restore cannot replace the history with a few minutes of counts.
+ */
+@Component
+public class SearchQueryStats {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchQueryStats.class);
+
+    private final boolean enabled;
+    private final CountMinSketch sketch = new CountMinSketch();
+    private final SpaceSavingTopK topK;
+    private final LongAdder total = new LongAdder();
+    private final SearchQueryStatsRepository repository;
+    private volatile boolean restored;
+
+    public SearchQueryStats(SearchProperties properties, SearchQueryStatsRepository repository) {
+        SearchProperties.Stats settings = properties.stats();
+        this.enabled = settings.enabled();
+        this.topK = new SpaceSavingTopK(settings.topK());
+        this.repository = repository;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(String sanitizedQuery) {
+        if (!enabled) {
+            return;
+        }
+        total.increment();
+        sketch.add(sanitizedQuery, 1);
+        topK.offer(sanitizedQuery, 1);
+    }
+
+    /** Estimated number of times the query was recorded; never less than the truth. */
+    public long estimate(String sanitizedQuery) {
+        return sketch.estimate(sanitizedQuery);
+    }
+
+    /** Up to {@code limit} most frequent queries, most frequent first. */
+    public List<String> topQueries(int limit) {
+        return topK.top(limit).stream().map(SpaceSavingTopK.Counter::query).toList();
+    }
+
+    public SearchStatsResponse report(int limit) {
+        List<SearchStatsResponse.QueryCount> queries = topK.top(limit).stream()
+            .map(counter -> new SearchStatsResponse.QueryCount(counter.query(), counter.count(),
+                counter.error(), sketch.estimate(counter.query())))
+            .toList();
+        return new SearchStatsResponse(total.sum(), topK.capacity(), queries);
+    }
+
+    /** Forgets all counts, in memory and in the snapshot. */
+    public void reset() {
+        total.reset();
+        sketch.clear();
+        topK.clear();
+        repository.replaceAll(Map.of());
+        restored = true;
+    }
+
+    /** Adds the persisted snapshot to the in-memory counts. */
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        repository.findAll().forEach((query, hits) -> {
+            sketch.add(query, hits);
+            topK.offer(query, hits);
+        });
+        restored = true;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.search.stats.snapshot-interval:5m}",
+        initialDelayString = "${catalog.search.stats.snapshot-interval:5m}")
+    public void snapshot() {
+        if (!enabled) {
+            return;
+        }
+        if (!restored) {
+            log.debug("Search query stats not restored yet; keeping the previous snapshot");
+            return;
+        }
+        Map<String, Long> hits = new LinkedHashMap<>();
+        for (SpaceSavingTopK.Counter counter : topK.top(topK.capacity())) {
+            long guaranteed = counter.count() - counter.error();
+            if (guaranteed > 0) {
+                hits.put(counter.query(), guaranteed);
+            }
+        }
+        repository.replaceAll(hits);
+    }
+
+    @PreDestroy
+    void snapshotOnShutdown() {
+        try {
+            snapshot();
+        } catch (DataAccessException ex) {
+            log.warn("Could not persist search query stats on shutdown", ex);
+        }
+    }
+}
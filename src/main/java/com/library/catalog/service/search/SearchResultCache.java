@@ -0,0 +1,107 @@
+package com.library.catalog.service.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.catalog.config.SearchProperties;
+import com.library.catalog.dto.request.SearchFilter;
+import com.library.catalog.dto.response.SearchPage;
+import com.library.catalog.dto.response.SearchResultResponse;
+import com.library.catalog.event.AuthorChangedEvent;
+import com.library.catalog.event.BookChangedEvent;
+import com.library.catalog.event.BooksImportedEvent;
+import com.library.catalog.event.ChangeType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of offset-paginated search pages, keyed by sanitized query, filters,
+ * whether facets and highlights were requested, page number and page size. Backed by
+ * Caffeine, whose W-TinyLFU admission keeps frequently repeated queries resident while
+ * one-off queries do not flush them out.
+ *
+ * <p><strong>Invalidation</strong>: every committed book write and every author rename or
+ * deletion can change both matches and ranking of arbitrary queries, so the whole cache
+ * is cleared. Catalog writes are rare compared to searches; the TTL only bounds staleness
+ * for changes made outside the services (e.g. direct SQL).
+ *
+ * <p><strong>Racing writes</strong>: a search that started before a write committed may
+ * finish after the cache was cleared and would otherwise re-insert a stale page. Each
+ * invalidation bumps a generation counter; a page is only stored if the generation is
+ * unchanged since its search began. Pages whose count missed its deadline are not
+ * stored either, so a slow count is retried rather than served as a guess.
+ *
+ * <p>Hit, miss, put and eviction counts are published as {@code cache.*} meters with tag
+ * {@code cache=search} (see {@code /actuator/metrics/cache.gets}).
+ */
+@Component
+public class SearchResultCache {
+
+    static final String CACHE_NAME = "search";
+
+    private record Key(String query, SearchFilter filter, boolean facets, boolean highlights, int page, int size) {}
+
+    private final boolean enabled;
+    private final Cache<Key, Page<SearchResultResponse>> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public SearchResultCache(SearchProperties properties, MeterRegistry meterRegistry) {
+        SearchProperties.Cache settings = properties.cache();
+        this.enabled = settings.enabled();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(settings.maximumSize())
+            .expireAfterWrite(settings.ttl())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /** Returns the cached page for the request, or runs {@code search} and caches its result. */
+    public Page<SearchResultResponse> get(String query, SearchFilter filter, boolean facets, boolean highlights,
+                                          Pageable pageable, Supplier<Page<SearchResultResponse>> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        Key key = new Key(query, filter, facets, highlights, pageable.getPageNumber(), pageable.getPageSize());
+        Page<SearchResultResponse> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startedAt = generation.get();
+        Page<SearchResultResponse> result = search.get();
+        boolean partial = result instanceof SearchPage<?> page && page.isCountTimedOut();
+        if (!partial && generation.get() == startedAt) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onBookChanged(BookChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (event.changeType() != ChangeType.CREATED) { // a new author has no books yet
+            invalidateAll();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        invalidateAll();
+    }
+}
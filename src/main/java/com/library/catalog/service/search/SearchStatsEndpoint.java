@@ -0,0 +1,28 @@
+package com.library.catalog.service.search;
+
+import com.library.catalog.dto.response.SearchStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/searchstats[?limit=N]} reports the most frequent search queries.
+ * The endpoint is read-only: counts feed {@code SearchWarmup} and persist across deploys,
+ * so forgetting them ({@link SearchQueryStats#reset()}) is not exposed over HTTP.
+ */
+@Component
+@Endpoint(id = "searchstats")
+@RequiredArgsConstructor
+public class SearchStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final SearchQueryStats searchQueryStats;
+
+    @ReadOperation
+    public SearchStatsResponse searchStats(@Nullable Integer limit) {
+        return searchQueryStats.report(limit != null ? Math.max(1, limit) : DEFAULT_LIMIT);
+    }
+}
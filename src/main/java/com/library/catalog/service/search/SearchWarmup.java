@@ -0,0 +1,69 @@
+package com.library.catalog.service.search;
+
+import com.library.catalog.config.SearchProperties;
+import com.library.catalog.service.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Pre-executes the most frequent queries of previous runs once the application is ready,
+ * so the first requests after a deploy find the search cache filled and the relevant
+ * index and heap pages in PostgreSQL's buffers. Runs on a virtual thread: readiness is
+ * not delayed, and a failed warm-up only costs the first real requests their speed.
+ */
+@Component
+public class SearchWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchWarmup.class);
+
+    private final SearchQueryStats searchQueryStats;
+    private final SearchService searchService;
+    private final ExecutorService searchExecutor;
+    private final int warmupQueries;
+
+    public SearchWarmup(SearchQueryStats searchQueryStats, SearchService searchService,
+                        ExecutorService searchExecutor, SearchProperties properties) {
+        this.searchQueryStats = searchQueryStats;
+        this.searchService = searchService;
+        this.searchExecutor = searchExecutor;
+        this.warmupQueries = properties.stats().warmupQueries();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!searchQueryStats.isEnabled()) {
+            return;
+        }
+        searchExecutor.execute(this::warmUp);
+    }
+
+    void warmUp() {
+        long started = System.nanoTime();
+        List<String> queries;
+        try {
+            searchQueryStats.restore();
+            queries = searchQueryStats.topQueries(warmupQueries);
+        } catch (RuntimeException ex) {
+            log.warn("Could not restore search query stats; skipping warm-up", ex);
+            return;
+        }
+
+        int warmed = 0;
+        for (String query : queries) {
+            try {
+                searchService.warmUp(query);
+                warmed++;
+            } catch (RuntimeException ex) {
+                log.debug("Warm-up search for '{}' failed", query, ex);
+            }
+        }
+        log.info("Search warm-up ran {} of {} top queries in {} ms",
+            warmed, queries.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+}
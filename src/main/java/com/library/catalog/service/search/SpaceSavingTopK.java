@@ -0,0 +1,155 @@
+package com.library.catalog.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy hitters: tracks at most {@code capacity} queries and guarantees that
+ * any query seen more than {@code N / capacity} times out of {@code N} is among them.
+ *
+ * <p>A tracked query's counter is incremented. An untracked one replaces the query with
+ * the smallest counter and inherits that counter plus one; the inherited part is kept as
+ * its maximum over-count ({@code error}). Counts are therefore upper bounds, exact for
+ * queries that never had to displace another.
+ *
+ * <p>Offers are spread over independent stripes by thread, each a full Space-Saving
+ * summary with its own lock, so concurrent searches rarely meet on the same monitor.
+ * Stripes are merged only when read ({@link #top}, i.e. reports and snapshots): a query
+ * missing from a full stripe may have been counted there up to that stripe's smallest
+ * counter, which is added to both its count and its error, so merged counts stay upper
+ * bounds and the guarantee above holds for the union of all offers.
+ *
+ * <p>Slots are preallocated parallel arrays scanned linearly (hash code first, then
+ * {@code equals}), so offering allocates nothing. The scan over a few hundred slots is
+ * far cheaper than the search it accounts for, and is the only work done under the lock.
+ */
+final class SpaceSavingTopK {
+
+    /** A tracked query with its (over-)estimated count and the maximum over-count. */
+    record Counter(String query, long count, long error) {}
+
+    private record Summary(Map<String, Counter> counters, long floor) {}
+
+    private final Stripe[] stripes;
+
+    SpaceSavingTopK(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors());
+    }
+
+    SpaceSavingTopK(int capacity, int stripeCount) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Top-K capacity must be positive");
+        }
+        stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    int capacity() {
+        return stripes[0].queries.length;
+    }
+
+    void offer(String query, long count) {
+        offer((int) (Thread.currentThread().threadId() % stripes.length), query, count);
+    }
+
+    /** Offers to the given stripe; {@link #offer(String, long)} picks it by thread. */
+    void offer(int stripe, String query, long count) {
+        stripes[stripe].offer(query, count);
+    }
+
+    /** The {@code limit} highest counters of all stripes merged, highest first. */
+    List<Counter> top(int limit) {
+        List<Summary> summaries = new ArrayList<>(stripes.length);
+        Map<String, long[]> merged = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            Summary summary = stripe.summary();
+            summaries.add(summary);
+            summary.counters().keySet().forEach(query -> merged.computeIfAbsent(query, q -> new long[2]));
+        }
+        for (Summary summary : summaries) {
+            merged.forEach((query, totals) -> {
+                Counter counter = summary.counters().get(query);
+                totals[0] += counter != null ? counter.count() : summary.floor();
+                totals[1] += counter != null ? counter.error() : summary.floor();
+            });
+        }
+        List<Counter> counters = new ArrayList<>(merged.size());
+        merged.forEach((query, totals) -> counters.add(new Counter(query, totals[0], totals[1])));
+        counters.sort(Comparator.comparingLong(Counter::count).reversed().thenComparing(Counter::query));
+        return counters.subList(0, Math.min(Math.min(limit, capacity()), counters.size()));
+    }
+
+    void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /** One Space-Saving summary over the offers of the threads mapped to it. */
+    private static final class Stripe {
+
+        private final String[] queries;
+        private final int[] hashes;
+        private final long[] counts;
+        private final long[] errors;
+        private int size;
+
+        Stripe(int capacity) {
+            queries = new String[capacity];
+            hashes = new int[capacity];
+            counts = new long[capacity];
+            errors = new long[capacity];
+        }
+
+        synchronized void offer(String query, long count) {
+            int hash = query.hashCode();
+            int min = 0;
+            for (int i = 0; i < size; i++) {
+                if (hashes[i] == hash && queries[i].equals(query)) {
+                    counts[i] += count;
+                    return;
+                }
+                if (counts[i] < counts[min]) {
+                    min = i;
+                }
+            }
+            if (size < queries.length) {
+                set(size++, query, hash, count, 0);
+            } else {
+                set(min, query, hash, counts[min] + count, counts[min]);
+            }
+        }
+
+        /**
+         * The tracked counters, and the most an untracked query can have been offered here:
+         * the smallest counter once the stripe is full, 0 before.
+         */
+        synchronized Summary summary() {
+            Map<String, Counter> counters = new HashMap<>(size * 2);
+            long floor = size < queries.length ? 0 : Long.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                counters.put(queries[i], new Counter(queries[i], counts[i], errors[i]));
+                floor = Math.min(floor, counts[i]);
+            }
+            return new Summary(counters, floor);
+        }
+
+        synchronized void clear() {
+            Arrays.fill(queries, null);
+            size = 0;
+        }
+
+        private void set(int slot, String query, int hash, long count, long error) {
+            queries[slot] = query;
+            hashes[slot] = hash;
+            counts[slot] = count;
+            errors[slot] = error;
+        }
+    }
+}
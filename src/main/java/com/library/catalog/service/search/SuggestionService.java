@@ -0,0 +1,293 @@
+package com.library.catalog.service.search;
+
+import com.library.catalog.dto.response.SuggestionResponse;
+import com.library.catalog.event.AuthorChangedEvent;
+import com.library.catalog.event.BookChangedEvent;
+import com.library.catalog.event.BookReservedEvent;
+import com.library.catalog.event.BooksImportedEvent;
+import com.library.catalog.event.ChangeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Typeahead completions for book titles and author names, served entirely from a
+ * {@link CompletionTrie} held in memory — a keystroke never reaches the database.
+ *
+ * <p><strong>Keys</strong>: a book is reachable by its title and, for titles starting
+ * with an article, by the title without it ("pragmatic" finds "The Pragmatic
+ * Programmer"). An author is reachable by "first last" and "last first". Keys are
+ * lower-cased with whitespace collapsed; the same normalization is applied to prefixes.
+ *
+ * <p><strong>Popularity</strong>: books are weighted by their decayed reservation score
+ * (V10), authors by the sum of their books'. Weights are read when an entry is
+ * (re)loaded: at bootstrap, on every committed catalog write that touches it, and on
+ * every reservation of a book, which reloads the book and its authors. See
+ * {@link #POPULARITY_KEY} for why entries loaded at different times stay comparable.
+ *
+ * <p><strong>Rebuilds</strong> load a fresh trie while the current one keeps serving and
+ * receiving changes, as in {@link InMemorySearchEngine}: ids changed meanwhile are
+ * replayed into the fresh trie after the swap, so change listeners never wait for a
+ * rebuild.
+ */
+@Service
+public class SuggestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestionService.class);
+
+    public static final int MAX_SUGGESTIONS = CompletionTrie.TOP_K;
+
+    private static final int BOOTSTRAP_BATCH_SIZE = 5000;
+    private static final Set<String> LEADING_ARTICLES = Set.of("the", "a", "an");
+
+    /**
+     * A popularity score (V10) as of now, as a weight that never needs refreshing: its
+     * base-2 logarithm plus the half-lives elapsed since the epoch. All scores decay by the
+     * same factor over the same time, so weights read at different moments order entries
+     * as their scores would at any single moment. NULL (never reserved) ranks last.
+     */
+    private static final String POPULARITY_KEY =
+        "ln(NULLIF(%s, 0)) / ln(2) + extract(epoch FROM now()) / (30 * 86400)";
+
+    private static final String BOOKS_QUERY = """
+        SELECT b.id, b.title,
+               %s AS popularity
+        FROM books b
+        WHERE b.id > :afterId AND b.id <= :toId
+        ORDER BY b.id
+        LIMIT :limit
+        """.formatted(POPULARITY_KEY.formatted(
+            "book_popularity(b.popularity_score, b.popularity_updated_at, now())"));
+
+    private static final String AUTHORS_QUERY = """
+        SELECT a.id, a.first_name, a.last_name,
+               (SELECT %s
+                  FROM book_authors ba
+                  JOIN books b ON b.id = ba.book_id
+                 WHERE ba.author_id = a.id) AS popularity
+        FROM authors a
+        WHERE a.id > :afterId AND a.id <= :toId
+        ORDER BY a.id
+        LIMIT :limit
+        """.formatted(POPULARITY_KEY.formatted(
+            "SUM(book_popularity(b.popularity_score, b.popularity_updated_at, now()))"));
+
+    private static final String AUTHORS_OF_BOOK_QUERY = "SELECT author_id FROM book_authors WHERE book_id = :bookId";
+
+    /** A trie and the entries it holds by id, so an entry's keys can be removed when it changes. */
+    private record Completions(CompletionTrie trie, Map<Long, CompletionTrie.Entry> books,
+                               Map<Long, CompletionTrie.Entry> authors) {
+
+        static Completions empty() {
+            return new Completions(new CompletionTrie(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        Map<Long, CompletionTrie.Entry> entries(SuggestionResponse.Type type) {
+            return type == SuggestionResponse.Type.BOOK ? books : authors;
+        }
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Object rebuildLock = new Object();
+    private final Object updateLock = new Object();
+    private final Set<Long> booksChangedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<Long> authorsChangedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile Completions completions = Completions.empty();
+    private volatile boolean rebuilding;
+
+    public SuggestionService(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Suggestion prefix must not be blank");
+        }
+        return completions.trie().complete(normalized, Math.min(limit, MAX_SUGGESTIONS)).stream()
+            .map(entry -> new SuggestionResponse(entry.text(), entry.type(), entry.id()))
+            .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        rebuild();
+    }
+
+    /** Reloads every title and author name from the database into a fresh trie. */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.nanoTime();
+            rebuilding = true;
+            booksChangedDuringRebuild.clear();
+            authorsChangedDuringRebuild.clear();
+            Completions fresh = Completions.empty();
+            try {
+                loadAll(BOOKS_QUERY, SuggestionResponse.Type.BOOK, fresh);
+                loadAll(AUTHORS_QUERY, SuggestionResponse.Type.AUTHOR, fresh);
+                completions = fresh;
+            } finally {
+                rebuilding = false;
+            }
+            synchronized (updateLock) {
+                booksChangedDuringRebuild.forEach(id -> reload(SuggestionResponse.Type.BOOK, id, ChangeType.UPDATED));
+                authorsChangedDuringRebuild.forEach(id ->
+                    reload(SuggestionResponse.Type.AUTHOR, id, ChangeType.UPDATED));
+            }
+            booksChangedDuringRebuild.clear();
+            authorsChangedDuringRebuild.clear();
+            log.info("Suggestion trie built with {} books and {} authors in {} ms",
+                fresh.books().size(), fresh.authors().size(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookChanged(BookChangedEvent event) {
+        synchronized (updateLock) {
+            reload(SuggestionResponse.Type.BOOK, event.bookId(), event.changeType());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        synchronized (updateLock) {
+            reload(SuggestionResponse.Type.AUTHOR, event.authorId(), event.changeType());
+        }
+    }
+
+    /** A reservation raised the book's popularity, and with it its authors'. */
+    @TransactionalEventListener
+    public void onBookReserved(BookReservedEvent event) {
+        List<Long> authorIds = jdbcTemplate.queryForList(AUTHORS_OF_BOOK_QUERY,
+            new MapSqlParameterSource("bookId", event.bookId()), Long.class);
+        synchronized (updateLock) {
+            reload(SuggestionResponse.Type.BOOK, event.bookId(), ChangeType.UPDATED);
+            for (Long authorId : authorIds) {
+                reload(SuggestionResponse.Type.AUTHOR, authorId, ChangeType.UPDATED);
+            }
+        }
+    }
+
+    /**
+     * Loads every book and created author of an import chunk with one range query per
+     * type. Ids of a chunk are nearly contiguous; other entities that fall inside the
+     * range are simply reloaded.
+     */
+    @TransactionalEventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        synchronized (updateLock) {
+            loadRange(BOOKS_QUERY, SuggestionResponse.Type.BOOK, event.bookIds());
+            loadRange(AUTHORS_QUERY, SuggestionResponse.Type.AUTHOR, event.authorIds());
+        }
+    }
+
+    private void loadRange(String sql, SuggestionResponse.Type type, List<Long> ascendingIds) {
+        if (!ascendingIds.isEmpty()) {
+            List<CompletionTrie.Entry> loaded = load(sql, type, ascendingIds.get(0) - 1,
+                ascendingIds.get(ascendingIds.size() - 1), Integer.MAX_VALUE, completions);
+            loaded.forEach(entry -> markChangedDuringRebuild(type, entry.id()));
+        }
+    }
+
+    /** Replaces the entry with its current row, if any; the caller holds {@code updateLock}. */
+    private void reload(SuggestionResponse.Type type, Long id, ChangeType changeType) {
+        Completions target = completions;
+        CompletionTrie.Entry previous = target.entries(type).remove(id);
+        if (previous != null) {
+            for (String key : keysFor(previous)) {
+                target.trie().remove(key, previous);
+            }
+        }
+        if (changeType != ChangeType.DELETED) {
+            String sql = type == SuggestionResponse.Type.BOOK ? BOOKS_QUERY : AUTHORS_QUERY;
+            load(sql, type, id - 1, id, 1, target);
+        }
+        markChangedDuringRebuild(type, id);
+    }
+
+    private void markChangedDuringRebuild(SuggestionResponse.Type type, Long id) {
+        if (rebuilding) {
+            (type == SuggestionResponse.Type.BOOK ? booksChangedDuringRebuild : authorsChangedDuringRebuild).add(id);
+        }
+    }
+
+    private void loadAll(String sql, SuggestionResponse.Type type, Completions target) {
+        long afterId = 0;
+        int loaded;
+        do {
+            List<CompletionTrie.Entry> batch = load(sql, type, afterId, Long.MAX_VALUE, BOOTSTRAP_BATCH_SIZE, target);
+            loaded = batch.size();
+            if (loaded > 0) {
+                afterId = batch.get(loaded - 1).id();
+            }
+        } while (loaded == BOOTSTRAP_BATCH_SIZE);
+    }
+
+    private List<CompletionTrie.Entry> load(String sql, SuggestionResponse.Type type,
+                                            long afterId, long toId, int limit, Completions target) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("afterId", afterId)
+            .addValue("toId", toId)
+            .addValue("limit", limit);
+        List<CompletionTrie.Entry> batch = jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            String text = type == SuggestionResponse.Type.BOOK
+                ? rs.getString("title")
+                : rs.getString("first_name") + " " + rs.getString("last_name");
+            Double popularity = rs.getObject("popularity", Double.class);
+            return new CompletionTrie.Entry(type, rs.getLong("id"), text,
+                popularity == null ? Double.NEGATIVE_INFINITY : popularity);
+        });
+
+        Map<Long, CompletionTrie.Entry> entries = target.entries(type);
+        for (CompletionTrie.Entry entry : batch) {
+            CompletionTrie.Entry previous = entries.put(entry.id(), entry);
+            if (previous != null) {
+                for (String key : keysFor(previous)) {
+                    target.trie().remove(key, previous);
+                }
+            }
+            for (String key : keysFor(entry)) {
+                target.trie().add(key, entry);
+            }
+        }
+        return batch;
+    }
+
+    private static Set<String> keysFor(CompletionTrie.Entry entry) {
+        String normalized = normalize(entry.text());
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalized);
+
+        String[] words = normalized.split(" ");
+        if (entry.type() == SuggestionResponse.Type.BOOK) {
+            if (words.length > 1 && LEADING_ARTICLES.contains(words[0])) {
+                keys.add(normalized.substring(words[0].length() + 1));
+            }
+        } else if (words.length > 1) {
+            List<String> rotated = new ArrayList<>(List.of(words).subList(1, words.length));
+            rotated.add(words[0]);
+            keys.add(String.join(" ", rotated));
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,55 @@
+package com.library.catalog.service.search;
+
+import com.library.catalog.dto.response.SearchResultResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges ranked result lists, each already sorted best first, into one global ranking.
+ *
+ * <p>The heap holds one cursor per input list, never more, so merging {@code n} lists
+ * into a page of {@code k} results costs {@code O(k log n)} regardless of how long the
+ * inputs are. Ranking matches the SQL search queries: relevance descending, then id.
+ */
+public final class TopKMerger {
+
+    public static final Comparator<SearchResultResponse> RANKING = Comparator
+        .comparingDouble(SearchResultResponse::relevanceScore).reversed()
+        .thenComparingLong(SearchResultResponse::id);
+
+    private record Cursor(List<SearchResultResponse> results, int position) {
+        SearchResultResponse head() {
+            return results.get(position);
+        }
+    }
+
+    private TopKMerger() {
+    }
+
+    /** The merged results ranked {@code skip + 1} to {@code skip + limit}. */
+    public static List<SearchResultResponse> merge(List<List<SearchResultResponse>> ranked, long skip, int limit) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, ranked.size()),
+            Comparator.comparing(Cursor::head, RANKING));
+        for (List<SearchResultResponse> results : ranked) {
+            if (!results.isEmpty()) {
+                heads.add(new Cursor(results, 0));
+            }
+        }
+
+        List<SearchResultResponse> page = new ArrayList<>(limit);
+        long taken = 0;
+        while (page.size() < limit && !heads.isEmpty()) {
+            Cursor best = heads.poll();
+            if (taken++ >= skip) {
+                page.add(best.head());
+            }
+            if (best.position() + 1 < best.results().size()) {
+                heads.add(new Cursor(best.results(), best.position() + 1));
+            }
+        }
+        return page;
+    }
+}
@@ -0,0 +1,42 @@
+-- V10: Reservation-driven popularity, blended into full-text ranking.
+--
+-- popularity_score is an exponentially decayed reservation counter (half-life 30 days)
+-- valid as of popularity_updated_at. ReservationService.create bumps it in place
+-- (BookRepository.incrementPopularity), so ranking never joins reservations.
+-- Like search_vector, these columns are NOT mapped in the Book entity.
+ALTER TABLE books
+    ADD COLUMN popularity_score      DOUBLE PRECISION NOT NULL DEFAULT 0,
+    ADD COLUMN popularity_updated_at TIMESTAMPTZ      NOT NULL DEFAULT now();
+
+-- Decays a stored score from updated_at to as_of. Pure arithmetic, so IMMUTABLE and
+-- inlined by the planner.
+CREATE OR REPLACE FUNCTION book_popularity(score DOUBLE PRECISION, updated_at TIMESTAMPTZ,
+                                           as_of TIMESTAMPTZ)
+RETURNS DOUBLE PRECISION AS $$
+  SELECT score * power(0.5, extract(epoch FROM (as_of - updated_at)) / (30 * 86400));
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Ranking used by every full-text search query: ts_rank boosted by log-damped
+-- popularity, so a much-reserved book outranks a slightly better text match but
+-- popularity alone never makes a weak match win by orders of magnitude.
+-- Popularity is read as of the start of the current day: scores are then stable within
+-- a day, which keeps search cursors (which compare scores) valid across requests.
+CREATE OR REPLACE FUNCTION book_search_rank(search_vector TSVECTOR, query TSQUERY,
+                                            popularity_score DOUBLE PRECISION,
+                                            popularity_updated_at TIMESTAMPTZ)
+RETURNS REAL AS $$
+  SELECT CAST(ts_rank(search_vector, query)
+              * (1 + 0.25 * ln(1 + book_popularity(popularity_score, popularity_updated_at,
+                                                     date_trunc('day', now())))) AS REAL);
+$$ LANGUAGE sql STABLE;
+
+-- Backfill from existing reservations
+UPDATE books b
+SET popularity_score = r.score,
+    popularity_updated_at = now()
+FROM (
+    SELECT book_id, SUM(book_popularity(1, reserved_at, now())) AS score
+    FROM reservations
+    GROUP BY book_id
+) r
+WHERE r.book_id = b.id;
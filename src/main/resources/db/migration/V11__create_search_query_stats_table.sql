@@ -0,0 +1,8 @@
+-- Snapshot of the most frequent search queries (SearchQueryStats). Counting happens in
+-- memory; this table only carries the heavy hitters across restarts so a new instance
+-- can pre-execute them before traffic arrives. Rewritten as a whole on every snapshot.
+CREATE TABLE search_query_stats (
+    query       VARCHAR(500) PRIMARY KEY,
+    hits        BIGINT       NOT NULL CHECK (hits > 0),
+    updated_at  TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
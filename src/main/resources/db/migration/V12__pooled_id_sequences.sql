@@ -0,0 +1,16 @@
+-- V12: Let Hibernate allocate ids in blocks of 50 instead of using IDENTITY.
+--
+-- With IDENTITY, Hibernate must execute every INSERT immediately to learn the id, which
+-- disables JDBC batching. The BIGSERIAL sequences stay, but each nextval now reserves a
+-- block of 50 ids; Hibernate's pooled-lo optimizer hands out value .. value + 49 from
+-- memory (one nextval per 50 inserts), so inserts can be deferred and batched at flush.
+--
+-- The column defaults are unchanged: a plain INSERT (seed data, psql, the bulk import)
+-- still takes nextval and uses only its first id. Blocks never overlap, so both kinds of
+-- writer coexist; the cost is gaps in the id sequence, which nothing relies on.
+--
+-- INCREMENT BY must equal allocationSize on the entities (BaseEntity.ID_ALLOCATION_SIZE);
+-- Hibernate's schema validation fails on a mismatch.
+ALTER SEQUENCE authors_id_seq      INCREMENT BY 50;
+ALTER SEQUENCE books_id_seq        INCREMENT BY 50;
+ALTER SEQUENCE reservations_id_seq INCREMENT BY 50;
@@ -0,0 +1,13 @@
+-- V13: Indexes for keyset pagination of the list endpoints (KeysetPager).
+--
+-- A cursor page is ORDER BY key, id with a seek predicate on (key, id), so each sort key
+-- needs a composite (key, id) index: the scan then starts at the cursor and reads only
+-- one page, whatever its depth. Sorting by id alone uses the primary keys.
+--
+-- (title, id) replaces idx_books_title, which it serves as a prefix.
+DROP INDEX idx_books_title;
+CREATE INDEX idx_books_title_id              ON books (title, id);
+CREATE INDEX idx_books_created_at_id         ON books (created_at, id);
+CREATE INDEX idx_authors_last_name_id        ON authors (last_name, id);
+CREATE INDEX idx_authors_created_at_id       ON authors (created_at, id);
+CREATE INDEX idx_reservations_reserved_at_id ON reservations (reserved_at, id);
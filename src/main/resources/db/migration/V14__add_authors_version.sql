@@ -0,0 +1,6 @@
+-- V14: Optimistic locking version for authors, as books (V2) and reservations (V4) have.
+--
+-- Besides guarding concurrent updates, the version is what the strong ETags of
+-- GET /authors/{id} and of every book response listing the author are derived from:
+-- a rename must change them. Existing rows start at 0, like the other tables.
+ALTER TABLE authors ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,155 @@
+-- V15: Change positions and tombstones behind GET /api/v1/changes.
+--
+-- Every book, author and reservation row carries the position of its latest change,
+-- (change_xid, change_seq): the id of the writing transaction and a global sequence
+-- value. The feed reads rows after a client's position in that order, so a sync costs
+-- one index range scan per table, proportional to what changed. created_xid/created_seq
+-- keep the position of the INSERT, to tell a creation from an update.
+--
+-- Ordering by transaction id first is what makes positions safe to resume from: the
+-- feed only returns changes of transactions older than its snapshot's xmin, all of
+-- which have committed (or aborted), so no change can later appear before a position
+-- already handed out. A sequence or timestamp alone would not do: values are taken at
+-- write time, and transactions commit in another order.
+--
+-- Positions are set by triggers, so JPA writes, the bulk import and cascades are all
+-- covered. A row only moves on a change to its own data (books also on a change of
+-- their author links):
+--   * books, authors -- BEFORE INSERT/UPDATE OF their content columns; the native
+--                       popularity and search_vector updates leave them alone
+--   * reservations   -- BEFORE INSERT/UPDATE
+--   * book_authors   -- AFTER INSERT/DELETE: the linked books
+-- Authors are deliberately not moved by link changes: every new book would then lock
+-- its authors' rows until commit, serializing writers that share a popular author.
+-- An author's book list follows from the book changes.
+-- Deletes leave a row in catalog_tombstones, with a position like any other change.
+-- Like search_vector, these columns are NOT mapped in the entities.
+
+CREATE SEQUENCE catalog_change_seq;
+
+CREATE TABLE catalog_tombstones (
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id   BIGINT      NOT NULL,
+    change_xid  XID8        NOT NULL,
+    change_seq  BIGINT      NOT NULL,
+    PRIMARY KEY (entity_type, entity_id)
+);
+
+CREATE INDEX idx_catalog_tombstones_change ON catalog_tombstones (change_xid, change_seq);
+
+ALTER TABLE books
+    ADD COLUMN change_xid  XID8,
+    ADD COLUMN change_seq  BIGINT,
+    ADD COLUMN created_xid XID8,
+    ADD COLUMN created_seq BIGINT;
+ALTER TABLE authors
+    ADD COLUMN change_xid  XID8,
+    ADD COLUMN change_seq  BIGINT,
+    ADD COLUMN created_xid XID8,
+    ADD COLUMN created_seq BIGINT;
+ALTER TABLE reservations
+    ADD COLUMN change_xid  XID8,
+    ADD COLUMN change_seq  BIGINT,
+    ADD COLUMN created_xid XID8,
+    ADD COLUMN created_seq BIGINT;
+
+-- Backfill: existing rows are created by this migration's transaction, in id order.
+UPDATE books b SET change_xid = pg_current_xact_id(), change_seq = s.seq,
+                   created_xid = pg_current_xact_id(), created_seq = s.seq
+FROM (SELECT id, nextval('catalog_change_seq') AS seq FROM (SELECT id FROM books ORDER BY id) ids) s
+WHERE s.id = b.id;
+UPDATE authors a SET change_xid = pg_current_xact_id(), change_seq = s.seq,
+                     created_xid = pg_current_xact_id(), created_seq = s.seq
+FROM (SELECT id, nextval('catalog_change_seq') AS seq FROM (SELECT id FROM authors ORDER BY id) ids) s
+WHERE s.id = a.id;
+UPDATE reservations r SET change_xid = pg_current_xact_id(), change_seq = s.seq,
+                          created_xid = pg_current_xact_id(), created_seq = s.seq
+FROM (SELECT id, nextval('catalog_change_seq') AS seq FROM (SELECT id FROM reservations ORDER BY id) ids) s
+WHERE s.id = r.id;
+
+ALTER TABLE books
+    ALTER COLUMN change_xid SET NOT NULL,
+    ALTER COLUMN change_seq SET NOT NULL,
+    ALTER COLUMN created_xid SET NOT NULL,
+    ALTER COLUMN created_seq SET NOT NULL;
+ALTER TABLE authors
+    ALTER COLUMN change_xid SET NOT NULL,
+    ALTER COLUMN change_seq SET NOT NULL,
+    ALTER COLUMN created_xid SET NOT NULL,
+    ALTER COLUMN created_seq SET NOT NULL;
+ALTER TABLE reservations
+    ALTER COLUMN change_xid SET NOT NULL,
+    ALTER COLUMN change_seq SET NOT NULL,
+    ALTER COLUMN created_xid SET NOT NULL,
+    ALTER COLUMN created_seq SET NOT NULL;
+
+CREATE INDEX idx_books_change ON books (change_xid, change_seq);
+CREATE INDEX idx_authors_change ON authors (change_xid, change_seq);
+CREATE INDEX idx_reservations_change ON reservations (change_xid, change_seq);
+
+CREATE OR REPLACE FUNCTION catalog_change_mark() RETURNS trigger AS $$
+BEGIN
+  NEW.change_xid := pg_current_xact_id();
+  NEW.change_seq := nextval('catalog_change_seq');
+  IF TG_OP = 'INSERT' THEN
+    NEW.created_xid := NEW.change_xid;
+    NEW.created_seq := NEW.change_seq;
+  END IF;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Hibernate sets every mapped column on update, so any JPA update fires these.
+CREATE TRIGGER trg_books_change
+  BEFORE INSERT OR UPDATE OF title, isbn, description, published_year ON books
+  FOR EACH ROW EXECUTE FUNCTION catalog_change_mark();
+
+CREATE TRIGGER trg_authors_change
+  BEFORE INSERT OR UPDATE OF first_name, last_name, bio ON authors
+  FOR EACH ROW EXECUTE FUNCTION catalog_change_mark();
+
+CREATE TRIGGER trg_reservations_change
+  BEFORE INSERT OR UPDATE ON reservations
+  FOR EACH ROW EXECUTE FUNCTION catalog_change_mark();
+
+-- Statement-level over the transition table: the import links a whole chunk at once.
+-- Setting the change columns directly does not re-fire the triggers above.
+CREATE OR REPLACE FUNCTION book_authors_change_mark() RETURNS trigger AS $$
+BEGIN
+  UPDATE books
+     SET change_xid = pg_current_xact_id(), change_seq = nextval('catalog_change_seq')
+   WHERE id IN (SELECT book_id FROM changed_links);
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_book_authors_insert_change
+  AFTER INSERT ON book_authors
+  REFERENCING NEW TABLE AS changed_links
+  FOR EACH STATEMENT EXECUTE FUNCTION book_authors_change_mark();
+
+CREATE TRIGGER trg_book_authors_delete_change
+  AFTER DELETE ON book_authors
+  REFERENCING OLD TABLE AS changed_links
+  FOR EACH STATEMENT EXECUTE FUNCTION book_authors_change_mark();
+
+-- TG_ARGV[0] is the entity type reported by the feed.
+CREATE OR REPLACE FUNCTION catalog_tombstone() RETURNS trigger AS $$
+BEGIN
+  INSERT INTO catalog_tombstones (entity_type, entity_id, change_xid, change_seq)
+  VALUES (TG_ARGV[0], OLD.id, pg_current_xact_id(), nextval('catalog_change_seq'));
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_books_tombstone
+  AFTER DELETE ON books
+  FOR EACH ROW EXECUTE FUNCTION catalog_tombstone('BOOK');
+
+CREATE TRIGGER trg_authors_tombstone
+  AFTER DELETE ON authors
+  FOR EACH ROW EXECUTE FUNCTION catalog_tombstone('AUTHOR');
+
+CREATE TRIGGER trg_reservations_tombstone
+  AFTER DELETE ON reservations
+  FOR EACH ROW EXECUTE FUNCTION catalog_tombstone('RESERVATION');
@@ -0,0 +1,5 @@
+-- V16: Per-entity order of the V15 tombstones, for the listing watermarks.
+--
+-- WatermarkRepository reads the latest deletion of one entity type; with only the
+-- (change_xid, change_seq) index it would walk back past every other type's tombstones.
+CREATE INDEX idx_catalog_tombstones_entity_change ON catalog_tombstones (entity_type, change_xid, change_seq);
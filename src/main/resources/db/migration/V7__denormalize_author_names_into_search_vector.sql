@@ -0,0 +1,87 @@
+-- V7: Fold author names into books.search_vector so search only ever has to
+-- consult a single, GIN-indexed column.
+--
+-- Before this migration SearchService OR-ed the indexed search_vector with a
+-- to_tsvector() over the author name computed per joined row. That predicate
+-- cannot use idx_books_search_vector, so every search degenerated into a full
+-- scan of books x book_authors x authors.
+--
+-- The search document is now:
+--   title        -> weight A
+--   author names -> weight B
+--   description  -> weight C
+--
+-- It is kept in sync by triggers on all three tables that contribute to it:
+--   * books        -- BEFORE INSERT/UPDATE OF title, description (replaces V5 function body)
+--   * book_authors -- AFTER INSERT/DELETE: recompute the affected book
+--   * authors      -- AFTER UPDATE OF first_name, last_name: recompute the author's books
+-- Deleting an author cascades to book_authors, whose DELETE trigger covers that case.
+
+-- Builds the full search document for one book. STABLE (not IMMUTABLE) because it
+-- reads book_authors/authors.
+CREATE OR REPLACE FUNCTION books_build_search_vector(p_book_id BIGINT,
+                                                     p_title TEXT,
+                                                     p_description TEXT)
+RETURNS tsvector AS $$
+  SELECT
+    setweight(to_tsvector('english', COALESCE(p_title, '')), 'A') ||
+    setweight(to_tsvector('english', COALESCE(
+      (SELECT string_agg(a.first_name || ' ' || a.last_name, ' ')
+         FROM book_authors ba
+         JOIN authors a ON a.id = ba.author_id
+        WHERE ba.book_id = p_book_id), '')), 'B') ||
+    setweight(to_tsvector('english', COALESCE(p_description, '')), 'C');
+$$ LANGUAGE sql STABLE;
+
+-- Same trigger (trg_books_search_vector, defined in V5) keeps calling this function;
+-- only the body changes. On INSERT the book has no authors yet -- the book_authors
+-- trigger below fills weight B in once the join rows are written.
+CREATE OR REPLACE FUNCTION books_search_vector_update() RETURNS trigger AS $$
+BEGIN
+  NEW.search_vector := books_build_search_vector(NEW.id, NEW.title, NEW.description);
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- The UPDATE issued here touches only search_vector, so it does not re-fire
+-- trg_books_search_vector (which is restricted to UPDATE OF title, description),
+-- nor does it change books.version or books.updated_at.
+CREATE OR REPLACE FUNCTION book_authors_search_vector_update() RETURNS trigger AS $$
+DECLARE
+  v_book_id BIGINT;
+BEGIN
+  IF TG_OP = 'DELETE' THEN
+    v_book_id := OLD.book_id;
+  ELSE
+    v_book_id := NEW.book_id;
+  END IF;
+
+  UPDATE books b
+     SET search_vector = books_build_search_vector(b.id, b.title, b.description)
+   WHERE b.id = v_book_id;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_book_authors_search_vector
+  AFTER INSERT OR DELETE ON book_authors
+  FOR EACH ROW EXECUTE FUNCTION book_authors_search_vector_update();
+
+CREATE OR REPLACE FUNCTION authors_search_vector_update() RETURNS trigger AS $$
+BEGIN
+  UPDATE books b
+     SET search_vector = books_build_search_vector(b.id, b.title, b.description)
+   WHERE b.id IN (SELECT ba.book_id FROM book_authors ba WHERE ba.author_id = NEW.id);
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_authors_search_vector
+  AFTER UPDATE OF first_name, last_name ON authors
+  FOR EACH ROW
+  WHEN (OLD.first_name IS DISTINCT FROM NEW.first_name
+     OR OLD.last_name  IS DISTINCT FROM NEW.last_name)
+  EXECUTE FUNCTION authors_search_vector_update();
+
+-- Backfill existing rows (including the V6 seed data) with author names.
+UPDATE books SET search_vector = books_build_search_vector(id, title, description);
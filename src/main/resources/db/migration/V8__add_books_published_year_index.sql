@@ -0,0 +1,4 @@
+-- Year-range search filters (yearFrom/yearTo) combine with the GIN full-text match.
+-- A btree on published_year lets the planner BitmapAnd both indexes instead of
+-- re-checking the year on every full-text candidate.
+CREATE INDEX idx_books_published_year ON books (published_year);
@@ -0,0 +1,10 @@
+-- Trigram indexes for the fuzzy search fallback (SearchRepository.findFuzzy).
+-- Full-text search needs exact stemmed words; trigram word similarity also matches
+-- misspellings such as "concurency" or "Blosh". The extension requires CREATE privilege
+-- on the database (granted to the owner), or a superuser to pre-install it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_books_title_trgm ON books USING GIN (title gin_trgm_ops);
+
+-- Expression must match the one used in the query for the index to apply
+CREATE INDEX idx_authors_full_name_trgm ON authors USING GIN ((first_name || ' ' || last_name) gin_trgm_ops);
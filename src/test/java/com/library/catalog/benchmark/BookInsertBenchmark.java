@@ -0,0 +1,120 @@
+package com.library.catalog.benchmark;
+
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.entity.Author;
+import com.library.catalog.entity.Book;
+import com.library.catalog.integration.AbstractIntegrationTest;
+import com.library.catalog.mapper.BookMapper;
+import com.library.catalog.repository.AuthorRepository;
+import com.library.catalog.repository.BookRepository;
+import com.library.catalog.service.BookService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of book creation through JPA, each book with three {@code book_authors}
+ * rows. Not part of {@code gradle test}; run with {@code gradle benchmark}.
+ *
+ * <p>Reports books per second and prepared statements per book (Hibernate statistics),
+ * for one book per transaction ({@code BookService.create}, the API path) and for 50
+ * books per transaction (the shape of any batch job). Statements per book is the
+ * number to watch: it shows whether inserts are batched.
+ */
+@Tag("benchmark")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookInsertBenchmark extends AbstractIntegrationTest {
+
+    private static final int WARMUP_BOOKS = 500;
+    private static final int MEASURED_BOOKS = 5000;
+    private static final int BOOKS_PER_TRANSACTION = 50;
+
+    private static final AtomicLong ISBN_SEQUENCE = new AtomicLong(9790000000000L);
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Long> authorIds;
+
+    @BeforeEach
+    void createAuthors() {
+        authorIds = new ArrayList<>();
+        for (String lastName : List.of("Bloch", "Goetz", "Fowler")) {
+            Author author = new Author();
+            author.setFirstName("Benchmark");
+            author.setLastName(lastName);
+            authorIds.add(authorRepository.save(author).getId());
+        }
+    }
+
+    @Test
+    void oneBookPerTransaction() {
+        for (int i = 0; i < WARMUP_BOOKS; i++) {
+            bookService.create(newRequest());
+        }
+        measure("one book per transaction", () -> {
+            for (int i = 0; i < MEASURED_BOOKS; i++) {
+                bookService.create(newRequest());
+            }
+        });
+    }
+
+    @Test
+    void fiftyBooksPerTransaction() {
+        insertInTransactions(WARMUP_BOOKS);
+        measure(BOOKS_PER_TRANSACTION + " books per transaction", () -> insertInTransactions(MEASURED_BOOKS));
+    }
+
+    private void insertInTransactions(int books) {
+        for (int done = 0; done < books; done += BOOKS_PER_TRANSACTION) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Author> authors = authorRepository.findAllById(authorIds);
+                List<Book> batch = new ArrayList<>(BOOKS_PER_TRANSACTION);
+                for (int i = 0; i < BOOKS_PER_TRANSACTION; i++) {
+                    Book book = BookMapper.toEntity(newRequest());
+                    book.setAuthors(new HashSet<>(authors));
+                    batch.add(book);
+                }
+                bookRepository.saveAll(batch);
+            });
+        }
+    }
+
+    private void measure(String name, Runnable run) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long started = System.nanoTime();
+        run.run();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("%-28s %8.0f books/s  %5.2f statements/book%n", name,
+            MEASURED_BOOKS / seconds, (double) statistics.getPrepareStatementCount() / MEASURED_BOOKS);
+    }
+
+    private CreateBookRequest newRequest() {
+        return new CreateBookRequest("Benchmark Book", String.valueOf(ISBN_SEQUENCE.incrementAndGet()),
+            "Throughput of book inserts with several authors", 2024, authorIds);
+    }
+}
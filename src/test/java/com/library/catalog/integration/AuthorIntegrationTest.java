@@ -3,16 +3,22 @@ package com.library.catalog.integration;
 import com.library.catalog.dto.request.CreateAuthorRequest;
 import com.library.catalog.dto.request.UpdateAuthorRequest;
 import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
 import com.library.catalog.dto.response.ErrorResponse;
+import com.library.catalog.dto.response.MultiGetResponse;
 import com.library.catalog.dto.response.PagedResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class AuthorIntegrationTest extends AbstractIntegrationTest {
@@ -136,6 +142,46 @@ class AuthorIntegrationTest extends AbstractIntegrationTest {
         assertThat(response.getBody().content()).hasSize(2);
     }
 
+    @Test
+    void findAfter_sortsByLastNameAndBreaksTiesById() {
+        Long goetz = restTemplate.postForEntity(BASE_URL,
+            new CreateAuthorRequest("Brian", "Goetz", null), AuthorResponse.class).getBody().id();
+        Long joshuaBloch = restTemplate.postForEntity(BASE_URL,
+            new CreateAuthorRequest("Joshua", "Bloch", null), AuthorResponse.class).getBody().id();
+        Long anotherBloch = restTemplate.postForEntity(BASE_URL,
+            new CreateAuthorRequest("Another", "Bloch", null), AuthorResponse.class).getBody().id();
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+        do {
+            ResponseEntity<CursorPagedResponse<AuthorResponse>> response = restTemplate.exchange(
+                BASE_URL + "?sort=lastName&size=2&after=" + cursor, HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {});
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            response.getBody().content().forEach(author -> ids.add(author.id()));
+            cursor = response.getBody().nextCursor();
+        } while (cursor != null);
+
+        ids.retainAll(List.of(goetz, joshuaBloch, anotherBloch));
+        assertThat(ids).containsExactly(joshuaBloch, anotherBloch, goetz);
+    }
+
+    @Test
+    void findAllById_returnsAuthorsInRequestOrderAndReportsMissingIds() {
+        Long goetz = restTemplate.postForEntity(BASE_URL, new CreateAuthorRequest("Brian", "Goetz", null),
+            AuthorResponse.class).getBody().id();
+        Long bloch = restTemplate.postForEntity(BASE_URL, new CreateAuthorRequest("Joshua", "Bloch", null),
+            AuthorResponse.class).getBody().id();
+
+        ResponseEntity<MultiGetResponse<AuthorResponse>> response = restTemplate.exchange(
+            BASE_URL + "?ids=" + bloch + ",99998," + goetz + ",99999", HttpMethod.GET, null,
+            new ParameterizedTypeReference<>() {});
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().content()).extracting(AuthorResponse::lastName).containsExactly("Bloch", "Goetz");
+        assertThat(response.getBody().missing()).containsExactly(99998L, 99999L);
+    }
+
     @Test
     void getAuthor_nonExistent_returns404() {
         ResponseEntity<ErrorResponse> response =
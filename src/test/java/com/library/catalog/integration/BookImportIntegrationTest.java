@@ -0,0 +1,156 @@
+package com.library.catalog.integration;
+
+import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BookImportResponse;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.ErrorResponse;
+import com.library.catalog.dto.response.PagedResponse;
+import com.library.catalog.dto.response.SearchResultResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookImportIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String IMPORT_URL = "/api/v1/books/import";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importCsv_createsBooksAndMissingAuthors() {
+        Long blochId = restTemplate.postForEntity("/api/v1/authors",
+            new CreateAuthorRequest("Joshua", "Bloch", null), AuthorResponse.class).getBody().id();
+        String csv = """
+            title,isbn,published_year,description,authors,ignored
+            Effective Java,9780134685991,2018,Best practices,Joshua Bloch,x
+            "Java Concurrency in Practice",9780321349606,2006,"Threads, locks
+            and more",Brian Goetz; Joshua Bloch,x
+            Java Puzzlers,9780321336781,,,Joshua Bloch; Neal Gafter,x
+            """;
+
+        BookImportResponse report = post(csv, MediaType.parseMediaType("text/csv"));
+
+        assertThat(report.received()).isEqualTo(3);
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.failed()).isZero();
+        assertThat(report.authorsCreated()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM authors WHERE first_name = 'Joshua' AND last_name = 'Bloch'", Long.class))
+            .isEqualTo(1);
+
+        Long jcipId = jdbcTemplate.queryForObject("SELECT id FROM books WHERE isbn = '9780321349606'", Long.class);
+        BookResponse jcip = restTemplate.getForEntity("/api/v1/books/" + jcipId, BookResponse.class).getBody();
+        assertThat(jcip.description()).isEqualTo("Threads, locks\nand more");
+        assertThat(jcip.publishedYear()).isEqualTo(2006);
+        assertThat(jcip.authors()).extracting(BookResponse.AuthorSummary::id).contains(blochId);
+        assertThat(jcip.authors()).extracting(BookResponse.AuthorSummary::lastName)
+            .containsExactlyInAnyOrder("Goetz", "Bloch");
+
+        // Author names reach the search vector through the book_authors trigger
+        ResponseEntity<PagedResponse<SearchResultResponse>> search = restTemplate.exchange(
+            "/api/v1/search?q=gafter", HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+        assertThat(search.getBody().content()).extracting(SearchResultResponse::title)
+            .containsExactly("Java Puzzlers");
+    }
+
+    @Test
+    void importCsv_reportsInvalidAndDuplicateRowsAndImportsTheRest() {
+        restTemplate.postForEntity("/api/v1/authors", new CreateAuthorRequest("Joshua", "Bloch", null),
+            AuthorResponse.class);
+        String csv = """
+            title,isbn,published_year,authors
+            Effective Java,9780134685991,2018,Joshua Bloch
+            Bad Isbn,12345,2018,Joshua Bloch
+            Effective Java Again,9780134685991,2018,Joshua Bloch
+            Bad Year,9780321336781,soon,Joshua Bloch
+            No Last Name,9780596009205,2005,Madonna
+            Java Puzzlers,9780321336782,2005,Joshua Bloch
+            """;
+
+        BookImportResponse report = post(csv, MediaType.parseMediaType("text/csv"));
+
+        assertThat(report.received()).isEqualTo(6);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.failed()).isEqualTo(4);
+        assertThat(report.errors()).extracting(BookImportResponse.RowError::line).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(report.errors().get(0).message()).contains("13 digits");
+        assertThat(report.errors().get(1).message()).contains("first on line 2");
+        assertThat(report.errors().get(2).message()).contains("number");
+        assertThat(report.errors().get(3).message()).contains("First Last");
+    }
+
+    @Test
+    void importNdjson_skipsMalformedLinesAndExistingIsbns() {
+        Long authorId = restTemplate.postForEntity("/api/v1/authors",
+            new CreateAuthorRequest("Joshua", "Bloch", null), AuthorResponse.class).getBody().id();
+        restTemplate.postForEntity("/api/v1/books",
+            new CreateBookRequest("Effective Java", "9780134685991", null, 2018, List.of(authorId)),
+            BookResponse.class);
+        String ndjson = """
+            {"title": "Effective Java", "isbn": "9780134685991", "authors": ["Joshua Bloch"]}
+            {"title": "Java Puzzlers", "isbn": "9780321336781", "authors": ["Joshua Bloch"]
+
+            {"title": "Java Puzzlers", "isbn": "9780321336781", "publishedYear": 2005, "authors": ["Joshua Bloch"]}
+            """;
+
+        BookImportResponse report = post(ndjson, NDJSON);
+
+        assertThat(report.received()).isEqualTo(3);
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.errors()).extracting(BookImportResponse.RowError::message)
+            .containsExactly("ISBN already exists", "Malformed JSON");
+    }
+
+    @Test
+    void importNdjson_writesSeveralChunks() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 2500; i++) {
+            ndjson.append("{\"title\": \"Volume ").append(i).append("\", \"isbn\": \"")
+                .append(9780000000000L + i).append("\", \"authors\": [\"Author ").append(i % 7).append("\"]}\n");
+        }
+
+        BookImportResponse report = post(ndjson.toString(), NDJSON);
+
+        assertThat(report.imported()).isEqualTo(2500);
+        assertThat(report.authorsCreated()).isEqualTo(7);
+        assertThat(jdbcTemplate.queryForObject("""
+            SELECT COUNT(*) FROM book_authors ba JOIN books b ON b.id = ba.book_id
+            WHERE b.title LIKE 'Volume %'
+            """, Long.class)).isEqualTo(2500);
+    }
+
+    @Test
+    void importCsv_withoutRequiredColumn_returns400() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        ResponseEntity<ErrorResponse> response = restTemplate.postForEntity(IMPORT_URL,
+            new HttpEntity<>("title,isbn\nEffective Java,9780134685991\n", headers), ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().message()).contains("authors");
+    }
+
+    private BookImportResponse post(String body, MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        ResponseEntity<BookImportResponse> response = restTemplate.postForEntity(IMPORT_URL,
+            new HttpEntity<>(body, headers), BookImportResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+}
@@ -2,22 +2,35 @@ package com.library.catalog.integration;
 
 import com.library.catalog.dto.request.CreateAuthorRequest;
 import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.request.CreateReservationRequest;
 import com.library.catalog.dto.request.UpdateBookRequest;
 import com.library.catalog.dto.response.AuthorResponse;
 import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
 import com.library.catalog.dto.response.ErrorResponse;
+import com.library.catalog.dto.response.MultiGetResponse;
 import com.library.catalog.dto.response.PagedResponse;
+import com.library.catalog.dto.response.ReservationResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
 
 class BookIntegrationTest extends AbstractIntegrationTest {
 
@@ -27,6 +40,9 @@ class BookIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     void fullCrudLifecycle() {
         // Create an author first
@@ -157,6 +173,189 @@ class BookIntegrationTest extends AbstractIntegrationTest {
         assertThat(response.getBody().totalElements()).isEqualTo(2);
     }
 
+    @Test
+    void findAll_attachesAuthorsToEveryBookOfThePage() {
+        Long blochId = createAuthor("Joshua", "Bloch");
+        Long goetzId = createAuthor("Brian", "Goetz");
+        restTemplate.postForEntity(BOOKS_URL, new CreateBookRequest("Listing Book 1", "9780000000201", null, null,
+            List.of(blochId)), BookResponse.class);
+        restTemplate.postForEntity(BOOKS_URL, new CreateBookRequest("Listing Book 2", "9780000000202", null, null,
+            List.of(goetzId, blochId)), BookResponse.class);
+
+        for (String count : List.of("exact", "none")) {
+            ResponseEntity<PagedResponse<BookResponse>> response = restTemplate.exchange(
+                BOOKS_URL + "?size=100&sort=id,desc&count=" + count, HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {});
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().content().subList(0, 2))
+                .extracting(BookResponse::title,
+                    book -> book.authors().stream().map(BookResponse.AuthorSummary::id).toList())
+                .containsExactly(
+                    tuple("Listing Book 2", List.of(blochId, goetzId)),
+                    tuple("Listing Book 1", List.of(blochId)));
+        }
+    }
+
+    @Test
+    void findAll_withFields_returnsOnlyThoseFields() {
+        Long authorId = createAuthor("Joshua", "Bloch");
+        restTemplate.postForEntity(BOOKS_URL, new CreateBookRequest("Sparse Book", "9780000000301", "Long text",
+            2020, List.of(authorId)), BookResponse.class);
+
+        ResponseEntity<PagedResponse<Map<String, Object>>> response = restTemplate.exchange(
+            BOOKS_URL + "?fields=title&size=1&sort=id,desc", HttpMethod.GET, null,
+            new ParameterizedTypeReference<>() {});
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().content()).singleElement()
+            .satisfies(book -> assertThat(book).containsOnlyKeys("id", "title").containsEntry("title", "Sparse Book"));
+    }
+
+    @Test
+    void findAll_withIncludes_loadsEachRelationWithOneQueryPerPage() {
+        Long blochId = createAuthor("Joshua", "Bloch");
+        Long goetzId = createAuthor("Brian", "Goetz");
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bookIds.add(restTemplate.postForEntity(BOOKS_URL, new CreateBookRequest("Included Book " + i,
+                "978000000040" + i, null, null, List.of(blochId, goetzId)), BookResponse.class).getBody().id());
+        }
+        restTemplate.postForEntity("/api/v1/reservations", new CreateReservationRequest(bookIds.get(1), "include-reader"),
+            ReservationResponse.class);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ResponseEntity<PagedResponse<Map<String, Object>>> response = restTemplate.exchange(
+            BOOKS_URL + "?fields=title&include=authors,activeReservation&count=none&size=3&sort=id,desc",
+            HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        // The page, its authors and its active reservations: no per-book query
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        List<Map<String, Object>> books = response.getBody().content();
+        assertThat(books).extracting(book -> book.get("title"))
+            .containsExactly("Included Book 2", "Included Book 1", "Included Book 0");
+        assertThat(books).allSatisfy(book -> assertThat((List<?>) book.get("authors")).hasSize(2));
+        assertThat(books).extracting(book -> book.get("activeReservation") == null)
+            .containsExactly(true, false, true);
+        assertThat(books.get(1).get("activeReservation")).asInstanceOf(MAP).containsEntry("userName", "include-reader");
+    }
+
+    @Test
+    void findAll_withUnknownField_returns400() {
+        ResponseEntity<ErrorResponse> relationAsField =
+            restTemplate.getForEntity(BOOKS_URL + "?fields=title,authors", ErrorResponse.class);
+        ResponseEntity<ErrorResponse> unknownInclude =
+            restTemplate.getForEntity(BOOKS_URL + "?include=reviews", ErrorResponse.class);
+
+        assertThat(relationAsField.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(relationAsField.getBody().message()).contains("include=");
+        assertThat(unknownInclude.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void findAll_withFieldsAndUnindexedSortOrTooDeepPage_returns400() {
+        ResponseEntity<ErrorResponse> byDescription =
+            restTemplate.getForEntity(BOOKS_URL + "?fields=title&sort=description", ErrorResponse.class);
+        ResponseEntity<ErrorResponse> tooDeep =
+            restTemplate.getForEntity(BOOKS_URL + "?fields=title&size=2000&page=2000000", ErrorResponse.class);
+
+        assertThat(byDescription.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(byDescription.getBody().message()).contains("Unsupported sort 'description'");
+        assertThat(tooDeep.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(tooDeep.getBody().message()).startsWith("Page too deep");
+    }
+
+    @Test
+    void findAfter_walksBooksByTitleInBothDirections() {
+        Long authorId = createAuthor("Joshua", "Bloch");
+        List<String> titles = List.of("Keyset Delta", "Keyset Alpha", "Keyset Charlie", "Keyset Bravo", "Keyset Echo");
+        for (int i = 0; i < titles.size(); i++) {
+            restTemplate.postForEntity(BOOKS_URL, new CreateBookRequest(titles.get(i), "978000000010" + i,
+                null, null, List.of(authorId)), BookResponse.class);
+        }
+
+        assertThat(walk("title")).containsExactly(
+            "Keyset Alpha", "Keyset Bravo", "Keyset Charlie", "Keyset Delta", "Keyset Echo");
+        assertThat(walk("title,desc")).containsExactly(
+            "Keyset Echo", "Keyset Delta", "Keyset Charlie", "Keyset Bravo", "Keyset Alpha");
+        assertThat(walk("id")).containsExactlyElementsOf(titles);
+    }
+
+    @Test
+    void findAfter_titleContainingTheCursorSeparator_pagesPastIt() {
+        Long authorId = createAuthor("Joshua", "Bloch");
+        // Pages of two: the first page of either direction ends on a title with separators
+        List<String> titles = List.of("Keyset Alpha", "Keyset Bravo \u001F 1", "Keyset Charlie \u001F\u001F 2",
+            "Keyset Delta");
+        for (int i = 0; i < titles.size(); i++) {
+            restTemplate.postForEntity(BOOKS_URL, new CreateBookRequest(titles.get(i), "978000000070" + i,
+                null, null, List.of(authorId)), BookResponse.class);
+        }
+
+        assertThat(walk("title")).containsExactlyElementsOf(titles);
+        assertThat(walk("title,desc")).containsExactlyElementsOf(titles.reversed());
+    }
+
+    @Test
+    void findAfter_withCursorOfAnotherSort_returns400() {
+        Long authorId = createAuthor("Joshua", "Bloch");
+        restTemplate.postForEntity(BOOKS_URL,
+            new CreateBookRequest("Book 1", "1234567890123", null, null, List.of(authorId)), BookResponse.class);
+        restTemplate.postForEntity(BOOKS_URL,
+            new CreateBookRequest("Book 2", "1234567890124", null, null, List.of(authorId)), BookResponse.class);
+        String cursor = page("title", "").nextCursor();
+
+        ResponseEntity<ErrorResponse> wrongSort = restTemplate.getForEntity(
+            BOOKS_URL + "?size=1&sort=createdAt&after=" + cursor, ErrorResponse.class);
+        ResponseEntity<ErrorResponse> unknownSort = restTemplate.getForEntity(
+            BOOKS_URL + "?sort=isbn&after=", ErrorResponse.class);
+
+        assertThat(wrongSort.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(unknownSort.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(unknownSort.getBody().message()).contains("title");
+    }
+
+    @Test
+    void findAllById_returnsBooksInRequestOrderWithOneQuery() {
+        Long blochId = createAuthor("Joshua", "Bloch");
+        Long goetzId = createAuthor("Brian", "Goetz");
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bookIds.add(restTemplate.postForEntity(BOOKS_URL, new CreateBookRequest("Multi Book " + i,
+                "978000000060" + i, null, null, List.of(blochId, goetzId)), BookResponse.class).getBody().id());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ResponseEntity<MultiGetResponse<BookResponse>> response = restTemplate.exchange(
+            BOOKS_URL + "?ids=" + bookIds.get(2) + ",99999," + bookIds.get(0) + "," + bookIds.get(2) + "," + bookIds.get(1),
+            HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(response.getBody().content()).extracting(BookResponse::title)
+            .containsExactly("Multi Book 2", "Multi Book 0", "Multi Book 1");
+        assertThat(response.getBody().content()).allSatisfy(book -> assertThat(book.authors()).hasSize(2));
+        assertThat(response.getBody().missing()).containsExactly(99999L);
+    }
+
+    @Test
+    void findAllById_withInvalidOrTooManyIds_returns400() {
+        String tooMany = String.join(",", LongStream.rangeClosed(1, 501)
+            .mapToObj(Long::toString).toList());
+
+        assertThat(restTemplate.getForEntity(BOOKS_URL + "?ids=1,two", ErrorResponse.class).getStatusCode())
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.getForEntity(BOOKS_URL + "?ids=", ErrorResponse.class).getStatusCode())
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+        ResponseEntity<ErrorResponse> response = restTemplate.getForEntity(BOOKS_URL + "?ids=" + tooMany,
+            ErrorResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().message()).contains("500");
+    }
+
     @Test
     void getBook_nonExistent_returns404() {
         ResponseEntity<ErrorResponse> response =
@@ -165,6 +364,30 @@ class BookIntegrationTest extends AbstractIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    /** Titles of the "Keyset" books, in order, following nextCursor two at a time. */
+    private List<String> walk(String sort) {
+        List<String> titles = new ArrayList<>();
+        String cursor = "";
+        while (true) {
+            CursorPagedResponse<BookResponse> page = page(sort, cursor);
+            page.content().stream().map(BookResponse::title)
+                .filter(title -> title.startsWith("Keyset ")).forEach(titles::add);
+            if (page.last()) {
+                assertThat(page.nextCursor()).isNull();
+                return titles;
+            }
+            cursor = page.nextCursor();
+        }
+    }
+
+    private CursorPagedResponse<BookResponse> page(String sort, String cursor) {
+        ResponseEntity<CursorPagedResponse<BookResponse>> response = restTemplate.exchange(
+            BOOKS_URL + "?size=2&sort=" + sort + "&after=" + cursor, HttpMethod.GET, null,
+            new ParameterizedTypeReference<>() {});
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
     private Long createAuthor(String firstName, String lastName) {
         var request = new CreateAuthorRequest(firstName, lastName, null);
         ResponseEntity<AuthorResponse> response =
@@ -0,0 +1,200 @@
+package com.library.catalog.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.request.CreateReservationRequest;
+import com.library.catalog.dto.request.UpdateBookRequest;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.ChangeResponse;
+import com.library.catalog.dto.response.ChangeResponse.Entity;
+import com.library.catalog.dto.response.ErrorResponse;
+import com.library.catalog.dto.response.ReservationResponse;
+import com.library.catalog.event.ChangeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
+
+class ChangeFeedIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String CHANGES_URL = "/api/v1/changes";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void changes_fromStart_listsCreationsInTransactionOrderWithTheirData() throws Exception {
+        Long authorId = createAuthor("Joshua", "Bloch");
+        Long bookId = createBook("Feed Java", "9780000007001", List.of(authorId));
+        Long reservationId = restTemplate.postForEntity("/api/v1/reservations",
+            new CreateReservationRequest(bookId, "feed-reader"), ReservationResponse.class).getBody().id();
+
+        ResponseEntity<String> response = restTemplate.getForEntity(CHANGES_URL, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).isEqualTo("application/x-ndjson");
+        List<ChangeResponse> changes = ours(lines(response.getBody()), authorId, bookId, reservationId);
+        assertThat(changes).extracting(ChangeResponse::entity, ChangeResponse::id, ChangeResponse::change)
+            .containsExactly(
+                tuple(Entity.AUTHOR, authorId, ChangeType.CREATED),
+                tuple(Entity.BOOK, bookId, ChangeType.CREATED),
+                tuple(Entity.RESERVATION, reservationId, ChangeType.CREATED));
+        assertThat(changes.get(1).data()).asInstanceOf(MAP).containsEntry("isbn", "9780000007001");
+        assertThat(changes.get(2).data()).asInstanceOf(MAP).containsEntry("bookTitle", "Feed Java");
+    }
+
+    @Test
+    void changes_sinceToken_returnsOnlyLaterChangesOnceEach() throws Exception {
+        Long blochId = createAuthor("Joshua", "Bloch");
+        Long goetzId = createAuthor("Brian", "Goetz");
+        Long keptId = createBook("Kept Java", "9780000007002", List.of(blochId));
+        Long droppedId = createBook("Dropped Java", "9780000007003", List.of(blochId));
+        Long untouchedId = createBook("Untouched Java", "9780000007004", List.of(blochId));
+        String since = currentToken();
+
+        restTemplate.put("/api/v1/books/" + keptId, new UpdateBookRequest("Kept Java 2", null, null, null, null));
+        // Only the author links change
+        restTemplate.put("/api/v1/books/" + keptId, new UpdateBookRequest(null, null, null, null, List.of(goetzId)));
+        restTemplate.delete("/api/v1/books/" + droppedId);
+        Long newId = createBook("New Java", "9780000007005", List.of(goetzId));
+
+        List<ChangeResponse> changes = lines(restTemplate.getForObject(CHANGES_URL + "?since=" + since, String.class));
+
+        assertThat(changes).extracting(ChangeResponse::entity, ChangeResponse::id, ChangeResponse::change)
+            .containsExactly(
+                tuple(Entity.BOOK, keptId, ChangeType.UPDATED),
+                tuple(Entity.BOOK, droppedId, ChangeType.DELETED),
+                tuple(Entity.BOOK, newId, ChangeType.CREATED));
+        assertThat(changes).extracting(ChangeResponse::id).doesNotContain(untouchedId, blochId, goetzId);
+        BookResponse kept = objectMapper.convertValue(changes.get(0).data(), BookResponse.class);
+        assertThat(kept.title()).isEqualTo("Kept Java 2");
+        assertThat(kept.authors()).extracting(BookResponse.AuthorSummary::lastName).containsExactly("Goetz");
+        assertThat(changes.get(1).data()).isNull();
+
+        String caughtUp = last(changes).token();
+        assertThat(restTemplate.getForObject(CHANGES_URL + "?since=" + caughtUp, String.class)).isNull();
+    }
+
+    @Test
+    void changes_withLimit_resumesFromTheLastTokenRead() throws Exception {
+        Long authorId = createAuthor("Joshua", "Bloch");
+        String since = currentToken();
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bookIds.add(createBook("Paged Java " + i, "978000000710" + i, List.of(authorId)));
+        }
+
+        List<Long> read = new ArrayList<>();
+        List<ChangeResponse> page;
+        do {
+            page = lines(restTemplate.getForObject(CHANGES_URL + "?limit=2&since=" + since, String.class));
+            page.forEach(change -> read.add(change.id()));
+            if (!page.isEmpty()) {
+                since = last(page).token();
+            }
+        } while (page.size() == 2);
+
+        assertThat(read).containsExactlyElementsOf(bookIds);
+    }
+
+    @Test
+    void changes_holdBackLaterTransactionsUntilAnOlderOneFinishes() throws Exception {
+        String since = currentToken();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slowWriter = CompletableFuture.runAsync(() ->
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("INSERT INTO authors (id, first_name, last_name, created_at, updated_at) "
+                    + "VALUES (nextval('authors_id_seq'), 'Slow', 'Writer', now(), now())");
+                written.countDown();
+                await(release);
+            }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Long fastId = createAuthor("Fast", "Writer");
+        // The committed author comes after the open transaction, which could still commit
+        assertThat(restTemplate.getForObject(CHANGES_URL + "?since=" + since, String.class)).isNull();
+
+        release.countDown();
+        slowWriter.get(10, TimeUnit.SECONDS);
+        List<ChangeResponse> changes = lines(restTemplate.getForObject(CHANGES_URL + "?since=" + since, String.class));
+        assertThat(changes).extracting(change -> objectMapper.convertValue(change.data(), AuthorResponse.class).lastName())
+            .containsExactly("Writer", "Writer");
+        assertThat(changes.get(1).id()).isEqualTo(fastId);
+    }
+
+    @Test
+    void changes_withInvalidToken_returns400() {
+        ResponseEntity<ErrorResponse> response =
+            restTemplate.getForEntity(CHANGES_URL + "?since=not-a-token", ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<ChangeResponse> lines(String body) throws Exception {
+        if (body == null) {
+            return List.of();
+        }
+        List<ChangeResponse> changes = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            changes.add(objectMapper.readValue(line, ChangeResponse.class));
+        }
+        return changes;
+    }
+
+    /** The changes to the given entities, leaving out the seed data. */
+    private static List<ChangeResponse> ours(List<ChangeResponse> changes, Long authorId, Long bookId,
+                                             Long reservationId) {
+        Set<String> keys = Set.of("AUTHOR" + authorId, "BOOK" + bookId, "RESERVATION" + reservationId);
+        return changes.stream().filter(change -> keys.contains(change.entity().name() + change.id())).toList();
+    }
+
+    /** The position after every change so far. */
+    private String currentToken() throws Exception {
+        List<ChangeResponse> changes = lines(restTemplate.getForObject(CHANGES_URL, String.class));
+        return changes.isEmpty() ? "" : last(changes).token();
+    }
+
+    private static ChangeResponse last(List<ChangeResponse> changes) {
+        return changes.get(changes.size() - 1);
+    }
+
+    private Long createAuthor(String firstName, String lastName) {
+        return restTemplate.postForEntity("/api/v1/authors", new CreateAuthorRequest(firstName, lastName, null),
+            AuthorResponse.class).getBody().id();
+    }
+
+    private Long createBook(String title, String isbn, List<Long> authorIds) {
+        return restTemplate.postForEntity("/api/v1/books", new CreateBookRequest(title, isbn, null, 2020, authorIds),
+            BookResponse.class).getBody().id();
+    }
+}
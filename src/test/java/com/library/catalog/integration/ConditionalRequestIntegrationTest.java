@@ -0,0 +1,212 @@
+package com.library.catalog.integration;
+
+import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.request.CreateReservationRequest;
+import com.library.catalog.dto.request.UpdateAuthorRequest;
+import com.library.catalog.dto.request.UpdateBookRequest;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.ErrorResponse;
+import com.library.catalog.dto.response.ReservationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalRequestIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String BOOKS_URL = "/api/v1/books";
+    private static final String AUTHORS_URL = "/api/v1/authors";
+    private static final String RESERVATIONS_URL = "/api/v1/reservations";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long blochId;
+    private Long bookId;
+
+    @BeforeEach
+    void createBook() {
+        blochId = restTemplate.postForEntity(AUTHORS_URL, new CreateAuthorRequest("Joshua", "Bloch", null),
+            AuthorResponse.class).getBody().id();
+        bookId = restTemplate.postForEntity(BOOKS_URL, new CreateBookRequest("Conditional Java", "9780000005001",
+            null, 2018, List.of(blochId)), BookResponse.class).getBody().id();
+    }
+
+    @Test
+    void getBook_withCurrentETag_returns304UntilTheBookOrAnAuthorChanges() {
+        String etag = get(BOOKS_URL + "/" + bookId, null).getHeaders().getETag();
+        assertThat(etag).matches("\"\\d+-[0-9a-f]+\"");
+
+        ResponseEntity<String> unchanged = get(BOOKS_URL + "/" + bookId, etag);
+        assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(unchanged.getBody()).isNull();
+        assertThat(unchanged.getHeaders().getETag()).isEqualTo(etag);
+
+        // The book response embeds author names: a rename must invalidate it
+        restTemplate.put(AUTHORS_URL + "/" + blochId, new UpdateAuthorRequest(null, "Blochmann", null));
+
+        ResponseEntity<String> renamed = get(BOOKS_URL + "/" + bookId, etag);
+        assertThat(renamed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(renamed.getBody()).contains("Blochmann");
+        assertThat(renamed.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void getAuthorAndReservation_supportIfNoneMatch() {
+        Long reservationId = restTemplate.postForEntity(RESERVATIONS_URL,
+            new CreateReservationRequest(bookId, "etag-reader"), ReservationResponse.class).getBody().id();
+
+        for (String url : List.of(AUTHORS_URL + "/" + blochId, RESERVATIONS_URL + "/" + reservationId)) {
+            String etag = get(url, null).getHeaders().getETag();
+            assertThat(get(url, etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        }
+
+        // Both embed the book title
+        String authorETag = get(AUTHORS_URL + "/" + blochId, null).getHeaders().getETag();
+        String reservationETag = get(RESERVATIONS_URL + "/" + reservationId, null).getHeaders().getETag();
+        restTemplate.put(BOOKS_URL + "/" + bookId, new UpdateBookRequest("Conditional Kotlin", null, null, null, null));
+        assertThat(get(AUTHORS_URL + "/" + blochId, authorETag).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(get(RESERVATIONS_URL + "/" + reservationId, reservationETag).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void putBook_withIfMatch_appliesOnlyToTheVersionItWasReadAt() {
+        String etag = get(BOOKS_URL + "/" + bookId, null).getHeaders().getETag();
+
+        ResponseEntity<BookResponse> first = put(BOOKS_URL + "/" + bookId,
+            new UpdateBookRequest("First Writer", null, null, null, null), etag, BookResponse.class);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getHeaders().getETag()).isNotEqualTo(etag);
+
+        ResponseEntity<ErrorResponse> second = put(BOOKS_URL + "/" + bookId,
+            new UpdateBookRequest("Second Writer", null, null, null, null), etag, ErrorResponse.class);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        ResponseEntity<BookResponse> retried = put(BOOKS_URL + "/" + bookId,
+            new UpdateBookRequest("Second Writer", null, null, null, null), first.getHeaders().getETag(),
+            BookResponse.class);
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(retried.getBody().title()).isEqualTo("Second Writer");
+    }
+
+    @Test
+    void putAuthor_withStaleIfMatch_returns412() {
+        String etag = get(AUTHORS_URL + "/" + blochId, null).getHeaders().getETag();
+        restTemplate.put(AUTHORS_URL + "/" + blochId, new UpdateAuthorRequest(null, null, "A bio"));
+
+        ResponseEntity<ErrorResponse> response = put(AUTHORS_URL + "/" + blochId,
+            new UpdateAuthorRequest("Josh", null, null), etag, ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void listBooks_hasWeakETagThatChangesWithAnyBookOrAuthor() {
+        String url = BOOKS_URL + "?size=5&sort=title";
+        String etag = get(url, null).getHeaders().getETag();
+        assertThat(etag).startsWith("W/\"");
+        assertThat(get(url, etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        Long goetzId = restTemplate.postForEntity(AUTHORS_URL, new CreateAuthorRequest("Brian", "Goetz", null),
+            AuthorResponse.class).getBody().id();
+        String afterNewAuthor = get(url, etag).getHeaders().getETag();
+        assertThat(afterNewAuthor).isNotEqualTo(etag);
+
+        // Only the author links change
+        restTemplate.put(BOOKS_URL + "/" + bookId, new UpdateBookRequest(null, null, null, null, List.of(goetzId)));
+        assertThat(get(url, afterNewAuthor).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        String cursorUrl = BOOKS_URL + "?after=&size=5";
+        String cursorETag = get(cursorUrl, null).getHeaders().getETag();
+        assertThat(get(cursorUrl, cursorETag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void listBooks_weakETagChangesWithDeletesAndLateCommits() throws Exception {
+        String url = BOOKS_URL + "?size=5&count=none";
+        Long otherId = restTemplate.postForEntity(BOOKS_URL, new CreateBookRequest("Deleted Java", "9780000005003",
+            null, 2018, List.of(blochId)), BookResponse.class).getBody().id();
+        String etag = get(url, null).getHeaders().getETag();
+
+        restTemplate.delete(BOOKS_URL + "/" + otherId);
+        assertThat(get(url, etag).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // An update by an older transaction, committed after a newer one was already listed
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> lateWriter = CompletableFuture.runAsync(() ->
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("UPDATE books SET title = 'Late Java' WHERE id = ?", bookId);
+                written.countDown();
+                await(release);
+            }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+        restTemplate.postForEntity(BOOKS_URL, new CreateBookRequest("Newer Java", "9780000005004", null, 2018,
+            List.of(blochId)), BookResponse.class);
+        String beforeLateCommit = get(url, null).getHeaders().getETag();
+
+        release.countDown();
+        lateWriter.get(10, TimeUnit.SECONDS);
+        ResponseEntity<String> afterLateCommit = get(url, beforeLateCommit);
+        assertThat(afterLateCommit.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(afterLateCommit.getBody()).contains("Late Java");
+    }
+
+    @Test
+    void listReservations_weakETagChangesWithReservationsAndTheirBooks() {
+        Long reservationId = restTemplate.postForEntity(RESERVATIONS_URL,
+            new CreateReservationRequest(bookId, "etag-reader"), ReservationResponse.class).getBody().id();
+        String url = RESERVATIONS_URL + "?bookId=" + bookId;
+        String etag = get(url, null).getHeaders().getETag();
+        assertThat(get(url, etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        restTemplate.exchange(RESERVATIONS_URL + "/" + reservationId + "/cancel", HttpMethod.PATCH, null,
+            ReservationResponse.class);
+        String afterCancel = get(url, etag).getHeaders().getETag();
+        assertThat(afterCancel).isNotEqualTo(etag);
+
+        // The listing embeds book titles
+        restTemplate.put(BOOKS_URL + "/" + bookId, new UpdateBookRequest("Conditional Kotlin", null, null, null, null));
+        assertThat(get(url, afterCancel).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ResponseEntity<String> get(String url, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private <T> ResponseEntity<T> put(String url, Object body, String ifMatch, Class<T> type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(ifMatch);
+        return restTemplate.exchange(url, HttpMethod.PUT, new HttpEntity<>(body, headers), type);
+    }
+}
@@ -0,0 +1,147 @@
+package com.library.catalog.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.request.CreateReservationRequest;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BookImportResponse;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.ErrorResponse;
+import com.library.catalog.dto.response.ReservationResponse;
+import com.library.catalog.entity.ReservationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportBooks_ndjson_streamsEveryBookWithItsAuthors() throws Exception {
+        Long blochId = createAuthor("Joshua", "Bloch");
+        Long goetzId = createAuthor("Brian", "Goetz");
+        Long bookId = createBook("Java Concurrency in Practice", "9780000000101", List.of(goetzId, blochId));
+
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/v1/books/export", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).isEqualTo("application/x-ndjson");
+        assertThat(response.getHeaders().getContentDisposition().getFilename()).isEqualTo("books.ndjson");
+        List<BookResponse> books = lines(response.getBody(), BookResponse.class);
+        BookResponse jcip = books.stream().filter(book -> book.id().equals(bookId)).findFirst().orElseThrow();
+        assertThat(jcip.isbn()).isEqualTo("9780000000101");
+        assertThat(jcip.authors()).extracting(BookResponse.AuthorSummary::id).containsExactly(blochId, goetzId);
+        assertThat(books).extracting(BookResponse::id).isSorted();
+    }
+
+    @Test
+    void exportBooks_csv_quotesFieldsAndUsesImportColumns() {
+        Long blochId = createAuthor("Joshua", "Bloch");
+        restTemplate.postForEntity("/api/v1/books", new CreateBookRequest("Effective Java, 3rd \"Edition\"",
+            "9780000000118", "Best\npractices", 2018, List.of(blochId)), BookResponse.class);
+
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/v1/books/export?format=CSV", String.class);
+
+        assertThat(response.getHeaders().getContentType().toString()).isEqualTo("text/csv");
+        assertThat(response.getBody()).startsWith(
+            "id,title,isbn,description,published_year,authors,created_at,updated_at\r\n");
+        assertThat(response.getBody()).contains(
+            ",\"Effective Java, 3rd \"\"Edition\"\"\",9780000000118,\"Best\npractices\",2018,Joshua Bloch,");
+    }
+
+    @Test
+    void exportBooks_fetchesAuthorsForEveryWindow() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            ndjson.append("{\"title\": \"Export ").append(i).append("\", \"isbn\": \"")
+                .append(9781000000000L + i).append("\", \"authors\": [\"Author ").append(i % 3)
+                .append("\", \"Coauthor ").append(i % 5).append("\"]}\n");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        BookImportResponse report = restTemplate.postForEntity("/api/v1/books/import",
+            new HttpEntity<>(ndjson.toString(), headers), BookImportResponse.class).getBody();
+        assertThat(report.imported()).isEqualTo(1200);
+
+        List<BookResponse> exported = lines(
+            restTemplate.getForEntity("/api/v1/books/export", String.class).getBody(), BookResponse.class)
+            .stream().filter(book -> book.title().startsWith("Export ")).toList();
+
+        assertThat(exported).hasSize(1200);
+        assertThat(exported).allSatisfy(book -> assertThat(book.authors()).hasSize(2));
+    }
+
+    @Test
+    void exportAuthors_includesTheirBooks() throws Exception {
+        Long blochId = createAuthor("Joshua", "Bloch");
+        Long bookId = createBook("Effective Java", "9780000000118", List.of(blochId));
+
+        List<AuthorResponse> authors = lines(
+            restTemplate.getForEntity("/api/v1/authors/export", String.class).getBody(), AuthorResponse.class);
+
+        AuthorResponse bloch = authors.stream().filter(author -> author.id().equals(blochId)).findFirst().orElseThrow();
+        assertThat(bloch.books()).extracting(AuthorResponse.BookSummary::id).containsExactly(bookId);
+    }
+
+    @Test
+    void exportReservations_streamsHistory() throws Exception {
+        Long bookId = createBook("Effective Java", "9780000000118", List.of(createAuthor("Joshua", "Bloch")));
+        Long reservationId = restTemplate.postForEntity("/api/v1/reservations",
+            new CreateReservationRequest(bookId, "alice"), ReservationResponse.class).getBody().id();
+        restTemplate.exchange("/api/v1/reservations/" + reservationId + "/cancel", HttpMethod.PATCH, null,
+            ReservationResponse.class);
+
+        List<ReservationResponse> reservations = lines(
+            restTemplate.getForEntity("/api/v1/reservations/export", String.class).getBody(),
+            ReservationResponse.class);
+
+        ReservationResponse exported = reservations.stream()
+            .filter(reservation -> reservation.id().equals(reservationId)).findFirst().orElseThrow();
+        assertThat(exported.bookTitle()).isEqualTo("Effective Java");
+        assertThat(exported.status()).isEqualTo(ReservationStatus.CANCELLED);
+        assertThat(exported.cancelledAt()).isNotNull();
+    }
+
+    @Test
+    void export_withUnsupportedFormat_returns400() {
+        ResponseEntity<ErrorResponse> response =
+            restTemplate.getForEntity("/api/v1/authors/export?format=xml", ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().message()).contains("xml");
+    }
+
+    private <T> List<T> lines(String body, Class<T> type) throws Exception {
+        if (body == null) {
+            return List.of();
+        }
+        List<T> values = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            values.add(objectMapper.readValue(line, type));
+        }
+        return values;
+    }
+
+    private Long createAuthor(String firstName, String lastName) {
+        return restTemplate.postForEntity("/api/v1/authors", new CreateAuthorRequest(firstName, lastName, null),
+            AuthorResponse.class).getBody().id();
+    }
+
+    private Long createBook(String title, String isbn, List<Long> authorIds) {
+        return restTemplate.postForEntity("/api/v1/books", new CreateBookRequest(title, isbn, null, 2018, authorIds),
+            BookResponse.class).getBody().id();
+    }
+}
@@ -0,0 +1,102 @@
+package com.library.catalog.integration;
+
+import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.PagedResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "catalog.search.fuzzy.enabled=true")
+class FuzzySearchIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String SEARCH_URL = "/api/v1/search";
+
+    private Long fowlerId;
+
+    @BeforeEach
+    void seedData() {
+        Long blochId = createAuthor("Joshua", "Bloch");
+        Long goetzId = createAuthor("Brian", "Goetz");
+        fowlerId = createAuthor("Martin", "Fowler");
+
+        createBook("Effective Java", "9780134685991",
+            "A guide to programming best practices in Java", List.of(blochId));
+        createBook("Java Concurrency in Practice", "9780321349606",
+            "A comprehensive guide to concurrent programming", List.of(goetzId, blochId));
+        createBook("Refactoring", "9780201485677",
+            "Improving the design of existing code", List.of(fowlerId));
+    }
+
+    @Test
+    void search_misspelledTitleWord_fallsBackToTrigramMatch() {
+        List<Map<String, Object>> content = search("concurency");
+
+        assertThat(content).extracting(r -> r.get("title")).containsExactly("Java Concurrency in Practice");
+    }
+
+    @Test
+    void search_misspelledAuthorName_findsTheirBooks() {
+        List<Map<String, Object>> content = search("Blosh");
+
+        assertThat(content).extracting(r -> r.get("title"))
+            .containsExactlyInAnyOrder("Effective Java", "Java Concurrency in Practice");
+        assertThat((List<?>) content.get(0).get("authors")).isNotEmpty();
+    }
+
+    @Test
+    void search_fewFullTextHits_keepsThemFirst() {
+        Long fowleyId = createAuthor("Ann", "Fowley");
+        createBook("Code Reading", "9780201799408", null, List.of(fowleyId));
+
+        // "Fowler" matches Refactoring in full text; "Fowley" only by trigram similarity
+        List<Map<String, Object>> content = search("fowler");
+
+        assertThat(content).extracting(r -> r.get("title")).containsExactly("Refactoring", "Code Reading");
+    }
+
+    @Test
+    void search_enoughFullTextHits_skipsFallback() {
+        createBook("Java Puzzlers", "9780321336781", null, List.of(fowlerId));
+        createBook("Javascript Patterns", "9780596806750", null, List.of(fowlerId));
+
+        // Three full-text matches reach min-hits, so the near-miss "Javascript" is not added
+        List<Map<String, Object>> content = search("java");
+
+        assertThat(content).extracting(r -> r.get("title"))
+            .containsExactlyInAnyOrder("Effective Java", "Java Concurrency in Practice", "Java Puzzlers");
+    }
+
+    @Test
+    void search_stopWordsOnly_staysEmpty() {
+        assertThat(search("the of")).isEmpty();
+    }
+
+    private List<Map<String, Object>> search(String query) {
+        ResponseEntity<PagedResponse> response =
+            restTemplate.getForEntity(SEARCH_URL + "?q=" + query, PagedResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return (List<Map<String, Object>>) response.getBody().content();
+    }
+
+    private Long createAuthor(String firstName, String lastName) {
+        var request = new CreateAuthorRequest(firstName, lastName, null);
+        ResponseEntity<AuthorResponse> response =
+            restTemplate.postForEntity("/api/v1/authors", request, AuthorResponse.class);
+        return response.getBody().id();
+    }
+
+    private void createBook(String title, String isbn, String description, List<Long> authorIds) {
+        var request = new CreateBookRequest(title, isbn, description, 2000, authorIds);
+        restTemplate.postForEntity("/api/v1/books", request, BookResponse.class);
+    }
+}
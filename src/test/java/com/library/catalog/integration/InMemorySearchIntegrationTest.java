@@ -0,0 +1,119 @@
+package com.library.catalog.integration;
+
+import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.request.UpdateAuthorRequest;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
+import com.library.catalog.dto.response.PagedResponse;
+import com.library.catalog.service.search.InMemorySearchEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "catalog.search.engine=memory")
+class InMemorySearchIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String SEARCH_URL = "/api/v1/search";
+    private static final String BOOKS_URL = "/api/v1/books";
+    private static final String AUTHORS_URL = "/api/v1/authors";
+
+    @Autowired
+    private InMemorySearchEngine inMemorySearchEngine;
+
+    private Long blochId;
+    private Long effectiveJavaId;
+
+    @BeforeEach
+    void seedData() {
+        // Tables are truncated behind the index's back after every test
+        inMemorySearchEngine.rebuild();
+
+        blochId = createAuthor("Joshua", "Bloch");
+        Long goetzId = createAuthor("Brian", "Goetz");
+
+        effectiveJavaId = createBook("Effective Java", "9780134685991",
+            "A guide to programming best practices in Java", 2018, List.of(blochId));
+        createBook("Java Concurrency in Practice", "9780321349606",
+            "A comprehensive guide to concurrent programming", 2006, List.of(goetzId, blochId));
+    }
+
+    @Test
+    void search_findsBooksCreatedThroughTheApi() {
+        ResponseEntity<PagedResponse> response =
+            restTemplate.getForEntity(SEARCH_URL + "?q=java", PagedResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().totalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void search_stemsQueryTerms() {
+        ResponseEntity<PagedResponse> response =
+            restTemplate.getForEntity(SEARCH_URL + "?q=concurrent practices", PagedResponse.class);
+
+        assertThat(response.getBody().totalElements()).isEqualTo(1);
+        List<Map<String, Object>> content = (List<Map<String, Object>>) response.getBody().content();
+        assertThat(content.get(0).get("title")).isEqualTo("Java Concurrency in Practice");
+        assertThat((List<?>) content.get(0).get("authors")).hasSize(2);
+    }
+
+    @Test
+    void search_reflectsAuthorRenameAndBookDeletion() {
+        restTemplate.put(AUTHORS_URL + "/" + blochId, new UpdateAuthorRequest(null, "Blochmann", null));
+        restTemplate.delete(BOOKS_URL + "/" + effectiveJavaId);
+
+        ResponseEntity<PagedResponse> oldName =
+            restTemplate.getForEntity(SEARCH_URL + "?q=bloch", PagedResponse.class);
+        ResponseEntity<PagedResponse> newName =
+            restTemplate.getForEntity(SEARCH_URL + "?q=blochmann", PagedResponse.class);
+
+        assertThat(oldName.getBody().totalElements()).isZero();
+        assertThat(newName.getBody().totalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void search_pageBeyondTheIndexedBooks_isEmptyWithTheTotal() {
+        ResponseEntity<PagedResponse> response =
+            restTemplate.getForEntity(SEARCH_URL + "?q=java&page=100&size=100", PagedResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().content()).isEmpty();
+        assertThat(response.getBody().totalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void searchByCursor_pagesThroughInMemoryResults() {
+        ResponseEntity<CursorPagedResponse> first = restTemplate.getForEntity(
+            SEARCH_URL + "?q=java&size=1&cursor=", CursorPagedResponse.class);
+        ResponseEntity<CursorPagedResponse> second = restTemplate.getForEntity(
+            SEARCH_URL + "?q=java&size=1&cursor=" + first.getBody().nextCursor(), CursorPagedResponse.class);
+
+        assertThat(first.getBody().last()).isFalse();
+        assertThat(second.getBody().last()).isTrue();
+        assertThat(((List<Map<String, Object>>) second.getBody().content()).get(0).get("id"))
+            .isNotEqualTo(((List<Map<String, Object>>) first.getBody().content()).get(0).get("id"));
+    }
+
+    private Long createAuthor(String firstName, String lastName) {
+        var request = new CreateAuthorRequest(firstName, lastName, null);
+        ResponseEntity<AuthorResponse> response =
+            restTemplate.postForEntity(AUTHORS_URL, request, AuthorResponse.class);
+        return response.getBody().id();
+    }
+
+    private Long createBook(String title, String isbn, String description,
+                            int year, List<Long> authorIds) {
+        var request = new CreateBookRequest(title, isbn, description, year, authorIds);
+        return restTemplate.postForEntity(BOOKS_URL, request, BookResponse.class).getBody().id();
+    }
+}
@@ -0,0 +1,107 @@
+package com.library.catalog.integration;
+
+import com.library.catalog.dto.request.BatchSearchRequest;
+import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BatchSearchResponse;
+import com.library.catalog.dto.response.PagedResponse;
+import com.library.catalog.dto.response.PagedResponse.TotalRelation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {
+    "catalog.search.parallel.enabled=true",
+    "catalog.search.parallel.count-limit=2",
+    "catalog.search.parallel.count-timeout=5s"
+})
+class ParallelSearchIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String SEARCH_URL = "/api/v1/search";
+
+    @BeforeEach
+    void seedData() {
+        Long authorId = restTemplate.postForEntity("/api/v1/authors",
+            new CreateAuthorRequest("Joshua", "Bloch", null), AuthorResponse.class).getBody().id();
+
+        createBook("Effective Java", "9780134685991", authorId);
+        createBook("Java Puzzlers", "9780321336781", authorId);
+        createBook("Java Concurrency in Practice", "9780321349606", authorId);
+        createBook("Thinking in Java", "9780131872486", authorId);
+    }
+
+    @Test
+    void search_lastPage_reportsExactTotalWithoutCount() {
+        PagedResponse<Map<String, Object>> body = search("java", 0, 10);
+
+        assertThat(body.content()).hasSize(4);
+        assertThat(body.totalElements()).isEqualTo(4);
+        assertThat(body.totalRelation()).isEqualTo(TotalRelation.EXACT);
+        assertThat(body.last()).isTrue();
+    }
+
+    @Test
+    void search_countAboveLimit_reportsLowerBound() {
+        PagedResponse<Map<String, Object>> body = search("java", 0, 1);
+
+        assertThat(body.content()).hasSize(1);
+        assertThat(body.totalElements()).isEqualTo(2);
+        assertThat(body.totalRelation()).isEqualTo(TotalRelation.LOWER_BOUND);
+        assertThat(body.last()).isFalse();
+    }
+
+    @Test
+    void search_pageBeyondCountLimit_lowerBoundCoversNextRow() {
+        PagedResponse<Map<String, Object>> body = search("java", 2, 1);
+
+        assertThat(body.totalElements()).isEqualTo(4);
+        assertThat(body.totalRelation()).isEqualTo(TotalRelation.LOWER_BOUND);
+        assertThat(body.last()).isFalse();
+    }
+
+    @Test
+    void search_countWithinLimit_isExact() {
+        PagedResponse<Map<String, Object>> body = search("effective", 0, 20);
+
+        assertThat(body.totalElements()).isEqualTo(1);
+        assertThat(body.totalRelation()).isEqualTo(TotalRelation.EXACT);
+    }
+
+    @Test
+    void searchBatch_countsEachQueryUpToTheLimit() {
+        ResponseEntity<BatchSearchResponse> response = restTemplate.postForEntity(SEARCH_URL + "/batch",
+            new BatchSearchRequest(List.of("java", "effective"), 1), BatchSearchResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        BatchSearchResponse.QueryResults java = response.getBody().results().get("java");
+        assertThat(java.content()).hasSize(1);
+        assertThat(java.totalElements()).isEqualTo(2);
+        assertThat(java.totalRelation()).isEqualTo(TotalRelation.LOWER_BOUND);
+        BatchSearchResponse.QueryResults effective = response.getBody().results().get("effective");
+        assertThat(effective.totalElements()).isEqualTo(1);
+        assertThat(effective.totalRelation()).isEqualTo(TotalRelation.EXACT);
+    }
+
+    private PagedResponse<Map<String, Object>> search(String query, int page, int size) {
+        ResponseEntity<PagedResponse<Map<String, Object>>> response = restTemplate.exchange(
+            SEARCH_URL + "?q=" + query + "&page=" + page + "&size=" + size, HttpMethod.GET, null,
+            new ParameterizedTypeReference<>() {});
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private void createBook(String title, String isbn, Long authorId) {
+        restTemplate.postForEntity("/api/v1/books",
+            new CreateBookRequest(title, isbn, null, 2000, List.of(authorId)), Object.class);
+    }
+}
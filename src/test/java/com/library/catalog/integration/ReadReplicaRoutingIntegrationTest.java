@@ -0,0 +1,143 @@
+package com.library.catalog.integration;
+
+import com.library.catalog.config.ReadReplicaProperties;
+import com.library.catalog.config.ReadReplicaRoutingDataSource;
+import com.library.catalog.config.ReplicaPool;
+import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.entity.Book;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Replica 0 is the test database on its own pool; replica 1 is unreachable. */
+@TestPropertySource(properties = {
+    "catalog.read-replicas.enabled=true",
+    "catalog.read-replicas.replicas[0].url=${spring.datasource.url}",
+    "catalog.read-replicas.replicas[1].url=jdbc:postgresql://localhost:1/library_catalog",
+    "catalog.read-replicas.connection-timeout=1s",
+    "catalog.read-replicas.max-lag=2s"
+})
+class ReadReplicaRoutingIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String REPLICA = "catalog-replica-0";
+
+    @Autowired
+    private ReplicaPool replicaPool;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void checkReplicas() {
+        replicaPool.checkHealth();
+    }
+
+    @Test
+    void readOnlyTransactionOfListedService_runsOnHealthyReplica() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(applicationName("com.library.catalog.service.BookService.findAll", true)).isEqualTo(REPLICA);
+        }
+        assertThat(replicaPool.status()).containsKey(REPLICA)
+            .hasEntrySatisfying("catalog-replica-1", status -> assertThat(status).startsWith("unreachable"));
+    }
+
+    @Test
+    void writeTransaction_runsOnPrimary() {
+        assertThat(applicationName("com.library.catalog.service.BookService.updateBook", false))
+            .isNotEqualTo(REPLICA);
+    }
+
+    @Test
+    void readOnlyTransactionOfUnlistedService_runsOnPrimary() {
+        assertThat(applicationName("com.library.catalog.service.ChangeFeedService.streamChanges", true))
+            .isNotEqualTo(REPLICA);
+    }
+
+    @Test
+    void noHealthyReplica_fallsBackToPrimary() throws Exception {
+        ReadReplicaProperties properties = new ReadReplicaProperties(true,
+            List.of(new ReadReplicaProperties.Replica("jdbc:postgresql://localhost:1/library_catalog", null, null)),
+            Set.of("BookService"), Duration.ofSeconds(10), Duration.ofSeconds(5), 2, Duration.ofSeconds(1));
+        try (ReplicaPool unreachable = new ReplicaPool(properties, dataSourceProperties)) {
+            unreachable.checkHealth();
+            ReadReplicaRoutingDataSource routing =
+                new ReadReplicaRoutingDataSource(primaryDataSource, unreachable, properties.services());
+
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            TransactionSynchronizationManager.setCurrentTransactionName(
+                "com.library.catalog.service.BookService.findAll");
+            try (Connection connection = routing.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT current_setting('application_name')")) {
+                rs.next();
+                assertThat(rs.getString(1)).doesNotStartWith("catalog-replica");
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+                TransactionSynchronizationManager.setCurrentTransactionName(null);
+            }
+        }
+    }
+
+    @Test
+    void readsThroughApi_cacheReplicaRowsForAtMostMaxLag() throws Exception {
+        Long authorId = restTemplate.postForEntity("/api/v1/authors",
+            new CreateAuthorRequest("Joshua", "Bloch", null), AuthorResponse.class).getBody().id();
+        Long bookId = restTemplate.postForEntity("/api/v1/books",
+            new CreateBookRequest("Replica Java", "9780000008001", null, 2020, List.of(authorId)),
+            BookResponse.class).getBody().id();
+        entityManagerFactory.getCache().evict(Book.class);
+
+        ResponseEntity<BookResponse> response =
+            restTemplate.getForEntity("/api/v1/books/" + bookId, BookResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().title()).isEqualTo("Replica Java");
+        // The replica read fills the cache (user-020), but only for max-lag rather than the configured hour
+        assertThat(entityManagerFactory.getCache().contains(Book.class, bookId)).isTrue();
+        Thread.sleep(Duration.ofMillis(2500));
+        assertThat(entityManagerFactory.getCache().contains(Book.class, bookId)).isFalse();
+    }
+
+    /** The application_name of the connection a transaction with this name runs on. */
+    private String applicationName(String transactionName, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setName(transactionName);
+        template.setReadOnly(readOnly);
+        return template.execute(status ->
+            jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class));
+    }
+}
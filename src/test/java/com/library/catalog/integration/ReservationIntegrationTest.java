@@ -5,16 +5,20 @@ import com.library.catalog.dto.request.CreateBookRequest;
 import com.library.catalog.dto.request.CreateReservationRequest;
 import com.library.catalog.dto.response.AuthorResponse;
 import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
 import com.library.catalog.dto.response.ErrorResponse;
+import com.library.catalog.dto.response.MultiGetResponse;
 import com.library.catalog.dto.response.PagedResponse;
 import com.library.catalog.dto.response.ReservationResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -148,6 +152,66 @@ class ReservationIntegrationTest extends AbstractIntegrationTest {
         assertThat(activeReservations.getBody().totalElements()).isEqualTo(2);
     }
 
+    @Test
+    void findAll_withoutCount_reportsLowerBoundUntilLastPage() {
+        for (int i = 0; i < 3; i++) {
+            Long bookId = createBookWithAuthor("Book " + i, "123456789012" + i);
+            restTemplate.postForEntity(RESERVATIONS_URL, new CreateReservationRequest(bookId, "carol"),
+                ReservationResponse.class);
+        }
+
+        PagedResponse<ReservationResponse> first = listCarol("none", 0);
+        PagedResponse<ReservationResponse> second = listCarol("none", 1);
+        PagedResponse<ReservationResponse> estimated = listCarol("estimate", 0);
+
+        assertThat(first.content()).hasSize(2);
+        assertThat(first.last()).isFalse();
+        assertThat(first.totalElements()).isEqualTo(3);
+        assertThat(first.totalRelation()).isEqualTo(PagedResponse.TotalRelation.LOWER_BOUND);
+        assertThat(second.content()).hasSize(1);
+        assertThat(second.content()).extracting(ReservationResponse::bookId)
+            .doesNotContainAnyElementsOf(first.content().stream().map(ReservationResponse::bookId).toList());
+        assertThat(second.last()).isTrue();
+        assertThat(second.totalElements()).isEqualTo(3);
+        assertThat(second.totalRelation()).isEqualTo(PagedResponse.TotalRelation.EXACT);
+        assertThat(estimated.totalRelation()).isEqualTo(PagedResponse.TotalRelation.ESTIMATE);
+        assertThat(estimated.totalElements()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void findAll_withUnsupportedCount_returns400() {
+        ResponseEntity<ErrorResponse> response =
+            restTemplate.getForEntity(RESERVATIONS_URL + "?count=approximate", ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void findAfter_withFilter_pagesThroughMatchingReservations() {
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bookIds.add(createBookWithAuthor("Book " + i, "123456789012" + i));
+        }
+        bookIds.forEach(bookId -> restTemplate.postForEntity(RESERVATIONS_URL,
+            new CreateReservationRequest(bookId, "alice"), ReservationResponse.class));
+        restTemplate.postForEntity(RESERVATIONS_URL,
+            new CreateReservationRequest(createBookWithAuthor("Book 3", "1234567890129"), "bob"),
+            ReservationResponse.class);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            ResponseEntity<CursorPagedResponse<ReservationResponse>> response = restTemplate.exchange(
+                RESERVATIONS_URL + "?userName=alice&sort=reservedAt,desc&size=2&after=" + cursor,
+                HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            response.getBody().content().forEach(reservation -> seen.add(reservation.bookId()));
+            cursor = response.getBody().nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(bookIds.get(2), bookIds.get(1), bookIds.get(0));
+    }
+
     @Test
     void cancel_alreadyCancelledReservation_returns409() {
         Long bookId = createBookWithAuthor("Cancel Test", "9780134685993");
@@ -179,6 +243,25 @@ class ReservationIntegrationTest extends AbstractIntegrationTest {
         assertThat(response.getBody().fieldErrors()).isNotEmpty();
     }
 
+    @Test
+    void findAllById_returnsReservationsWithBookTitlesInRequestOrder() {
+        Long first = restTemplate.postForEntity(RESERVATIONS_URL,
+            new CreateReservationRequest(createBookWithAuthor("Multi One", "9780000006101"), "multi-reader"),
+            ReservationResponse.class).getBody().id();
+        Long second = restTemplate.postForEntity(RESERVATIONS_URL,
+            new CreateReservationRequest(createBookWithAuthor("Multi Two", "9780000006102"), "multi-reader"),
+            ReservationResponse.class).getBody().id();
+
+        ResponseEntity<MultiGetResponse<ReservationResponse>> response = restTemplate.exchange(
+            RESERVATIONS_URL + "?ids=" + second + "," + first + ",99999", HttpMethod.GET, null,
+            new ParameterizedTypeReference<>() {});
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().content()).extracting(ReservationResponse::bookTitle)
+            .containsExactly("Multi Two", "Multi One");
+        assertThat(response.getBody().missing()).containsExactly(99999L);
+    }
+
     @Test
     void getReservation_nonExistent_returns404() {
         ResponseEntity<ErrorResponse> response =
@@ -187,6 +270,14 @@ class ReservationIntegrationTest extends AbstractIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    private PagedResponse<ReservationResponse> listCarol(String count, int page) {
+        ResponseEntity<PagedResponse<ReservationResponse>> response = restTemplate.exchange(
+            RESERVATIONS_URL + "?userName=carol&sort=id&size=2&page=" + page + "&count=" + count,
+            HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
     private Long createBookWithAuthor(String title, String isbn) {
         Long authorId = createAuthor("Test", "Author" + isbn.substring(isbn.length() - 4));
         var bookRequest = new CreateBookRequest(title, isbn, "Description", 2020, List.of(authorId));
@@ -0,0 +1,112 @@
+package com.library.catalog.integration;
+
+import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.request.UpdateAuthorRequest;
+import com.library.catalog.dto.request.UpdateBookRequest;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.PagedResponse;
+import com.library.catalog.service.search.SearchResultCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "catalog.search.cache.enabled=true")
+class SearchCacheIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String SEARCH_URL = "/api/v1/search";
+    private static final String BOOKS_URL = "/api/v1/books";
+    private static final String AUTHORS_URL = "/api/v1/authors";
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long blochId;
+    private Long effectiveJavaId;
+
+    @BeforeEach
+    void seedData() {
+        // Tables are truncated behind the cache's back after every test
+        searchResultCache.invalidateAll();
+
+        blochId = createAuthor("Joshua", "Bloch");
+        effectiveJavaId = createBook("Effective Java", "9780134685991", List.of(blochId));
+    }
+
+    @Test
+    void search_repeatedQuery_isServedFromCache() {
+        double hitsBefore = cacheGets("hit");
+
+        search("effective java");
+        search("  effective java ");
+
+        assertThat(cacheGets("hit") - hitsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void search_afterBookUpdate_seesNewTitle() {
+        assertThat(search("effective").totalElements()).isEqualTo(1);
+
+        restTemplate.put(BOOKS_URL + "/" + effectiveJavaId,
+            new UpdateBookRequest("Ineffective Kotlin", null, null, null, null));
+
+        assertThat(search("effective").totalElements()).isZero();
+    }
+
+    @Test
+    void search_afterAuthorRename_seesNewName() {
+        assertThat(search("bloch").totalElements()).isEqualTo(1);
+
+        restTemplate.put(AUTHORS_URL + "/" + blochId, new UpdateAuthorRequest(null, "Blochmann", null));
+
+        assertThat(search("bloch").totalElements()).isZero();
+    }
+
+    @Test
+    void cacheMetrics_areExposedThroughActuator() {
+        search("effective java");
+
+        ResponseEntity<Map> response =
+            restTemplate.getForEntity("/actuator/metrics/cache.gets?tag=cache:search", Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((List<?>) response.getBody().get("measurements")).isNotEmpty();
+    }
+
+    private PagedResponse<?> search(String query) {
+        ResponseEntity<PagedResponse> response =
+            restTemplate.getForEntity(SEARCH_URL + "?q=" + query, PagedResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "search").tag("result", result)
+            .functionCounter().count();
+    }
+
+    private Long createAuthor(String firstName, String lastName) {
+        var request = new CreateAuthorRequest(firstName, lastName, null);
+        ResponseEntity<AuthorResponse> response =
+            restTemplate.postForEntity(AUTHORS_URL, request, AuthorResponse.class);
+        return response.getBody().id();
+    }
+
+    private Long createBook(String title, String isbn, List<Long> authorIds) {
+        var request = new CreateBookRequest(title, isbn, null, 2000, authorIds);
+        return restTemplate.postForEntity(BOOKS_URL, request, BookResponse.class).getBody().id();
+    }
+}
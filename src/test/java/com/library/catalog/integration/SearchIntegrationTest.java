@@ -1,20 +1,29 @@
 package com.library.catalog.integration;
 
+import com.library.catalog.dto.request.BatchSearchRequest;
 import com.library.catalog.dto.request.CreateAuthorRequest;
 import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.request.CreateReservationRequest;
+import com.library.catalog.dto.request.UpdateAuthorRequest;
 import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BatchSearchResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
 import com.library.catalog.dto.response.BookResponse;
 import com.library.catalog.dto.response.ErrorResponse;
 import com.library.catalog.dto.response.PagedResponse;
+import com.library.catalog.dto.response.PagedResponse.TotalRelation;
+import com.library.catalog.dto.response.ReservationResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 class SearchIntegrationTest extends AbstractIntegrationTest {
 
@@ -22,10 +31,12 @@ class SearchIntegrationTest extends AbstractIntegrationTest {
     private static final String BOOKS_URL = "/api/v1/books";
     private static final String AUTHORS_URL = "/api/v1/authors";
 
+    private Long goetzId;
+
     @BeforeEach
     void seedData() {
         Long blochId = createAuthor("Joshua", "Bloch");
-        Long goetzId = createAuthor("Brian", "Goetz");
+        goetzId = createAuthor("Brian", "Goetz");
         Long fowlerId = createAuthor("Martin", "Fowler");
 
         createBook("Effective Java", "9780134685991",
@@ -84,6 +95,14 @@ class SearchIntegrationTest extends AbstractIntegrationTest {
         assertThat(response.getBody().content()).isEmpty();
     }
 
+    @Test
+    void search_pageBeyondMaxOffset_returns400() {
+        ResponseEntity<ErrorResponse> response =
+            restTemplate.getForEntity(SEARCH_URL + "?q=java&page=30000000&size=100", ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
     @Test
     void search_withEmptyQuery_returns400() {
         ResponseEntity<ErrorResponse> response =
@@ -139,6 +158,210 @@ class SearchIntegrationTest extends AbstractIntegrationTest {
         assertThat(concurrencyCount).isEqualTo(1);
     }
 
+    @Test
+    void search_afterAuthorRename_matchesNewName() {
+        Long authorId = createAuthor("Kent", "Beck");
+        createBook("Test Driven Development", "9780321146533",
+            "By example", 2002, List.of(authorId));
+
+        restTemplate.put(AUTHORS_URL + "/" + authorId,
+            new UpdateAuthorRequest(null, "Beckett", null));
+
+        ResponseEntity<PagedResponse> oldName =
+            restTemplate.getForEntity(SEARCH_URL + "?q=Beck", PagedResponse.class);
+        ResponseEntity<PagedResponse> newName =
+            restTemplate.getForEntity(SEARCH_URL + "?q=Beckett", PagedResponse.class);
+
+        assertThat(oldName.getBody().totalElements()).isZero();
+        assertThat(newName.getBody().totalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void search_reservedBookOutranksEquallyRelevantOne() {
+        createBook("Kotlin Puzzlers", "9780000000001", null, 2020, List.of(goetzId));
+        createBook("Kotlin Patterns", "9780000000002", null, 2020, List.of(goetzId));
+        List<Map<String, Object>> before = (List<Map<String, Object>>) restTemplate
+            .getForEntity(SEARCH_URL + "?q=kotlin", PagedResponse.class).getBody().content();
+        assertThat(before).extracting(r -> r.get("title")).containsExactly("Kotlin Puzzlers", "Kotlin Patterns");
+
+        Number patternsId = (Number) before.get(1).get("id");
+        restTemplate.postForEntity("/api/v1/reservations",
+            new CreateReservationRequest(patternsId.longValue(), "alice"), ReservationResponse.class);
+
+        List<Map<String, Object>> after = (List<Map<String, Object>>) restTemplate
+            .getForEntity(SEARCH_URL + "?q=kotlin", PagedResponse.class).getBody().content();
+        assertThat(after).extracting(r -> r.get("title")).containsExactly("Kotlin Patterns", "Kotlin Puzzlers");
+    }
+
+    @Test
+    void search_withFacets_countsAuthorsAndDecadesOverAllMatches() {
+        ResponseEntity<Map> response =
+            restTemplate.getForEntity(SEARCH_URL + "?q=java&size=1&facets=true", Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().get("totalElements")).isEqualTo(2);
+        Map<String, List<Map<String, Object>>> facets =
+            (Map<String, List<Map<String, Object>>>) response.getBody().get("facets");
+        assertThat(facets.get("authors"))
+            .extracting(a -> a.get("lastName"), a -> a.get("count"))
+            .containsExactly(tuple("Bloch", 2), tuple("Goetz", 1));
+        assertThat(facets.get("decades"))
+            .extracting(d -> d.get("fromYear"), d -> d.get("toYear"), d -> d.get("count"))
+            .containsExactly(tuple(2010, 2019, 1), tuple(2000, 2009, 1));
+    }
+
+    @Test
+    void search_withoutFacets_omitsFacetsSection() {
+        ResponseEntity<Map> response = restTemplate.getForEntity(SEARCH_URL + "?q=java", Map.class);
+
+        assertThat(response.getBody()).doesNotContainKey("facets");
+        assertThat(response.getBody().get("totalRelation")).isEqualTo("EXACT");
+    }
+
+    @Test
+    void search_withAuthorFilter_narrowsMatchesAndFacets() {
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+            SEARCH_URL + "?q=java&facets=true&author=" + goetzId, Map.class);
+
+        List<Map<String, Object>> content = (List<Map<String, Object>>) response.getBody().get("content");
+        assertThat(content).extracting(r -> r.get("title")).containsExactly("Java Concurrency in Practice");
+        Map<String, List<Map<String, Object>>> facets =
+            (Map<String, List<Map<String, Object>>>) response.getBody().get("facets");
+        assertThat(facets.get("decades")).extracting(d -> d.get("fromYear")).containsExactly(2000);
+    }
+
+    @Test
+    void search_withYearRange_narrowsMatches() {
+        ResponseEntity<PagedResponse> response = restTemplate.getForEntity(
+            SEARCH_URL + "?q=programming&yearFrom=2010&yearTo=2020", PagedResponse.class);
+
+        List<Map<String, Object>> content = (List<Map<String, Object>>) response.getBody().content();
+        assertThat(content).extracting(r -> r.get("title")).containsExactly("Effective Java");
+    }
+
+    @Test
+    void search_withInvertedYearRange_returns400() {
+        ResponseEntity<ErrorResponse> response = restTemplate.getForEntity(
+            SEARCH_URL + "?q=java&yearFrom=2020&yearTo=2010", ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void search_withHighlight_marksMatchesInTitleAndDescription() {
+        ResponseEntity<Map> response =
+            restTemplate.getForEntity(SEARCH_URL + "?q=effective java&highlight=true", Map.class);
+
+        List<Map<String, Object>> content = (List<Map<String, Object>>) response.getBody().get("content");
+        Map<String, Object> highlight = (Map<String, Object>) content.get(0).get("highlight");
+        assertThat(highlight.get("title")).isEqualTo("<mark>Effective</mark> <mark>Java</mark>");
+        assertThat((String) highlight.get("description")).contains("<mark>Java</mark>");
+    }
+
+    @Test
+    void search_withHighlight_escapesCatalogText() {
+        createBook("Java <Generics> & Collections", "9780596527754",
+            null, 2006, List.of(goetzId));
+
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+            SEARCH_URL + "?q=collections&highlight=true", Map.class);
+
+        List<Map<String, Object>> content = (List<Map<String, Object>>) response.getBody().get("content");
+        Map<String, Object> highlight = (Map<String, Object>) content.get(0).get("highlight");
+        assertThat(highlight.get("title")).isEqualTo("Java &lt;Generics&gt; &amp; <mark>Collections</mark>");
+        assertThat(highlight.get("description")).isEqualTo("");
+    }
+
+    @Test
+    void search_withoutHighlight_omitsSnippets() {
+        ResponseEntity<Map> response = restTemplate.getForEntity(SEARCH_URL + "?q=java", Map.class);
+
+        List<Map<String, Object>> content = (List<Map<String, Object>>) response.getBody().get("content");
+        assertThat(content).allSatisfy(r -> assertThat(r).doesNotContainKey("highlight"));
+    }
+
+    @Test
+    void searchBatch_returnsFirstPagePerQueryKeyedByQuery() {
+        var request = new BatchSearchRequest(List.of("java", "Fowler", "xyznonexistent"), 1);
+
+        ResponseEntity<BatchSearchResponse> response =
+            restTemplate.postForEntity(SEARCH_URL + "/batch", request, BatchSearchResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Map<String, BatchSearchResponse.QueryResults> results = response.getBody().results();
+        assertThat(results).containsOnlyKeys("java", "Fowler", "xyznonexistent");
+        assertThat(results.get("java").content()).hasSize(1);
+        assertThat(results.get("java").totalElements()).isEqualTo(2);
+        assertThat(results.get("java").totalRelation()).isEqualTo(TotalRelation.EXACT);
+        assertThat(results.get("Fowler").content().get(0).title()).isEqualTo("Refactoring");
+        assertThat(results.get("Fowler").content().get(0).authors()).hasSize(1);
+        assertThat(results.get("xyznonexistent").content()).isEmpty();
+        assertThat(results.get("xyznonexistent").totalElements()).isZero();
+    }
+
+    @Test
+    void searchBatch_withTooManyQueries_returns400() {
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            queries.add("java " + i);
+        }
+
+        ResponseEntity<ErrorResponse> response = restTemplate.postForEntity(
+            SEARCH_URL + "/batch", new BatchSearchRequest(queries, null), ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void searchBatch_withBlankQuery_returns400() {
+        ResponseEntity<ErrorResponse> response = restTemplate.postForEntity(
+            SEARCH_URL + "/batch", new BatchSearchRequest(List.of("java", " "), null), ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void searchByCursor_walksAllMatchesOncePerBook() {
+        List<Object> seenIds = new ArrayList<>();
+        String cursor = "";
+        boolean last = false;
+        while (!last) {
+            ResponseEntity<CursorPagedResponse> response = restTemplate.getForEntity(
+                SEARCH_URL + "?q=programming&size=1&cursor=" + cursor, CursorPagedResponse.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            List<Map<String, Object>> content = (List<Map<String, Object>>) response.getBody().content();
+            assertThat(content).hasSizeLessThanOrEqualTo(1);
+            content.forEach(r -> seenIds.add(r.get("id")));
+            last = response.getBody().last();
+            cursor = last ? "" : response.getBody().nextCursor();
+        }
+
+        // Both "programming" descriptions match, each book exactly once
+        assertThat(seenIds).hasSize(2).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void searchByCursor_attachesAllAuthorsOfMultiAuthorBook() {
+        ResponseEntity<CursorPagedResponse> response = restTemplate.getForEntity(
+            SEARCH_URL + "?q=concurrency&cursor=", CursorPagedResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Map<String, Object>> content = (List<Map<String, Object>>) response.getBody().content();
+        assertThat(content).hasSize(1);
+        assertThat((List<?>) content.get(0).get("authors")).hasSize(2);
+        assertThat(response.getBody().last()).isTrue();
+        assertThat(response.getBody().nextCursor()).isNull();
+    }
+
+    @Test
+    void searchByCursor_withInvalidCursor_returns400() {
+        ResponseEntity<ErrorResponse> response = restTemplate.getForEntity(
+            SEARCH_URL + "?q=java&cursor=%%%", ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
     private Long createAuthor(String firstName, String lastName) {
         var request = new CreateAuthorRequest(firstName, lastName, null);
         ResponseEntity<AuthorResponse> response =
@@ -0,0 +1,104 @@
+package com.library.catalog.integration;
+
+import com.library.catalog.dto.request.BatchSearchRequest;
+import com.library.catalog.dto.response.SearchStatsResponse;
+import com.library.catalog.service.search.SearchQueryStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SearchStatsIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String STATS_URL = "/actuator/searchstats";
+
+    @Autowired
+    private SearchQueryStats searchQueryStats;
+
+    @BeforeEach
+    void resetStats() {
+        searchQueryStats.reset();
+    }
+
+    @Test
+    void searchStats_cannotBeResetOverHttp() {
+        search("?q=java", 1);
+
+        ResponseEntity<Void> response = restTemplate.exchange(STATS_URL, HttpMethod.DELETE, null, Void.class);
+
+        assertThat(response.getStatusCode().is2xxSuccessful()).isFalse();
+        assertThat(searchQueryStats.estimate("java")).isEqualTo(1);
+    }
+
+    @Test
+    void searchStats_ranksQueriesByFrequency() {
+        search("?q=java", 3);
+        search("?q=refactoring", 1);
+        search("?q=java&page=1", 2);
+
+        ResponseEntity<SearchStatsResponse> response = restTemplate.getForEntity(STATS_URL, SearchStatsResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        SearchStatsResponse stats = response.getBody();
+        assertThat(stats.totalQueries()).isEqualTo(4);
+        assertThat(stats.topQueries()).extracting(SearchStatsResponse.QueryCount::query)
+            .containsExactly("java", "refactoring");
+        assertThat(stats.topQueries().get(0).count()).isEqualTo(3);
+        assertThat(stats.topQueries().get(0).sketchEstimate()).isEqualTo(3);
+        assertThat(stats.topQueries().get(0).maxOverestimate()).isZero();
+    }
+
+    @Test
+    void searchStats_mergesQueriesRecordedOnManyThreads() throws InterruptedException {
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 400; i++) {
+                String query = i % 4 == 0 ? "refactoring" : "java";
+                executor.execute(() -> searchQueryStats.record(query));
+            }
+        }
+
+        SearchStatsResponse stats = searchQueryStats.report(10);
+
+        assertThat(stats.totalQueries()).isEqualTo(400);
+        assertThat(stats.topQueries())
+            .extracting(SearchStatsResponse.QueryCount::query, SearchStatsResponse.QueryCount::count)
+            .containsExactly(tuple("java", 300L), tuple("refactoring", 100L));
+    }
+
+    @Test
+    void searchStats_cursorFirstPagesAndBatchQueriesAreCounted() {
+        restTemplate.getForEntity("/api/v1/search?q=kotlin&cursor=", Object.class);
+        restTemplate.postForEntity("/api/v1/search/batch",
+            new BatchSearchRequest(List.of("kotlin", "scala"), null), Object.class);
+
+        assertThat(searchQueryStats.estimate("kotlin")).isEqualTo(2);
+        assertThat(searchQueryStats.estimate("scala")).isEqualTo(1);
+    }
+
+    @Test
+    void snapshot_isAddedBackOnRestore() {
+        search("?q=concurrency", 2);
+        searchQueryStats.snapshot();
+
+        searchQueryStats.restore();
+
+        assertThat(searchQueryStats.topQueries(1)).containsExactly("concurrency");
+        assertThat(searchQueryStats.estimate("concurrency")).isEqualTo(4);
+    }
+
+    private void search(String params, int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(restTemplate.getForEntity("/api/v1/search" + params, Object.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        }
+    }
+}
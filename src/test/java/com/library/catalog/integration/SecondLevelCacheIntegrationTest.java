@@ -0,0 +1,161 @@
+package com.library.catalog.integration;
+
+import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.request.CreateReservationRequest;
+import com.library.catalog.dto.request.UpdateBookRequest;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.ReservationResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecondLevelCacheIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String BOOKS_URL = "/api/v1/books";
+    private static final String AUTHORS_URL = "/api/v1/authors";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long blochId;
+    private Long goetzId;
+
+    @BeforeEach
+    void createAuthors() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        blochId = createAuthor("Joshua", "Bloch");
+        goetzId = createAuthor("Brian", "Goetz");
+    }
+
+    @Test
+    void bookById_secondReadIsServedFromCache() {
+        Long bookId = createBook("Cached Java", "9780000002001", List.of(blochId, goetzId));
+        getBook(bookId);
+
+        statistics.clear();
+        BookResponse book = getBook(bookId);
+
+        assertThat(book.authors()).extracting(BookResponse.AuthorSummary::lastName)
+            .containsExactlyInAnyOrder("Bloch", "Goetz");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void bookUpdate_changingAuthors_isVisibleFromBothSides() {
+        Long bookId = createBook("Cached Java", "9780000002002", List.of(blochId));
+        getBook(bookId);
+        getAuthor(blochId);
+        getAuthor(goetzId);
+
+        restTemplate.put(BOOKS_URL + "/" + bookId, new UpdateBookRequest(null, null, null, null, List.of(goetzId)));
+
+        assertThat(getBook(bookId).authors()).extracting(BookResponse.AuthorSummary::id).containsExactly(goetzId);
+        assertThat(getAuthor(blochId).books()).isEmpty();
+        assertThat(getAuthor(goetzId).books()).extracting(AuthorResponse.BookSummary::id).containsExactly(bookId);
+    }
+
+    @Test
+    void bookCreateAndDelete_updateTheAuthorsBooks() {
+        getAuthor(blochId);
+
+        Long bookId = createBook("Cached Java", "9780000002003", List.of(blochId));
+        assertThat(getAuthor(blochId).books()).extracting(AuthorResponse.BookSummary::id).containsExactly(bookId);
+
+        restTemplate.delete(BOOKS_URL + "/" + bookId);
+        assertThat(getAuthor(blochId).books()).isEmpty();
+        assertThat(restTemplate.getForEntity(BOOKS_URL + "/" + bookId, String.class).getStatusCode())
+            .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void authorDelete_removesTheAuthorFromCachedBooks() {
+        Long bookId = createBook("Cached Java", "9780000002004", List.of(blochId, goetzId));
+        getBook(bookId);
+
+        restTemplate.delete(AUTHORS_URL + "/" + blochId);
+
+        assertThat(getBook(bookId).authors()).extracting(BookResponse.AuthorSummary::id).containsExactly(goetzId);
+    }
+
+    @Test
+    void reservation_doesNotEvictTheBook() {
+        Long bookId = createBook("Cached Java", "9780000002005", List.of(blochId));
+        getBook(bookId);
+
+        ResponseEntity<ReservationResponse> reservation = restTemplate.postForEntity("/api/v1/reservations",
+            new CreateReservationRequest(bookId, "cache-reader"), ReservationResponse.class);
+        assertThat(reservation.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        statistics.clear();
+        getBook(bookId);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void booksImport_isVisibleInCachedAuthor() {
+        getAuthor(blochId);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        restTemplate.postForEntity(BOOKS_URL + "/import", new HttpEntity<>(
+            "{\"title\": \"Imported Java\", \"isbn\": \"9780000002006\", \"authors\": [\"Joshua Bloch\"]}\n",
+            headers), String.class);
+
+        assertThat(getAuthor(blochId).books()).extracting(AuthorResponse.BookSummary::title)
+            .containsExactly("Imported Java");
+    }
+
+    @Test
+    void cacheMetrics_areExposedThroughActuator() {
+        getAuthor(blochId);
+
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+            "/actuator/metrics/hibernate.second.level.cache.requests?tag=region:authors",
+            Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((List<?>) response.getBody().get("measurements")).isNotEmpty();
+    }
+
+    private Long createAuthor(String firstName, String lastName) {
+        return restTemplate.postForEntity(AUTHORS_URL, new CreateAuthorRequest(firstName, lastName, null),
+            AuthorResponse.class).getBody().id();
+    }
+
+    private Long createBook(String title, String isbn, List<Long> authorIds) {
+        ResponseEntity<BookResponse> response = restTemplate.postForEntity(BOOKS_URL,
+            new CreateBookRequest(title, isbn, null, 2024, authorIds), BookResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody().id();
+    }
+
+    private BookResponse getBook(Long id) {
+        ResponseEntity<BookResponse> response = restTemplate.getForEntity(BOOKS_URL + "/" + id, BookResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private AuthorResponse getAuthor(Long id) {
+        ResponseEntity<AuthorResponse> response =
+            restTemplate.getForEntity(AUTHORS_URL + "/" + id, AuthorResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+}
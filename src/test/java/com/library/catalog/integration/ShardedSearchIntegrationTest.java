@@ -0,0 +1,160 @@
+package com.library.catalog.integration;
+
+import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.request.SearchFilter;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.CursorPagedResponse;
+import com.library.catalog.dto.response.PagedResponse;
+import com.library.catalog.dto.response.SearchResultResponse;
+import com.library.catalog.repository.SearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {
+    "catalog.search.sharding.enabled=true",
+    "catalog.search.sharding.partitions=3"
+})
+class ShardedSearchIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String SEARCH_URL = "/api/v1/search";
+
+    @Autowired
+    private SearchRepository searchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seedData() {
+        Long blochId = createAuthor("Joshua", "Bloch");
+        Long goetzId = createAuthor("Brian", "Goetz");
+
+        createBook("Effective Java", "9780134685991", "Best practices for Java", blochId);
+        createBook("Java Puzzlers", "9780321336781", "Traps and pitfalls", blochId);
+        createBook("Java Concurrency in Practice", "9780321349606", "Java threads, Java locks, Java", goetzId);
+        createBook("Thinking in Java", "9780131872486", null, goetzId);
+        createBook("Java Performance", "9780137142521", "Tuning the Java virtual machine", goetzId);
+        createBook("Head First Java", "9780596009205", null, blochId);
+        createBook("Core Java", "9780135166307", "Java fundamentals", blochId);
+    }
+
+    @Test
+    void search_mergedPages_matchUnshardedRanking() {
+        List<Long> expected = searchRepository.findPage("java", SearchFilter.NONE, 0, 20).stream()
+            .map(SearchResultResponse::id).toList();
+
+        List<Long> paged = new ArrayList<>();
+        for (int page = 0; page < 4; page++) {
+            PagedResponse<Map<String, Object>> body = search("?q=java&size=2&page=" + page);
+            assertThat(body.totalElements()).isEqualTo(7);
+            body.content().forEach(result -> paged.add(((Number) result.get("id")).longValue()));
+        }
+
+        assertThat(expected).hasSize(7);
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void search_mergedPage_hasAuthorsAttached() {
+        PagedResponse<Map<String, Object>> body = search("?q=puzzlers");
+
+        assertThat(body.content()).hasSize(1);
+        assertThat((List<?>) body.content().get(0).get("authors")).hasSize(1);
+    }
+
+    @Test
+    void searchAfter_walksEveryPartitionInRankOrder() {
+        List<Long> expected = searchRepository.findPage("java", SearchFilter.NONE, 0, 20).stream()
+            .map(SearchResultResponse::id).toList();
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = "";
+        boolean last = false;
+        while (!last) {
+            ResponseEntity<CursorPagedResponse> response = restTemplate.getForEntity(
+                SEARCH_URL + "?q=java&size=3&cursor=" + cursor, CursorPagedResponse.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            for (Object result : response.getBody().content()) {
+                walked.add(((Number) ((Map<?, ?>) result).get("id")).longValue());
+            }
+            last = response.getBody().last();
+            cursor = last ? "" : response.getBody().nextCursor();
+        }
+
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shards_splitTheMatchesIntoDisjointIdRanges() {
+        List<Long> expected = searchRepository.findPage("java", SearchFilter.NONE, 0, 20).stream()
+            .map(SearchResultResponse::id).toList();
+
+        List<Long> union = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        for (SearchRepository.Shard shard : searchRepository.shards(3)) {
+            List<Long> ids = searchRepository.findPageInShard("java", SearchFilter.NONE, shard, 20).stream()
+                .map(SearchResultResponse::id).toList();
+            assertThat(ids).allSatisfy(id ->
+                assertThat(id).isGreaterThanOrEqualTo(shard.fromId()).isLessThan(shard.toId()));
+            union.addAll(ids);
+            sizes.add(ids.size());
+        }
+
+        // Every match is ranked by exactly one partition, and each ranks a share of them
+        assertThat(union).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(sizes).allSatisfy(size -> assertThat(size).isBetween(1, 4));
+    }
+
+    @Test
+    void shardPredicate_isAnIndexConditionUnlikeAModulo() {
+        // Planner choice on a table of a few rows is cost-driven; rule out the sequential scan
+        String ranged = explain("b.id >= 0 AND b.id < 1000000");
+        String modulo = explain("b.id % 3 = 0");
+
+        assertThat(ranged).contains("books_pkey").containsPattern("Index Cond: \\(+\\(?id >=");
+        assertThat(modulo).doesNotContain("books_pkey");
+    }
+
+    private String explain(String shardPredicate) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT b.id FROM books b "
+                + "WHERE b.search_vector @@ plainto_tsquery('english', 'java') AND " + shardPredicate, String.class));
+        });
+    }
+
+    private PagedResponse<Map<String, Object>> search(String params) {
+        ResponseEntity<PagedResponse<Map<String, Object>>> response = restTemplate.exchange(
+            SEARCH_URL + params, HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private Long createAuthor(String firstName, String lastName) {
+        return restTemplate.postForEntity("/api/v1/authors",
+            new CreateAuthorRequest(firstName, lastName, null), AuthorResponse.class).getBody().id();
+    }
+
+    private void createBook(String title, String isbn, String description, Long authorId) {
+        restTemplate.postForEntity("/api/v1/books",
+            new CreateBookRequest(title, isbn, description, 2000, List.of(authorId)), Object.class);
+    }
+}
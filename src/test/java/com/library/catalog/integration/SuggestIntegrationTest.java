@@ -0,0 +1,108 @@
+package com.library.catalog.integration;
+
+import com.library.catalog.dto.request.CreateAuthorRequest;
+import com.library.catalog.dto.request.CreateBookRequest;
+import com.library.catalog.dto.request.CreateReservationRequest;
+import com.library.catalog.dto.response.AuthorResponse;
+import com.library.catalog.dto.response.BookResponse;
+import com.library.catalog.dto.response.ErrorResponse;
+import com.library.catalog.dto.response.ReservationResponse;
+import com.library.catalog.dto.response.SuggestionResponse;
+import com.library.catalog.service.search.SuggestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String SUGGEST_URL = "/api/v1/search/suggest";
+    private static final String BOOKS_URL = "/api/v1/books";
+    private static final String AUTHORS_URL = "/api/v1/authors";
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    private Long blochId;
+
+    @BeforeEach
+    void seedData() {
+        // Tables are truncated behind the trie's back after every test
+        suggestionService.rebuild();
+
+        blochId = createAuthor("Joshua", "Bloch");
+        createBook("Java Concurrency in Practice", "9780321349606", List.of(blochId));
+        createBook("The Pragmatic Programmer", "9780135957059", List.of(blochId));
+    }
+
+    @Test
+    void suggest_matchesTitlePrefixCaseInsensitively() {
+        SuggestionResponse[] suggestions = suggest("JAVA co");
+
+        assertThat(suggestions).extracting(SuggestionResponse::text)
+            .containsExactly("Java Concurrency in Practice");
+    }
+
+    @Test
+    void suggest_matchesTitleWithoutLeadingArticleAndAuthorByLastName() {
+        assertThat(suggest("pragm")).extracting(SuggestionResponse::text)
+            .containsExactly("The Pragmatic Programmer");
+        assertThat(suggest("bloch j")).extracting(SuggestionResponse::type)
+            .containsExactly(SuggestionResponse.Type.AUTHOR);
+    }
+
+    @Test
+    void suggest_ordersByReservationPopularity_asSoonAsReserved() {
+        Long puzzlersId = createBook("Java Puzzlers", "9780321336781", List.of(blochId));
+        restTemplate.postForEntity("/api/v1/reservations",
+            new CreateReservationRequest(puzzlersId, "alice"), ReservationResponse.class);
+
+        assertThat(suggest("java")).extracting(SuggestionResponse::text)
+            .containsExactly("Java Puzzlers", "Java Concurrency in Practice");
+
+        suggestionService.rebuild();
+
+        assertThat(suggest("java")).extracting(SuggestionResponse::text)
+            .containsExactly("Java Puzzlers", "Java Concurrency in Practice");
+    }
+
+    @Test
+    void suggest_dropsDeletedBooks() {
+        Long puzzlersId = createBook("Java Puzzlers", "9780321336781", List.of(blochId));
+        restTemplate.delete(BOOKS_URL + "/" + puzzlersId);
+
+        assertThat(suggest("java p")).isEmpty();
+    }
+
+    @Test
+    void suggest_withBlankPrefix_returns400() {
+        ResponseEntity<ErrorResponse> response =
+            restTemplate.getForEntity(SUGGEST_URL + "?prefix= ", ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private SuggestionResponse[] suggest(String prefix) {
+        ResponseEntity<SuggestionResponse[]> response =
+            restTemplate.getForEntity(SUGGEST_URL + "?prefix=" + prefix, SuggestionResponse[].class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private Long createAuthor(String firstName, String lastName) {
+        var request = new CreateAuthorRequest(firstName, lastName, null);
+        ResponseEntity<AuthorResponse> response =
+            restTemplate.postForEntity(AUTHORS_URL, request, AuthorResponse.class);
+        return response.getBody().id();
+    }
+
+    private Long createBook(String title, String isbn, List<Long> authorIds) {
+        var request = new CreateBookRequest(title, isbn, null, 2000, authorIds);
+        return restTemplate.postForEntity(BOOKS_URL, request, BookResponse.class).getBody().id();
+    }
+}
@@ -0,0 +1,127 @@
+package com.library.catalog.service.search;
+
+import com.library.catalog.dto.response.SuggestionResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionTrieTest {
+
+    private final CompletionTrie trie = new CompletionTrie();
+
+    @Test
+    void complete_ordersByWeightThenTextThenId() {
+        CompletionTrie.Entry light = book(1, "java puzzlers", 1);
+        CompletionTrie.Entry heavy = book(2, "java generics", 5);
+        CompletionTrie.Entry sameTextLowerId = book(3, "java streams", 1);
+        CompletionTrie.Entry sameTextHigherId = book(4, "java streams", 1);
+        for (CompletionTrie.Entry entry : List.of(sameTextHigherId, light, heavy, sameTextLowerId)) {
+            trie.add(entry.text(), entry);
+        }
+
+        assertThat(trie.complete("java", 10)).containsExactly(heavy, light, sameTextLowerId, sameTextHigherId);
+        assertThat(trie.complete("java", 2)).containsExactly(heavy, light);
+        assertThat(trie.complete("kotlin", 10)).isEmpty();
+    }
+
+    @Test
+    void remove_entryInAncestorTopK_bringsBackTheNextBestFromASiblingSubtree() {
+        List<CompletionTrie.Entry> popular = new ArrayList<>();
+        for (int i = 0; i < CompletionTrie.TOP_K; i++) {
+            CompletionTrie.Entry entry = book(i, "ab" + (char) ('a' + i), 100 - i);
+            popular.add(entry);
+            trie.add(entry.text(), entry);
+        }
+        CompletionTrie.Entry sibling = book(99, "ac", 1);
+        trie.add(sibling.text(), sibling);
+        assertThat(trie.complete("a", 10)).containsExactlyElementsOf(popular);
+
+        trie.remove(popular.get(0).text(), popular.get(0));
+
+        assertThat(trie.complete("a", 10)).hasSize(CompletionTrie.TOP_K)
+            .doesNotContain(popular.get(0))
+            .endsWith(sibling);
+        assertThat(trie.complete("ab", 10)).containsExactlyElementsOf(popular.subList(1, popular.size()));
+    }
+
+    @Test
+    void remove_prunesNodesLeftWithoutEntries() {
+        CompletionTrie.Entry java = book(1, "java", 1);
+        CompletionTrie.Entry javascript = book(2, "javascript", 1);
+        trie.add(java.text(), java);
+        trie.add(javascript.text(), javascript);
+
+        trie.remove(javascript.text(), javascript);
+
+        assertThat(labels(node("java"))).isEmpty();
+        assertThat(trie.complete("javas", 10)).isEmpty();
+        assertThat(trie.complete("jav", 10)).containsExactly(java);
+
+        trie.remove(java.text(), java);
+
+        assertThat(labels(root())).isEmpty();
+    }
+
+    @Test
+    void remove_unknownKeyOrEntry_changesNothing() {
+        CompletionTrie.Entry java = book(1, "java", 1);
+        trie.add(java.text(), java);
+
+        trie.remove("kotlin", java);
+        trie.remove("java", book(1, "java", 1));
+
+        assertThat(trie.complete("ja", 10)).containsExactly(java);
+    }
+
+    @Test
+    void entryReachableByTwoKeys_appearsOnceUntilBothAreRemoved() {
+        CompletionTrie.Entry author = new CompletionTrie.Entry(SuggestionResponse.Type.AUTHOR, 7, "Ann Anders", 3);
+        trie.add("ann anders", author);
+        trie.add("anders ann", author);
+
+        assertThat(trie.complete("an", 10)).containsExactly(author);
+
+        trie.remove("ann anders", author);
+
+        assertThat(trie.complete("an", 10)).containsExactly(author);
+        assertThat(trie.complete("ann", 10)).isEmpty();
+
+        trie.remove("anders ann", author);
+
+        assertThat(trie.complete("an", 10)).isEmpty();
+        assertThat(labels(root())).isEmpty();
+    }
+
+    @Test
+    void add_longKey_isTruncated() {
+        CompletionTrie.Entry entry = book(1, "x".repeat(50), 1);
+        trie.add(entry.text(), entry);
+
+        assertThat(trie.complete("x".repeat(40), 10)).containsExactly(entry);
+        assertThat(trie.complete("x".repeat(CompletionTrie.MAX_KEY_LENGTH), 10)).containsExactly(entry);
+    }
+
+    private static CompletionTrie.Entry book(long id, String text, double weight) {
+        return new CompletionTrie.Entry(SuggestionResponse.Type.BOOK, id, text, weight);
+    }
+
+    private Object root() {
+        return ReflectionTestUtils.getField(trie, "root");
+    }
+
+    private Object node(String key) {
+        Object node = root();
+        for (char c : key.toCharArray()) {
+            node = ReflectionTestUtils.invokeMethod(node, "child", c);
+        }
+        return node;
+    }
+
+    private static char[] labels(Object node) {
+        return (char[]) ReflectionTestUtils.getField(node, "labels");
+    }
+}
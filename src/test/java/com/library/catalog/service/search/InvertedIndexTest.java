@@ -0,0 +1,146 @@
+package com.library.catalog.service.search;
+
+import com.library.catalog.dto.response.BookResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private static final BookResponse.AuthorSummary BLOCH = new BookResponse.AuthorSummary(1L, "Joshua", "Bloch");
+    private static final BookResponse.AuthorSummary GOETZ = new BookResponse.AuthorSummary(2L, "Brian", "Goetz");
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Test
+    void search_matchesStemmedTermsOfEveryField() {
+        index.upsert(book(1, "Java Concurrency in Practice", GOETZ), "Threads and locks");
+        index.upsert(book(2, "Effective Java", BLOCH), "Programming best practices");
+
+        assertThat(ids(search("concurrent"))).containsExactly(1L);
+        assertThat(ids(search("goetz"))).containsExactly(1L);
+        assertThat(ids(search("locking"))).containsExactly(1L);
+        assertThat(ids(search("practice"))).containsExactly(1L, 2L);
+        assertThat(search("ruby").total()).isZero();
+    }
+
+    @Test
+    void search_requiresEveryTerm() {
+        index.upsert(book(1, "Java Concurrency in Practice", GOETZ), null);
+        index.upsert(book(2, "Effective Java", BLOCH), null);
+
+        InvertedIndex.Hits hits = search("java effective");
+
+        assertThat(hits.total()).isEqualTo(1);
+        assertThat(ids(hits)).containsExactly(2L);
+    }
+
+    @Test
+    void search_ranksTitleAboveDescriptionMatches() {
+        index.upsert(book(1, "Clean Code", BLOCH), "Refactoring advice for everyday code");
+        index.upsert(book(2, "Refactoring", GOETZ), "Improving the design of existing code");
+
+        assertThat(ids(search("refactoring"))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void search_ranksShorterDocumentsFirstForEqualFrequency() {
+        index.upsert(book(1, "Patterns", BLOCH), "Many words about many other subjects besides these patterns");
+        index.upsert(book(2, "Patterns", BLOCH), null);
+
+        assertThat(ids(search("patterns"))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void search_ranksRarerTermsHigher() {
+        index.upsert(book(1, "Java Streams", BLOCH), null);
+        index.upsert(book(2, "Java Generics", BLOCH), null);
+        index.upsert(book(3, "Java Records", BLOCH), null);
+
+        // "java" occurs everywhere and "streams" once: its idf dominates the scores
+        List<InvertedIndex.Match> top = search("java streams").top();
+        assertThat(top).singleElement().extracting(match -> match.book().bookId()).isEqualTo(1L);
+        assertThat(search("streams").top().get(0).score()).isGreaterThan(search("java").top().get(0).score());
+    }
+
+    @Test
+    void search_breaksScoreTiesByLowerId() {
+        index.upsert(book(3, "Kotlin", BLOCH), null);
+        index.upsert(book(1, "Kotlin", BLOCH), null);
+        index.upsert(book(2, "Kotlin", BLOCH), null);
+
+        assertThat(ids(search("kotlin"))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void search_limitAndAfter_pageThroughTheRanking() {
+        for (long id = 1; id <= 5; id++) {
+            index.upsert(book(id, "Scala", BLOCH), null);
+        }
+
+        InvertedIndex.Hits first = index.search(EnglishAnalyzer.analyze("scala"), null, 2);
+        InvertedIndex.Hits second = index.search(EnglishAnalyzer.analyze("scala"), first.top().get(1), 2);
+
+        assertThat(ids(first)).containsExactly(1L, 2L);
+        assertThat(ids(second)).containsExactly(3L, 4L);
+        assertThat(second.total()).isEqualTo(5);
+    }
+
+    @Test
+    void upsert_sameBook_replacesItsTermsAndAuthors() {
+        index.upsert(book(1, "Java Puzzlers", BLOCH), null);
+
+        index.upsert(book(1, "Kotlin Puzzlers", GOETZ), null);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(search("java").total()).isZero();
+        assertThat(ids(search("kotlin"))).containsExactly(1L);
+        assertThat(index.bookIdsByAuthor(BLOCH.id())).isEmpty();
+        assertThat(index.bookIdsByAuthor(GOETZ.id())).containsExactly(1L);
+    }
+
+    @Test
+    void remove_dropsTheBookFromSearchAndAuthors() {
+        index.upsert(book(1, "Java Puzzlers", BLOCH), null);
+        index.upsert(book(2, "Effective Java", BLOCH), null);
+
+        index.remove(1);
+        index.remove(99);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(ids(search("java"))).containsExactly(2L);
+        assertThat(search("puzzlers").total()).isZero();
+        assertThat(index.bookIdsByAuthor(BLOCH.id())).containsExactly(2L);
+    }
+
+    @Test
+    void compaction_afterManyRemovals_keepsLiveBooksSearchable() {
+        for (long id = 1; id <= 3000; id++) {
+            index.upsert(book(id, "Volume " + id, BLOCH), null);
+        }
+        for (long id = 1; id <= 2990; id++) {
+            index.remove(id);
+        }
+        index.upsert(book(2995, "Volume 2995 revised", BLOCH), null);
+
+        assertThat(index.size()).isEqualTo(10);
+        InvertedIndex.Hits hits = search("volume");
+        assertThat(hits.total()).isEqualTo(10);
+        assertThat(ids(hits)).first().isEqualTo(2991L);
+        assertThat(ids(search("revised"))).containsExactly(2995L);
+    }
+
+    private InvertedIndex.Hits search(String query) {
+        return index.search(EnglishAnalyzer.analyze(query), null, 10);
+    }
+
+    private static List<Long> ids(InvertedIndex.Hits hits) {
+        return hits.top().stream().map(match -> match.book().bookId()).toList();
+    }
+
+    private static InvertedIndex.StoredBook book(long id, String title, BookResponse.AuthorSummary author) {
+        return new InvertedIndex.StoredBook(id, title, "isbn-" + id, null, List.of(author));
+    }
+}
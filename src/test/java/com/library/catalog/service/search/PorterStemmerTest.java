@@ -0,0 +1,88 @@
+package com.library.catalog.service.search;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Word pairs from Porter's paper and the reference vocabulary, grouped by the step they exercise. */
+class PorterStemmerTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "caresses, caress", "ponies, poni", "ties, ti", "caress, caress", "cats, cat"
+    })
+    void step1a_pluralsAndSs(String word, String stem) {
+        assertThat(PorterStemmer.stem(word)).isEqualTo(stem);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "feed, feed", "agreed, agre", "plastered, plaster", "bled, bled", "motoring, motor", "sing, sing",
+        "conflated, conflat", "troubled, troubl", "sized, size", "hopping, hop", "tanned, tan",
+        "falling, fall", "hissing, hiss", "fizzed, fizz", "failing, fail", "filing, file"
+    })
+    void step1b_edAndIng(String word, String stem) {
+        assertThat(PorterStemmer.stem(word)).isEqualTo(stem);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"happy, happi", "sky, sky"})
+    void step1c_yToI(String word, String stem) {
+        assertThat(PorterStemmer.stem(word)).isEqualTo(stem);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "relational, relat", "conditional, condit", "rational, ration", "valenci, valenc", "hesitanci, hesit",
+        "digitizer, digit", "conformabli, conform", "radicalli, radic", "differentli, differ", "vileli, vile",
+        "analogousli, analog", "vietnamization, vietnam", "predication, predic", "operator, oper",
+        "feudalism, feudal", "decisiveness, decis", "hopefulness, hope", "callousness, callous",
+        "formaliti, formal", "sensitiviti, sensit", "sensibiliti, sensibl"
+    })
+    void step2_doubleSuffixes(String word, String stem) {
+        assertThat(PorterStemmer.stem(word)).isEqualTo(stem);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "triplicate, triplic", "formative, form", "formalize, formal", "electriciti, electr",
+        "electrical, electr", "hopeful, hope", "goodness, good"
+    })
+    void step3_icFulNess(String word, String stem) {
+        assertThat(PorterStemmer.stem(word)).isEqualTo(stem);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "revival, reviv", "allowance, allow", "inference, infer", "airliner, airlin", "gyroscopic, gyroscop",
+        "adjustable, adjust", "defensible, defens", "irritant, irrit", "replacement, replac",
+        "adjustment, adjust", "dependent, depend", "adoption, adopt", "homologou, homolog",
+        "communism, commun", "activate, activ", "angulariti, angular", "homologous, homolog",
+        "effective, effect", "bowdlerize, bowdler"
+    })
+    void step4_suffixesAfterMeasureOne(String word, String stem) {
+        assertThat(PorterStemmer.stem(word)).isEqualTo(stem);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"probate, probat", "rate, rate", "cease, ceas", "controll, control", "roll, roll"})
+    void step5_finalEAndDoubleL(String word, String stem) {
+        assertThat(PorterStemmer.stem(word)).isEqualTo(stem);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "generalizations, gener", "oscillators, oscil", "concurrency, concurr", "concurrent, concurr",
+        "programming, program", "programmer, programm"
+    })
+    void wholeAlgorithm_chainsTheSteps(String word, String stem) {
+        assertThat(PorterStemmer.stem(word)).isEqualTo(stem);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"is, is", "as, as", "a, a"})
+    void shortWords_areUnchanged(String word, String stem) {
+        assertThat(PorterStemmer.stem(word)).isEqualTo(stem);
+    }
+}
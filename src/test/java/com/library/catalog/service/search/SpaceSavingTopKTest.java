@@ -0,0 +1,113 @@
+package com.library.catalog.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SpaceSavingTopKTest {
+
+    @Test
+    void offer_belowCapacity_countsExactly() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(3, 1);
+        offer(topK, 0, "java", 3);
+        offer(topK, 0, "kotlin", 1);
+
+        assertThat(topK.top(10))
+            .extracting(SpaceSavingTopK.Counter::query, SpaceSavingTopK.Counter::count, SpaceSavingTopK.Counter::error)
+            .containsExactly(tuple("java", 3L, 0L), tuple("kotlin", 1L, 0L));
+    }
+
+    @Test
+    void offer_untrackedQueryWhenFull_replacesTheSmallestAndInheritsItsCountAsError() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(2, 1);
+        offer(topK, 0, "java", 5);
+        offer(topK, 0, "kotlin", 2);
+        offer(topK, 0, "scala", 1);
+
+        assertThat(topK.top(10))
+            .extracting(SpaceSavingTopK.Counter::query, SpaceSavingTopK.Counter::count, SpaceSavingTopK.Counter::error)
+            .containsExactly(tuple("java", 5L, 0L), tuple("scala", 3L, 2L));
+    }
+
+    @Test
+    void top_mergesStripesAddingTheFloorOfFullStripesThatMissTheQuery() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(2, 2);
+        offer(topK, 0, "java", 5);
+        offer(topK, 0, "kotlin", 3);   // stripe 0 full, floor 3
+        offer(topK, 1, "java", 1);
+        offer(topK, 1, "scala", 4);    // stripe 1 full, floor 1
+
+        assertThat(topK.top(10))
+            .extracting(SpaceSavingTopK.Counter::query, SpaceSavingTopK.Counter::count, SpaceSavingTopK.Counter::error)
+            .containsExactly(tuple("scala", 7L, 3L), tuple("java", 6L, 0L));
+    }
+
+    @Test
+    void top_stripeNotFull_addsNothingForQueriesItMisses() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(3, 2);
+        offer(topK, 0, "java", 2);
+        offer(topK, 1, "kotlin", 1);
+
+        assertThat(topK.top(10))
+            .extracting(SpaceSavingTopK.Counter::query, SpaceSavingTopK.Counter::count, SpaceSavingTopK.Counter::error)
+            .containsExactly(tuple("java", 2L, 0L), tuple("kotlin", 1L, 0L));
+    }
+
+    @Test
+    void top_mergedCountsBoundTheTruthAndKeepEveryHeavyHitter() {
+        int capacity = 10;
+        SpaceSavingTopK topK = new SpaceSavingTopK(capacity, 4);
+        Map<String, Long> truth = new HashMap<>();
+        Random random = new Random(42);
+        int total = 20_000;
+        for (int i = 0; i < total; i++) {
+            // A skewed stream: a few frequent queries among many rare ones
+            String query = random.nextInt(2) == 0 ? "hot" + random.nextInt(4) : "rare" + random.nextInt(500);
+            topK.offer(random.nextInt(4), query, 1);
+            truth.merge(query, 1L, Long::sum);
+        }
+
+        List<SpaceSavingTopK.Counter> top = topK.top(capacity);
+
+        assertThat(top).hasSize(capacity).allSatisfy(counter -> {
+            long actual = truth.get(counter.query());
+            assertThat(counter.count()).isGreaterThanOrEqualTo(actual);
+            assertThat(counter.count() - counter.error()).isLessThanOrEqualTo(actual);
+        });
+        List<String> heavyHitters = truth.entrySet().stream()
+            .filter(entry -> entry.getValue() > total / capacity)
+            .map(Map.Entry::getKey)
+            .toList();
+        assertThat(heavyHitters).containsExactlyInAnyOrder("hot0", "hot1", "hot2", "hot3");
+        assertThat(top).extracting(SpaceSavingTopK.Counter::query).containsAll(heavyHitters);
+    }
+
+    @Test
+    void clear_forgetsEveryStripe() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(2, 2);
+        offer(topK, 0, "java", 1);
+        offer(topK, 1, "kotlin", 1);
+
+        topK.clear();
+
+        assertThat(topK.top(10)).isEmpty();
+    }
+
+    @Test
+    void constructor_withNonPositiveCapacity_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> new SpaceSavingTopK(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void offer(SpaceSavingTopK topK, int stripe, String query, int times) {
+        for (int i = 0; i < times; i++) {
+            topK.offer(stripe, query, 1);
+        }
+    }
+}
@@ -6,15 +6,20 @@ import com.library.catalog.dto.response.AuthorResponse;
 import com.library.catalog.entity.Author;
 import com.library.catalog.entity.Book;
 import com.library.catalog.exception.ActiveReservationExistsException;
+import com.library.catalog.exception.PreconditionFailedException;
 import com.library.catalog.exception.ResourceNotFoundException;
 import com.library.catalog.repository.AuthorRepository;
+import com.library.catalog.repository.AuthorRepository.AuthorBookRow;
+import com.library.catalog.repository.AuthorRepository.AuthorRow;
 import com.library.catalog.repository.BookRepository;
 import com.library.catalog.service.AuthorService;
+import com.library.catalog.service.SecondLevelCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -41,6 +46,12 @@ class AuthorServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private SecondLevelCache secondLevelCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthorService authorService;
 
@@ -67,7 +78,7 @@ class AuthorServiceTest {
     @Test
     void findById_whenFound_returnsAuthorResponse() {
         Author author = createTestAuthor(1L, "Joshua", "Bloch", "Java expert");
-        when(authorRepository.findByIdWithBooks(1L)).thenReturn(Optional.of(author));
+        when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
 
         AuthorResponse response = authorService.findById(1L);
 
@@ -78,7 +89,7 @@ class AuthorServiceTest {
 
     @Test
     void findById_whenNotFound_throwsResourceNotFoundException() {
-        when(authorRepository.findByIdWithBooks(99L)).thenReturn(Optional.empty());
+        when(authorRepository.findById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> authorService.findById(99L))
             .isInstanceOf(ResourceNotFoundException.class)
@@ -88,15 +99,20 @@ class AuthorServiceTest {
 
     @Test
     void findAll_returnsPaginatedResults() {
-        Author author = createTestAuthor(1L, "Joshua", "Bloch", null);
+        AuthorRow row = new AuthorRow(1L, "Joshua", "Bloch", null, null, null);
         Pageable pageable = PageRequest.of(0, 20);
-        Page<Author> page = new PageImpl<>(List.of(author), pageable, 1);
-        when(authorRepository.findAll(pageable)).thenReturn(page);
+        Page<AuthorRow> page = new PageImpl<>(List.of(row), pageable, 1);
+        when(authorRepository.findAllBy(pageable)).thenReturn(page);
+        when(authorRepository.findBookRows(List.of(1L)))
+            .thenReturn(List.of(new AuthorBookRow(1L, 3L, "Effective Java")));
 
         Page<AuthorResponse> result = authorService.findAll(pageable);
 
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).firstName()).isEqualTo("Joshua");
+        assertThat(result.getContent().get(0).books())
+            .containsExactly(new AuthorResponse.BookSummary(3L, "Effective Java"));
+        verify(authorRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -121,6 +137,17 @@ class AuthorServiceTest {
             .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    @Test
+    void updateAuthor_withStaleExpectedVersion_throwsPreconditionFailedException() {
+        Author author = createTestAuthor(1L, "Josh", "Bloch", null);
+        ReflectionTestUtils.setField(author, "version", 3);
+        when(authorRepository.findByIdWithBooks(1L)).thenReturn(Optional.of(author));
+
+        assertThatThrownBy(() -> authorService.update(1L, new UpdateAuthorRequest("Joshua", null, null), 2))
+            .isInstanceOf(PreconditionFailedException.class);
+        verify(authorRepository, never()).save(any(Author.class));
+    }
+
     @Test
     void deleteAuthor_withNoBooks_deletesSuccessfully() {
         Author author = createTestAuthor(1L, "Joshua", "Bloch", null);
@@ -139,7 +166,7 @@ class AuthorServiceTest {
         assertThatThrownBy(() -> authorService.delete(99L))
             .isInstanceOf(ResourceNotFoundException.class);
 
-        verify(authorRepository, never()).delete(any());
+        verify(authorRepository, never()).delete(any(Author.class));
     }
 
     @Test
@@ -155,7 +182,7 @@ class AuthorServiceTest {
             .isInstanceOf(ActiveReservationExistsException.class)
             .hasMessageContaining("sole author");
 
-        verify(authorRepository, never()).delete(any());
+        verify(authorRepository, never()).delete(any(Author.class));
     }
 
     @Test
@@ -172,6 +199,7 @@ class AuthorServiceTest {
         authorService.delete(1L);
 
         verify(authorRepository).delete(author);
+        verify(secondLevelCache).evictBookAuthors(List.of(10L, 11L));
     }
 
     private Author createTestAuthor(Long id, String firstName, String lastName, String bio) {
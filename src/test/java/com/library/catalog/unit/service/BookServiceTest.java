@@ -1,5 +1,7 @@
 package com.library.catalog.unit.service;
 
+import com.library.catalog.dto.request.BookFieldSet;
+import com.library.catalog.dto.request.CountMode;
 import com.library.catalog.dto.request.CreateBookRequest;
 import com.library.catalog.dto.request.UpdateBookRequest;
 import com.library.catalog.dto.response.BookResponse;
@@ -10,17 +12,22 @@ import com.library.catalog.exception.DuplicateIsbnException;
 import com.library.catalog.exception.ResourceNotFoundException;
 import com.library.catalog.repository.AuthorRepository;
 import com.library.catalog.repository.BookRepository;
+import com.library.catalog.repository.BookRepository.BookAuthorRow;
+import com.library.catalog.repository.BookRepository.BookRow;
 import com.library.catalog.repository.ReservationRepository;
 import com.library.catalog.service.BookService;
+import com.library.catalog.service.SecondLevelCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.HashSet;
@@ -48,6 +55,12 @@ class BookServiceTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private SecondLevelCache secondLevelCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookService bookService;
 
@@ -73,6 +86,25 @@ class BookServiceTest {
         assertThat(response.authors().get(0).firstName()).isEqualTo("Joshua");
     }
 
+    @Test
+    void findAllWithFields_offsetBeyondInt_throwsIllegalArgumentException() {
+        var fieldSet = BookFieldSet.of("title", null);
+
+        assertThatThrownBy(() -> bookService.findAll(PageRequest.of(Integer.MAX_VALUE, 100), CountMode.NONE, fieldSet))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Page too deep");
+    }
+
+    @Test
+    void findAllWithFields_unindexedSort_throwsIllegalArgumentException() {
+        var fieldSet = BookFieldSet.of("title", null);
+        var pageable = PageRequest.of(0, 20, Sort.by("description"));
+
+        assertThatThrownBy(() -> bookService.findAll(pageable, CountMode.NONE, fieldSet))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("description");
+    }
+
     @Test
     void createBook_withDuplicateIsbn_throwsDuplicateIsbnException() {
         when(bookRepository.existsByIsbn("9780134685991")).thenReturn(true);
@@ -108,7 +140,7 @@ class BookServiceTest {
         Book book = createTestBook(1L, "Effective Java", "9780134685991");
         Author author = createTestAuthor(1L, "Joshua", "Bloch");
         book.getAuthors().add(author);
-        when(bookRepository.findByIdWithAuthors(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
 
         BookResponse response = bookService.findById(1L);
 
@@ -119,7 +151,7 @@ class BookServiceTest {
 
     @Test
     void findById_whenNotFound_throwsResourceNotFoundException() {
-        when(bookRepository.findByIdWithAuthors(99L)).thenReturn(Optional.empty());
+        when(bookRepository.findById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> bookService.findById(99L))
             .isInstanceOf(ResourceNotFoundException.class)
@@ -129,15 +161,20 @@ class BookServiceTest {
 
     @Test
     void findAll_returnsPaginatedResults() {
-        Book book = createTestBook(1L, "Effective Java", "9780134685991");
+        BookRow row = new BookRow(1L, "Effective Java", "9780134685991", null, 2018, null, null);
         Pageable pageable = PageRequest.of(0, 20);
-        Page<Book> page = new PageImpl<>(List.of(book), pageable, 1);
-        when(bookRepository.findAll(pageable)).thenReturn(page);
+        Page<BookRow> page = new PageImpl<>(List.of(row), pageable, 1);
+        when(bookRepository.findAllBy(pageable)).thenReturn(page);
+        when(bookRepository.findAuthorRows(List.of(1L)))
+            .thenReturn(List.of(new BookAuthorRow(1L, 7L, "Joshua", "Bloch")));
 
         Page<BookResponse> result = bookService.findAll(pageable);
 
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).title()).isEqualTo("Effective Java");
+        assertThat(result.getContent().get(0).authors())
+            .containsExactly(new BookResponse.AuthorSummary(7L, "Joshua", "Bloch"));
+        verify(bookRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -158,6 +195,7 @@ class BookServiceTest {
         assertThat(response.title()).isEqualTo("Effective Java 3rd Ed");
         assertThat(response.authors()).hasSize(1);
         assertThat(response.authors().get(0).firstName()).isEqualTo("Brian");
+        verify(secondLevelCache).evictAuthorBooks(Set.of(1L, 2L));
     }
 
     @Test
@@ -186,7 +224,7 @@ class BookServiceTest {
         assertThatThrownBy(() -> bookService.delete(99L))
             .isInstanceOf(ResourceNotFoundException.class);
 
-        verify(bookRepository, never()).delete(any());
+        verify(bookRepository, never()).delete(any(Book.class));
     }
 
     @Test
@@ -199,7 +237,7 @@ class BookServiceTest {
             .isInstanceOf(ActiveReservationExistsException.class)
             .hasMessageContaining("reservation history");
 
-        verify(bookRepository, never()).delete(any());
+        verify(bookRepository, never()).delete(any(Book.class));
     }
 
     private Author createTestAuthor(Long id, String firstName, String lastName) {
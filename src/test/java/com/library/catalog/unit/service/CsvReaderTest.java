@@ -0,0 +1,127 @@
+package com.library.catalog.unit.service;
+
+import com.library.catalog.service.exporting.ExportWriter;
+import com.library.catalog.service.importing.CsvReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void next_splitsFieldsOnCommas() {
+        List<CsvReader.Record> records = readAll("title,isbn\nEffective Java,9780134685991");
+
+        assertThat(records).extracting(CsvReader.Record::fields).containsExactly(
+            List.of("title", "isbn"), List.of("Effective Java", "9780134685991"));
+    }
+
+    @Test
+    void next_emptyFields_areEmptyStrings() {
+        assertThat(readAll(",a,\n").get(0).fields()).containsExactly("", "a", "");
+    }
+
+    @Test
+    void next_quotedField_keepsCommasAndDoubledQuotes() {
+        List<CsvReader.Record> records = readAll("\"Java, 3rd \"\"Edition\"\"\",\"\"\"\"\n");
+
+        assertThat(records.get(0).fields()).containsExactly("Java, 3rd \"Edition\"", "\"");
+    }
+
+    @Test
+    void next_crlfInsideQuotedField_isKeptAndCountedAsOneLine() {
+        CsvReader reader = new CsvReader(new StringReader("\"first\r\nsecond\",x\r\nnext,y\r\n"));
+
+        CsvReader.Record multiline = reader.next();
+        CsvReader.Record following = reader.next();
+
+        assertThat(multiline.line()).isEqualTo(1);
+        assertThat(multiline.fields()).containsExactly("first\r\nsecond", "x");
+        assertThat(following.line()).isEqualTo(3);
+        assertThat(following.fields()).containsExactly("next", "y");
+        assertThat(reader.next()).isNull();
+        assertThat(reader.line()).isEqualTo(4);
+    }
+
+    @Test
+    void next_lineBreaksInsideQuotedField_countLikeThoseBetweenRecords() {
+        CsvReader reader = new CsvReader(new StringReader("\"a\rb\nc\r\nd\"\nnext\n"));
+
+        assertThat(reader.next().fields()).containsExactly("a\rb\nc\r\nd");
+        assertThat(reader.next().line()).isEqualTo(5);
+    }
+
+    @Test
+    void next_skipsBlankLinesButCountsThem() {
+        List<CsvReader.Record> records = readAll("\n\r\na\r\n\n\rb\n\n");
+
+        assertThat(records).extracting(CsvReader.Record::fields).containsExactly(List.of("a"), List.of("b"));
+        assertThat(records).extracting(CsvReader.Record::line).containsExactly(3L, 6L);
+    }
+
+    @Test
+    void next_quoteInsideUnquotedField_isLiteral() {
+        assertThat(readAll("5\" floppy,O\"Reilly\"\n").get(0).fields()).containsExactly("5\" floppy", "O\"Reilly\"");
+    }
+
+    @Test
+    void next_lastRecordWithoutLineBreak_isRead() {
+        assertThat(readAll("a,b")).extracting(CsvReader.Record::fields).containsExactly(List.of("a", "b"));
+    }
+
+    @Test
+    void next_unterminatedQuote_throwsIllegalArgumentExceptionWithItsLine() {
+        CsvReader reader = new CsvReader(new StringReader("ok\n\"never closed,\nstill open"));
+        reader.next();
+
+        assertThatThrownBy(reader::next)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("line 2");
+    }
+
+    @Test
+    void next_emptyInput_returnsNull() {
+        assertThat(new CsvReader(new StringReader("")).next()).isNull();
+        assertThat(new CsvReader(new StringReader("\r\n\n")).next()).isNull();
+    }
+
+    @Test
+    void exportWriterCsv_isReadBackUnchanged() {
+        List<List<Object>> rows = List.of(
+            Arrays.asList(1L, "Plain", 2018),
+            Arrays.asList(2L, "Comma, quote \" and \"\"doubled\"\"", null),
+            Arrays.asList(3L, "Line\nfeed and\r\nCRLF and\rCR", 1999),
+            Arrays.asList(4L, "", 0));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ExportWriter<List<Object>> writer = ExportWriter.csv(output, List.of("id", "title", "year"), row -> row);
+        rows.forEach(writer::write);
+        writer.finish();
+
+        List<CsvReader.Record> records = readAll(output.toString(StandardCharsets.UTF_8));
+
+        assertThat(records.get(0).fields()).containsExactly("id", "title", "year");
+        assertThat(records.subList(1, records.size())).extracting(CsvReader.Record::fields).containsExactly(
+            List.of("1", "Plain", "2018"),
+            List.of("2", "Comma, quote \" and \"\"doubled\"\"", ""),
+            List.of("3", "Line\nfeed and\r\nCRLF and\rCR", "1999"),
+            List.of("4", "", "0"));
+        assertThat(records).extracting(CsvReader.Record::line).containsExactly(1L, 2L, 3L, 4L, 8L);
+    }
+
+    private static List<CsvReader.Record> readAll(String csv) {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<CsvReader.Record> records = new ArrayList<>();
+        for (CsvReader.Record record = reader.next(); record != null; record = reader.next()) {
+            records.add(record);
+        }
+        return records;
+    }
+}
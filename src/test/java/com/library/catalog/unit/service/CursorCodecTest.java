@@ -0,0 +1,46 @@
+package com.library.catalog.unit.service;
+
+import com.library.catalog.service.CursorCodec;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    @Test
+    void decode_returnsTheEncodedKeys() {
+        String cursor = CursorCodec.encode("title,asc", 42L, "Effective Java");
+
+        assertThat(CursorCodec.decode(cursor, 3)).containsExactly("title,asc", "42", "Effective Java");
+    }
+
+    @Test
+    void decode_lastKeyContainingTheSeparator_keepsItWhole() {
+        String title = "Unit\u001FSeparated\u001F";
+        String cursor = CursorCodec.encode("title,asc", 42L, title);
+
+        assertThat(CursorCodec.decode(cursor, 3)).containsExactly("title,asc", "42", title);
+    }
+
+    @Test
+    void decode_isUrlSafe() {
+        assertThat(CursorCodec.encode("title,asc", 1L, "???>>>~~~")).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void decode_withTooFewParts_throwsIllegalArgumentException() {
+        String cursor = CursorCodec.encode("title,asc", 42L);
+
+        assertThatThrownBy(() -> CursorCodec.decode(cursor, 3))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void decode_withMalformedBase64_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> CursorCodec.decode("not base64!", 2))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid cursor");
+    }
+}
@@ -5,6 +5,7 @@ import com.library.catalog.dto.response.ReservationResponse;
 import com.library.catalog.entity.Book;
 import com.library.catalog.entity.Reservation;
 import com.library.catalog.entity.ReservationStatus;
+import com.library.catalog.event.BookReservedEvent;
 import com.library.catalog.exception.BookAlreadyReservedException;
 import com.library.catalog.exception.InvalidReservationStateException;
 import com.library.catalog.exception.ResourceNotFoundException;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -45,6 +47,9 @@ class ReservationServiceTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -70,6 +75,8 @@ class ReservationServiceTest {
         assertThat(response.status()).isEqualTo(ReservationStatus.ACTIVE);
         assertThat(response.reservedAt()).isNotNull();
         assertThat(response.expiresAt()).isAfter(response.reservedAt());
+        verify(bookRepository).incrementPopularity(1L);
+        verify(eventPublisher).publishEvent(new BookReservedEvent(1L));
     }
 
     @Test
@@ -103,6 +110,7 @@ class ReservationServiceTest {
             .hasMessageContaining("1");
 
         verify(reservationRepository, never()).save(any());
+        verify(bookRepository, never()).incrementPopularity(any());
     }
 
     @Test
@@ -184,7 +192,7 @@ class ReservationServiceTest {
         Reservation reservation = createTestReservation(1L, book, ReservationStatus.ACTIVE,
             Instant.now().plus(7, ChronoUnit.DAYS));
 
-        when(reservationRepository.findByIdWithBook(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
 
         ReservationResponse response = reservationService.findById(1L);
 
@@ -195,7 +203,7 @@ class ReservationServiceTest {
 
     @Test
     void findById_whenNotFound_throwsResourceNotFoundException() {
-        when(reservationRepository.findByIdWithBook(99L)).thenReturn(Optional.empty());
+        when(reservationRepository.findById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> reservationService.findById(99L))
             .isInstanceOf(ResourceNotFoundException.class);
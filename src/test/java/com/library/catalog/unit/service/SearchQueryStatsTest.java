@@ -0,0 +1,80 @@
+package com.library.catalog.unit.service;
+
+import com.library.catalog.config.SearchProperties;
+import com.library.catalog.repository.SearchQueryStatsRepository;
+import com.library.catalog.service.search.SearchQueryStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchQueryStatsTest {
+
+    @Mock
+    private SearchQueryStatsRepository repository;
+
+    private SearchQueryStats searchQueryStats;
+
+    @BeforeEach
+    void setUp() {
+        var stats = new SearchProperties.Stats(true, 1, 20, Duration.ofMinutes(5));
+        searchQueryStats = new SearchQueryStats(
+            new SearchProperties("postgres", null, null, null, null, null, stats), repository);
+    }
+
+    @Test
+    void snapshot_beforeRestore_keepsThePreviousSnapshot() {
+        searchQueryStats.record("java");
+
+        searchQueryStats.snapshot();
+
+        verify(repository, never()).replaceAll(any());
+    }
+
+    @Test
+    void snapshot_afterFailedRestore_keepsThePreviousSnapshot() {
+        when(repository.findAll()).thenThrow(new DataAccessResourceFailureException("down"));
+        assertThatThrownBy(searchQueryStats::restore).isInstanceOf(DataAccessResourceFailureException.class);
+        searchQueryStats.record("java");
+
+        searchQueryStats.snapshot();
+
+        verify(repository, never()).replaceAll(any());
+    }
+
+    @Test
+    void snapshot_savesOnlyTheGuaranteedPartOfEachCount() {
+        when(repository.findAll()).thenReturn(Map.of());
+        searchQueryStats.restore();
+        searchQueryStats.record("java");
+        searchQueryStats.record("java");
+        searchQueryStats.record("kotlin");   // displaces java: count 3, error 2
+
+        searchQueryStats.snapshot();
+
+        verify(repository).replaceAll(Map.of("kotlin", 1L));
+    }
+
+    @Test
+    void restore_addsSnapshotAsHits() {
+        when(repository.findAll()).thenReturn(Map.of("java", 5L));
+
+        searchQueryStats.restore();
+
+        assertThat(searchQueryStats.topQueries(1)).containsExactly("java");
+        assertThat(searchQueryStats.estimate("java")).isEqualTo(5);
+    }
+}
@@ -1,15 +1,20 @@
 package com.library.catalog.unit.service;
 
+import com.library.catalog.repository.SearchRepository;
+import com.library.catalog.service.CursorCodec;
 import com.library.catalog.service.SearchService;
+import com.library.catalog.service.search.InMemorySearchEngine;
+import com.library.catalog.service.search.SearchQueryStats;
+import com.library.catalog.service.search.SearchResultCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import jakarta.persistence.EntityManager;
-
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -17,7 +22,16 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class SearchServiceTest {
 
     @Mock
-    private EntityManager entityManager;
+    private SearchRepository searchRepository;
+
+    @Mock
+    private ObjectProvider<InMemorySearchEngine> inMemorySearchEngine;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private SearchQueryStats searchQueryStats;
 
     @InjectMocks
     private SearchService searchService;
@@ -59,6 +73,14 @@ class SearchServiceTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void search_beyondMaxOffset_throwsIllegalArgumentException() {
+        // page * size overflows int: the sharded per-partition depth would not fit either
+        assertThatThrownBy(() -> searchService.search("java", PageRequest.of(Integer.MAX_VALUE, 100)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("cursor");
+    }
+
     @Test
     void search_withBlankQuery_throwsIllegalArgumentException() {
         assertThatThrownBy(() -> searchService.search("   ", null))
@@ -73,6 +95,22 @@ class SearchServiceTest {
             .hasMessageContaining("blank");
     }
 
+    @Test
+    void searchAfter_withMalformedCursor_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> searchService.searchAfter("java", "not-a-cursor", 20))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("cursor");
+    }
+
+    @Test
+    void searchAfter_withNonNumericCursorKeys_throwsIllegalArgumentException() {
+        String cursor = CursorCodec.encode("high", "first");
+
+        assertThatThrownBy(() -> searchService.searchAfter("java", cursor, 20))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("cursor");
+    }
+
     private String invokesSanitize(String input) {
         return ReflectionTestUtils.invokeMethod(searchService, "sanitizeQuery", input);
     }
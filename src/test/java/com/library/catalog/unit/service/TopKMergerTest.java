@@ -0,0 +1,73 @@
+package com.library.catalog.unit.service;
+
+import com.library.catalog.dto.response.SearchResultResponse;
+import com.library.catalog.service.search.TopKMerger;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKMergerTest {
+
+    @Test
+    void merge_interleavesRankedListsByScore() {
+        List<List<SearchResultResponse>> ranked = List.of(
+            List.of(result(1, 0.9), result(4, 0.3)),
+            List.of(result(2, 0.8), result(3, 0.5), result(5, 0.1)));
+
+        assertThat(ids(TopKMerger.merge(ranked, 0, 10))).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void merge_skipAndLimit_selectTheRequestedRanks() {
+        List<List<SearchResultResponse>> ranked = List.of(
+            List.of(result(1, 0.9), result(4, 0.3)),
+            List.of(result(2, 0.8), result(3, 0.5), result(5, 0.1)));
+
+        assertThat(ids(TopKMerger.merge(ranked, 1, 2))).containsExactly(2L, 3L);
+        assertThat(ids(TopKMerger.merge(ranked, 4, 2))).containsExactly(5L);
+    }
+
+    @Test
+    void merge_skipPastTheEndOfAllLists_isEmpty() {
+        List<List<SearchResultResponse>> ranked = List.of(
+            List.of(result(1, 0.9)),
+            List.of(result(2, 0.8)));
+
+        assertThat(TopKMerger.merge(ranked, 2, 10)).isEmpty();
+        assertThat(TopKMerger.merge(ranked, Long.MAX_VALUE, 10)).isEmpty();
+    }
+
+    @Test
+    void merge_emptyInputs_areIgnored() {
+        assertThat(TopKMerger.merge(List.of(), 0, 10)).isEmpty();
+        assertThat(TopKMerger.merge(List.of(List.of(), List.of()), 0, 10)).isEmpty();
+        assertThat(ids(TopKMerger.merge(List.of(List.of(), List.of(result(1, 0.5)), List.of()), 0, 10)))
+            .containsExactly(1L);
+    }
+
+    @Test
+    void merge_equalScoresAcrossLists_areOrderedById() {
+        List<List<SearchResultResponse>> ranked = List.of(
+            List.of(result(3, 0.5), result(6, 0.5)),
+            List.of(result(1, 0.5), result(5, 0.5)),
+            List.of(result(2, 0.5), result(4, 0.5)));
+
+        assertThat(ids(TopKMerger.merge(ranked, 0, 10))).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(ids(TopKMerger.merge(ranked, 2, 3))).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void merge_zeroLimit_isEmpty() {
+        assertThat(TopKMerger.merge(List.of(List.of(result(1, 0.5))), 0, 0)).isEmpty();
+    }
+
+    private static SearchResultResponse result(long id, double score) {
+        return new SearchResultResponse(id, "Book " + id, null, null, List.of(), score);
+    }
+
+    private static List<Long> ids(List<SearchResultResponse> results) {
+        return results.stream().map(SearchResultResponse::id).toList();
+    }
+}